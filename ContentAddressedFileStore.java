@@ -0,0 +1,213 @@
+package com.loanorigination.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local file store addressed by the SHA-256 of the content: <root>/ab/cd/abcd....
+ *
+ * Uploads are streamed to a temp file through a fixed 64 KB buffer while the hash is computed, then
+ * moved into place. If a file with that hash already exists the temp copy is dropped, so identical
+ * documents are stored once. Stored files are never modified.
+ *
+ * Nothing here knows which blobs are still in use: deleteUnreferenced is the garbage collection, driven by the
+ * caller's metadata (NomineeAttachmentService). Storing content that already exists touches the file's mtime,
+ * which is what keeps the collector off a blob whose metadata row isn't committed yet. The touch and the collector's
+ * last mtime check + delete of the same blob take the same lock (striped by the hash's first byte), so a blob can't be
+ * deleted between the two. That lock is per process: instances sharing one store-dir can still race.
+ */
+@Component
+public class ContentAddressedFileStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tmpDir;
+    // one per first hash byte, as the directory fan-out
+    private final Lock[] locks = new Lock[256];
+
+    public ContentAddressedFileStore(@Value("${nominee.attachments.store-dir:./data/nominee-attachments}") Path root)
+            throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public record StoredBlob(String sha256, long sizeBytes) {
+    }
+
+    /**
+     * Stream in into the store. Fails with BlobTooLargeException once more than maxBytes have been read
+     * (nothing is kept in that case). Does not close in.
+     */
+    public StoredBlob store(InputStream in, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        long size = 0;
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > maxBytes) {
+                        throw new BlobTooLargeException(maxBytes);
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(sha256);
+            // an existing blob is touched instead: restarts the collector's grace period, it is about to be
+            // referenced again
+            Lock lock = lockFor(sha256);
+            lock.lock();
+            try {
+                if (!touch(target)) {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException e) {
+                        // same content uploaded concurrently, theirs is just as good
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            return new StoredBlob(sha256, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Delete every blob older than minAge (by mtime) that referenced doesn't report as in use, plus upload temp
+     * files left behind by a crash. referenced gets batches of up to batchSize hashes and returns those still
+     * referenced. Returns the number of blobs deleted.
+     *
+     * minAge must cover the time from store() to its metadata commit: a blob stored (or touched) within it is
+     * never a candidate. The mtime is checked once more right before each delete, under the lock store() touches with.
+     */
+    public int deleteUnreferenced(Duration minAge, int batchSize, Function<Collection<String>, Set<String>> referenced)
+            throws IOException {
+        FileTime cutoff = FileTime.from(Instant.now().minus(minAge));
+        deleteOlderThan(tmpDir, cutoff);
+
+        int deleted = 0;
+        try (Stream<Path> files = Files.find(root, 3, (path, attrs) -> attrs.isRegularFile()
+                && !path.startsWith(tmpDir)
+                && SHA256_HEX.matcher(path.getFileName().toString()).matches()
+                && attrs.lastModifiedTime().compareTo(cutoff) < 0)) {
+            Iterator<Path> it = files.iterator();
+            List<String> batch = new ArrayList<>(batchSize);
+            while (it.hasNext()) {
+                batch.add(it.next().getFileName().toString());
+                if (batch.size() == batchSize || !it.hasNext()) {
+                    Set<String> inUse = referenced.apply(batch);
+                    for (String sha256 : batch) {
+                        if (!inUse.contains(sha256) && deleteBlobIfOlderThan(sha256, cutoff)) {
+                            deleted++;
+                        }
+                    }
+                    batch.clear();
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private boolean deleteBlobIfOlderThan(String sha256, FileTime cutoff) throws IOException {
+        Lock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            return deleteIfOlderThan(pathOf(sha256), cutoff);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Lock lockFor(String sha256) {
+        return locks[Integer.parseInt(sha256, 0, 2, 16)];
+    }
+
+    private static void deleteOlderThan(Path dir, FileTime cutoff) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                deleteIfOlderThan(file, cutoff);
+            }
+        }
+    }
+
+    private static boolean deleteIfOlderThan(Path file, FileTime cutoff) throws IOException {
+        try {
+            if (Files.getLastModifiedTime(file).compareTo(cutoff) >= 0) {
+                return false;
+            }
+            return Files.deleteIfExists(file);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    // false if there is no such file (never stored, or just collected)
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    public Path pathOf(String sha256) {
+        if (!SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a sha256 hex digest: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class BlobTooLargeException extends IOException {
+        public BlobTooLargeException(long maxBytes) {
+            super("Upload exceeds the " + maxBytes + " byte limit");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.loanorigination.crypto;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Encrypts one nominee column on the way into the database and decrypts it on the way out, so everything that
+ * goes through JPA (entities, JPQL projections such as NomineeView) sees plaintext.
+ *
+ * Attached to NomineeDetails in META-INF/nominee-orm.xml (see NomineeEncryptionConfig). Created by Hibernate
+ * through Spring, so the encryptor is injected. Native SQL writes (the upserts) encrypt explicitly instead.
+ */
+public abstract class EncryptedFieldConverter implements AttributeConverter<String, String> {
+
+    private final NomineeFieldEncryptor encryptor;
+    private final NomineeFieldEncryptor.Field field;
+
+    protected EncryptedFieldConverter(NomineeFieldEncryptor encryptor, NomineeFieldEncryptor.Field field) {
+        this.encryptor = encryptor;
+        this.field = field;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return encryptor.encrypt(field, attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return encryptor.decrypt(field, dbData);
+    }
+
+    public static class Pan extends EncryptedFieldConverter {
+        public Pan(NomineeFieldEncryptor encryptor) {
+            super(encryptor, NomineeFieldEncryptor.Field.PAN);
+        }
+    }
+
+    public static class Aadhaar extends EncryptedFieldConverter {
+        public Aadhaar(NomineeFieldEncryptor encryptor) {
+            super(encryptor, NomineeFieldEncryptor.Field.AADHAAR);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.loanorigination.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Metadata of an uploaded nominee document. The bytes live in the content-addressed file store
+ * under sha256, so identical files uploaded for different nominees are stored once.
+ */
+@Entity
+@Table(
+        name = "nominee_attachment",
+        uniqueConstraints = @UniqueConstraint(name = "ux_nominee_attachment_type", columnNames = {"nominee_id", "attachment_type"})
+)
+public class NomineeAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long attachmentId;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "nominee_id", nullable = false)
+    private NomineeDetails nominee;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "attachment_type", nullable = false, length = 32)
+    private NomineeAttachmentType attachmentType;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    @Column(length = 127)
+    private String contentType;
+
+    @Column(length = 255)
+    private String originalFilename;
+
+    @Column(nullable = false)
+    private Instant uploadedAt;
+
+    public Long getAttachmentId() {
+        return attachmentId;
+    }
+
+    public void setAttachmentId(Long attachmentId) {
+        this.attachmentId = attachmentId;
+    }
+
+    public NomineeDetails getNominee() {
+        return nominee;
+    }
+
+    public void setNominee(NomineeDetails nominee) {
+        this.nominee = nominee;
+    }
+
+    public NomineeAttachmentType getAttachmentType() {
+        return attachmentType;
+    }
+
+    public void setAttachmentType(NomineeAttachmentType attachmentType) {
+        this.attachmentType = attachmentType;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+
+    public Instant getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(Instant uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+}
@@ -0,0 +1,205 @@
+package com.loanorigination.controller;
+
+import com.loanorigination.entity.NomineeAttachment;
+import com.loanorigination.entity.NomineeAttachmentType;
+import com.loanorigination.service.ContentAddressedFileStore;
+import com.loanorigination.service.NomineeAttachmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/applications/{applicationId}/nominee/attachments")
+@CrossOrigin(origins = {"http://localhost:3000"}, allowCredentials = "true")
+public class NomineeAttachmentController {
+
+    // Tomcat's sendfile hand-off: the connector streams the file region straight from the page cache to the socket
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final NomineeAttachmentService attachmentService;
+
+    public NomineeAttachmentController(NomineeAttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    @Operation(summary = "List nominee attachments for an application")
+    @GetMapping
+    public ResponseEntity<List<NomineeAttachment>> list(@PathVariable Long applicationId) {
+        return ResponseEntity.ok(attachmentService.list(applicationId));
+    }
+
+    /**
+     * Body is the raw file (not multipart), so it can be streamed straight to disk.
+     * Original file name goes in X-File-Name (URL-encoded).
+     */
+    @Operation(summary = "Upload a nominee attachment (nomineeAadhaar or nomineeAddressProof)")
+    @PutMapping("/{type}")
+    public ResponseEntity<?> upload(
+            @PathVariable Long applicationId,
+            @PathVariable String type,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = "X-File-Name", required = false) String fileName,
+            HttpServletRequest request,
+            InputStream body
+    ) throws IOException {
+        Optional<NomineeAttachmentType> attachmentType = NomineeAttachmentType.fromKey(type);
+        if (attachmentType.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.getContentLengthLong() > attachmentService.getMaxBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        String originalFilename = fileName == null ? null : URLDecoder.decode(fileName, StandardCharsets.UTF_8);
+        try {
+            return attachmentService.upload(applicationId, attachmentType.get(), body, contentType, originalFilename)
+                    .<ResponseEntity<?>>map(saved -> ResponseEntity.ok().body(saved))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (ContentAddressedFileStore.BlobTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Download with single-range support (Range: bytes=a-b / a- / -n, If-Range on the ETag).
+     * Uses Tomcat sendfile when available, FileChannel.transferTo otherwise.
+     */
+    @Operation(summary = "Download a nominee attachment (supports HTTP Range)")
+    @GetMapping("/{type}")
+    public void download(
+            @PathVariable Long applicationId,
+            @PathVariable String type,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Optional<NomineeAttachment> found = NomineeAttachmentType.fromKey(type)
+                .flatMap(t -> attachmentService.find(applicationId, t));
+        if (found.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        NomineeAttachment attachment = found.get();
+        Path file = attachmentService.contentPath(attachment);
+        long size = attachment.getSizeBytes();
+        // content-addressed, so the hash is a perfect strong validator
+        String etag = "\"" + attachment.getSha256() + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(attachment.getContentType() != null
+                ? attachment.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        if (attachment.getOriginalFilename() != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                    .filename(attachment.getOriginalFilename(), StandardCharsets.UTF_8).build().toString());
+        }
+
+        long start = 0;
+        long end = size - 1;
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] r = parseRange(range, size);
+            if (r == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (r.length == 2) {
+                start = r[0];
+                end = r[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if (length <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Parse a Range header against a resource of the given size.
+     * Returns {start, end} (inclusive) for one satisfiable range, an empty array when the header should be
+     * ignored (not bytes, or several ranges — we then send the whole file) and null when unsatisfiable.
+     */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // suffix range: last n bytes
+                long n = Long.parseLong(last);
+                if (n <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - n);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                long requestedEnd = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                if (start < 0 || requestedEnd < start) {
+                    // syntactically invalid (RFC 9110 14.1.1): ignore the header, not 416
+                    return new long[0];
+                }
+                end = Math.min(requestedEnd, size - 1);
+            }
+            if (start >= size) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.loanorigination.repository;
+
+import com.loanorigination.entity.NomineeAttachment;
+import com.loanorigination.entity.NomineeAttachmentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+public interface NomineeAttachmentRepository extends JpaRepository<NomineeAttachment, Long> {
+
+    /**
+     * All attachments of the nominee linked to a loan application.
+     */
+    @Query("SELECT a FROM NomineeAttachment a WHERE a.nominee.loanApplication.applicationId = :applicationId ORDER BY a.attachmentType")
+    List<NomineeAttachment> findByApplicationId(@Param("applicationId") Long applicationId);
+
+    /**
+     * The attachment of one type (at most one per nominee and type).
+     */
+    @Query("SELECT a FROM NomineeAttachment a WHERE a.nominee.loanApplication.applicationId = :applicationId AND a.attachmentType = :type")
+    Optional<NomineeAttachment> findByApplicationIdAndType(@Param("applicationId") Long applicationId,
+                                                           @Param("type") NomineeAttachmentType type);
+
+    /**
+     * Record an upload: insert the attachment, or replace the nominee's attachment of that type, in one statement.
+     * Concurrent uploads of the same type both succeed (the last to commit wins) instead of all but one failing on
+     * ux_nominee_attachment_type. type is the NomineeAttachmentType name, as the entity stores it.
+     */
+    @Query(value = """
+            INSERT INTO nominee_attachment (nominee_id, attachment_type, sha256, size_bytes, content_type,
+                                            original_filename, uploaded_at)
+            VALUES (:nomineeId, :type, :sha256, :sizeBytes, :contentType, :originalFilename, :uploadedAt)
+            ON CONFLICT (nominee_id, attachment_type) DO UPDATE SET
+                sha256            = EXCLUDED.sha256,
+                size_bytes        = EXCLUDED.size_bytes,
+                content_type      = EXCLUDED.content_type,
+                original_filename = EXCLUDED.original_filename,
+                uploaded_at       = EXCLUDED.uploaded_at
+            RETURNING *
+            """, nativeQuery = true)
+    NomineeAttachment upsert(@Param("nomineeId") Long nomineeId, @Param("type") String type,
+                             @Param("sha256") String sha256, @Param("sizeBytes") long sizeBytes,
+                             @Param("contentType") String contentType, @Param("originalFilename") String originalFilename,
+                             @Param("uploadedAt") Instant uploadedAt);
+
+    /**
+     * Those of the given content hashes that some attachment still points at (blob garbage collection).
+     */
+    @Query("SELECT DISTINCT a.sha256 FROM NomineeAttachment a WHERE a.sha256 IN :hashes")
+    Set<String> findReferencedSha256(@Param("hashes") Collection<String> hashes);
+}
@@ -0,0 +1,151 @@
+package com.loanorigination.service;
+
+import com.loanorigination.entity.NomineeAttachment;
+import com.loanorigination.entity.NomineeAttachmentType;
+import com.loanorigination.repository.NomineeAttachmentRepository;
+import com.loanorigination.repository.NomineeDetailsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nominee document uploads (Aadhaar / address proof).
+ *
+ * The upload is streamed into the ContentAddressedFileStore with no transaction open — a large scan on a slow
+ * connection must not hold a DB connection. Only the metadata row is written transactionally, afterwards.
+ *
+ * Replacing an upload, or deleting the nominee (ON DELETE CASCADE), only drops the metadata row; a blob may still be
+ * shared with other attachments. Unreferenced blobs are collected every nominee.attachments.gc-interval, once they
+ * are older than nominee.attachments.gc-grace (see ContentAddressedFileStore.deleteUnreferenced).
+ *
+ * The files are not encrypted: nominee.encryption only covers the PAN / Aadhaar columns, while these scans show
+ * the same numbers. Keep nominee.attachments.store-dir on an encrypted volume.
+ */
+@Service
+public class NomineeAttachmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeAttachmentService.class);
+
+    private static final int GC_BATCH_SIZE = 1000;
+
+    private final NomineeDetailsRepository nomineeRepo;
+    private final NomineeAttachmentRepository attachmentRepo;
+    private final ContentAddressedFileStore fileStore;
+    private final TransactionTemplate txTemplate;
+    private final NomineeReadRouting readRouting;
+    private final long maxBytes;
+    private final Duration gcInterval;
+    private final Duration gcGrace;
+
+    private final ScheduledExecutorService collector = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "nominee-attachment-gc");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public NomineeAttachmentService(
+            NomineeDetailsRepository nomineeRepo,
+            NomineeAttachmentRepository attachmentRepo,
+            ContentAddressedFileStore fileStore,
+            PlatformTransactionManager transactionManager,
+            NomineeReadRouting readRouting,
+            @Value("${nominee.attachments.max-bytes:26214400}") long maxBytes,
+            @Value("${nominee.attachments.gc-interval:PT6H}") Duration gcInterval,
+            @Value("${nominee.attachments.gc-grace:PT1H}") Duration gcGrace
+    ) {
+        this.nomineeRepo = nomineeRepo;
+        this.attachmentRepo = attachmentRepo;
+        this.fileStore = fileStore;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.readRouting = readRouting;
+        this.maxBytes = maxBytes;
+        this.gcInterval = gcInterval;
+        this.gcGrace = gcGrace;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCollector() {
+        collector.scheduleWithFixedDelay(this::collectQuietly, gcInterval.toMillis(), gcInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        collector.shutdownNow();
+    }
+
+    /**
+     * Delete the stored files no attachment points at any more. Returns how many were deleted.
+     */
+    public int collectUnreferencedBlobs() throws IOException {
+        // reads the primary: a replica lagging behind a new upload would make its blob look unreferenced
+        return fileStore.deleteUnreferenced(gcGrace, GC_BATCH_SIZE,
+                hashes -> txTemplate.execute(status -> attachmentRepo.findReferencedSha256(hashes)));
+    }
+
+    private void collectQuietly() {
+        try {
+            int deleted = collectUnreferencedBlobs();
+            if (deleted > 0) {
+                log.info("Deleted {} unreferenced nominee attachment blobs", deleted);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Nominee attachment blob collection failed, will retry: {}", e.toString());
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Store the document and record it against the application's nominee, replacing an earlier upload of
+     * the same type (of two concurrent ones, the later commit wins). Empty if the application has no nominee yet.
+     */
+    public Optional<NomineeAttachment> upload(Long applicationId, NomineeAttachmentType type, InputStream content,
+                                              String contentType, String originalFilename) throws IOException {
+        // cheap check first so we don't stream a whole file for an unknown application
+        // on the primary if the nominee was only just saved (NomineeReadRouting)
+        Optional<Long> nomineeId = readRouting.read(applicationId, status -> nomineeRepo.findNomineeIdByApplicationId(applicationId));
+        if (nomineeId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ContentAddressedFileStore.StoredBlob blob = fileStore.store(content, maxBytes);
+
+        // one INSERT .. ON CONFLICT, so concurrent uploads of the same type don't race to insert
+        NomineeAttachment saved = txTemplate.execute(status -> attachmentRepo.upsert(nomineeId.get(), type.name(),
+                blob.sha256(), blob.sizeBytes(), contentType, originalFilename, Instant.now()));
+        readRouting.written(applicationId);
+        return Optional.of(saved);
+    }
+
+    public List<NomineeAttachment> list(Long applicationId) {
+        return readRouting.read(applicationId, status -> attachmentRepo.findByApplicationId(applicationId));
+    }
+
+    public Optional<NomineeAttachment> find(Long applicationId, NomineeAttachmentType type) {
+        return readRouting.read(applicationId, status -> attachmentRepo.findByApplicationIdAndType(applicationId, type));
+    }
+
+    public Path contentPath(NomineeAttachment attachment) {
+        return fileStore.pathOf(attachment.getSha256());
+    }
+}
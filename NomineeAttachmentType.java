@@ -0,0 +1,31 @@
+package com.loanorigination.entity;
+
+import java.util.Optional;
+
+/**
+ * Documents collected on the Attachments tab of the nominee page.
+ * key is what the frontend uses (attachments.nomineeAadhaar / attachments.nomineeAddressProof) and the URL segment.
+ */
+public enum NomineeAttachmentType {
+    NOMINEE_AADHAAR("nomineeAadhaar"),
+    NOMINEE_ADDRESS_PROOF("nomineeAddressProof");
+
+    private final String key;
+
+    NomineeAttachmentType(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Optional<NomineeAttachmentType> fromKey(String key) {
+        for (NomineeAttachmentType t : values()) {
+            if (t.key.equals(key)) {
+                return Optional.of(t);
+            }
+        }
+        return Optional.empty();
+    }
+}
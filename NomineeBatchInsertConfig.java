@@ -0,0 +1,40 @@
+package com.loanorigination.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on the PostgreSQL driver's reWriteBatchedInserts for the application's Hikari pools
+ * (nominee.batch.rewrite-inserts, default true).
+ *
+ * NomineeBatchWriter sends a chunk as a JDBC batch of one INSERT .. ON CONFLICT per row; with the flag the driver
+ * folds them into multi-row INSERTs, far fewer statements for the server to execute. A chunk of 500 takes 15-30%
+ * less time, new rows and updates alike (benchmarks/results/batch).
+ *
+ * Set as a driver property so deployments get it without having to add it to their JDBC URL. An explicit
+ * spring.datasource.hikari.data-source-properties.reWriteBatchedInserts, or the parameter in the URL, still wins.
+ */
+@Configuration
+public class NomineeBatchInsertConfig {
+
+    static final String REWRITE_BATCHED_INSERTS = "reWriteBatchedInserts";
+
+    // static: a BeanPostProcessor has to exist before the beans it processes
+    @Bean
+    public static BeanPostProcessor rewriteBatchedInserts(@Value("${nominee.batch.rewrite-inserts:true}") boolean enabled) {
+        return new BeanPostProcessor() {
+            // after initialization: spring.datasource.hikari.* is bound by then, and the pool starts on first use
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof HikariDataSource hikari
+                        && !hikari.getDataSourceProperties().containsKey(REWRITE_BATCHED_INSERTS)) {
+                    hikari.addDataSourceProperty(REWRITE_BATCHED_INSERTS, "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.loanorigination.dto;
+
+import com.loanorigination.entity.NomineeDetails;
+
+/**
+ * One entry of a batch nominee upsert: the application and the nominee payload
+ * (same body the single-item POST accepts).
+ */
+public record NomineeBatchItem(Long applicationId, NomineeDetails nominee) {
+}
@@ -0,0 +1,21 @@
+package com.loanorigination.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch nominee upsert. Items are reported in request order;
+ * a failed item never rolls back the other items of its chunk.
+ */
+public record NomineeBatchResult(int total, int succeeded, int failed, List<ItemResult> items) {
+
+    public record ItemResult(int index, Long applicationId, boolean success, String error) {
+
+        public static ItemResult ok(int index, Long applicationId) {
+            return new ItemResult(index, applicationId, true, null);
+        }
+
+        public static ItemResult failed(int index, Long applicationId, String error) {
+            return new ItemResult(index, applicationId, false, error);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.loanorigination.service;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeBatchResult.ItemResult;
+import com.loanorigination.dto.NomineeChangeEvent;
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineeValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes chunks of nominee upserts with plain JDBC statement batching, one transaction per chunk.
+ *
+ * Every row goes through the same INSERT .. ON CONFLICT statement as NomineeDetailsRepository.upsertByApplicationId,
+ * so inserts and updates share one batch. Rows are sent ordered by applicationId, which keeps row-lock
+ * order consistent between concurrent batches. Of several items for the same applicationId only the last is
+ * sent (it would win anyway): with reWriteBatchedInserts (NomineeBatchInsertConfig) the batch becomes multi-row
+ * INSERTs, and one INSERT .. ON CONFLICT can't update the same row twice.
+ *
+ * If the batch hits a constraint / data error (DataIntegrityViolationException: value too long, check
+ * constraint, ...), the chunk is rolled back and replayed row by row, each in its own transaction, so one bad
+ * row only fails itself. Anything else (connection loss, timeouts, deadlocks, bad SQL) is not one row's fault
+ * and replaying the chunk row by row would only fail it again, slower: it is rethrown as is.
+ *
+ * This is also where batch items are checked against NomineeValidator, for the batch endpoint and the CSV
+ * import alike.
+ *
+ * PAN / Aadhaar are encrypted and blind-indexed while binding, like in the single-item upsert.
+ *
+ * JDBC batches can't return rows, so for the created/updated metrics each chunk first counts which of its
+ * applicationIds already have a nominee (one indexed query per chunk, same transaction).
+ *
+ * Change events (NomineeOutboxRelay) are written in the chunk's transaction, one batch for the whole chunk.
+ */
+@Component
+public class NomineeBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeBatchWriter.class);
+
+    static final String UPSERT_SQL = """
+            INSERT INTO nominee_details (nominee_id, application_id, nominee_name, relationship, nominee_dob,
+                                         nominee_address, nominee_phone, nominee_email, nominee_aadhaar, nominee_pan,
+                                         nominee_aadhaar_bidx, nominee_pan_bidx)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (application_id) DO UPDATE SET
+                nominee_name    = EXCLUDED.nominee_name,
+                relationship    = EXCLUDED.relationship,
+                nominee_dob     = EXCLUDED.nominee_dob,
+                nominee_address = EXCLUDED.nominee_address,
+                nominee_phone   = EXCLUDED.nominee_phone,
+                nominee_email   = EXCLUDED.nominee_email,
+                nominee_aadhaar = EXCLUDED.nominee_aadhaar,
+                nominee_pan     = EXCLUDED.nominee_pan,
+                nominee_aadhaar_bidx = EXCLUDED.nominee_aadhaar_bidx,
+                nominee_pan_bidx     = EXCLUDED.nominee_pan_bidx,
+                version              = nextval('nominee_details_version_seq')
+            """;
+
+    // xmax is 0 only on a freshly inserted row
+    static final String UPSERT_RETURNING_CREATED_SQL = UPSERT_SQL + "RETURNING (xmax = 0)";
+
+    static final String COUNT_EXISTING_SQL = "SELECT count(*) FROM nominee_details WHERE application_id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final NomineeMetrics metrics;
+    private final NomineeValidator validator;
+    private final NomineeFieldEncryptor encryptor;
+    private final NomineeOutboxRelay outbox;
+
+    public NomineeBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              NomineeMetrics metrics, NomineeValidator validator, NomineeFieldEncryptor encryptor,
+                              NomineeOutboxRelay outbox) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.validator = validator;
+        this.encryptor = encryptor;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Upsert one chunk. Results come back in chunk order, with index = baseIndex + position in chunk.
+     * Items without an applicationId or nominee, or failing NomineeValidator, are reported as failed
+     * and never sent to the DB.
+     */
+    public List<ItemResult> writeChunk(List<NomineeBatchItem> chunk, int baseIndex) {
+        return metrics.batchChunks().record(() -> doWriteChunk(chunk, baseIndex));
+    }
+
+    private List<ItemResult> doWriteChunk(List<NomineeBatchItem> chunk, int baseIndex) {
+        ItemResult[] results = new ItemResult[chunk.size()];
+        List<Integer> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            NomineeBatchItem item = chunk.get(i);
+            if (item == null || item.applicationId() == null || item.nominee() == null) {
+                Long applicationId = item == null ? null : item.applicationId();
+                results[i] = ItemResult.failed(baseIndex + i, applicationId, "applicationId and nominee are required");
+                continue;
+            }
+            List<NomineeFieldError> errors = validator.validate(item.nominee());
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = ItemResult.failed(baseIndex + i, item.applicationId(), NomineeValidationException.summary(errors));
+            }
+        }
+        // stable sort: duplicates of the same applicationId keep request order, so the last one wins
+        valid.sort(Comparator.comparing(i -> chunk.get(i).applicationId()));
+
+        try {
+            int created = txTemplate.execute(status -> {
+                int newRows = countNew(chunk, valid);
+                batchUpsert(chunk, lastPerApplicationId(chunk, valid));
+                outbox.recordAll(distinctApplicationIds(chunk, valid), NomineeChangeEvent.Type.UPSERTED);
+                return newRows;
+            });
+            metrics.batchUpserted(created, valid.size() - created);
+            for (int i : valid) {
+                results[i] = ItemResult.ok(baseIndex + i, chunk.get(i).applicationId());
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Nominee batch of {} rows failed, retrying row by row: {}", valid.size(), e.getMessage());
+            for (int i : valid) {
+                results[i] = writeSingle(chunk.get(i), baseIndex + i);
+            }
+        }
+        return List.of(results);
+    }
+
+    private ItemResult writeSingle(NomineeBatchItem item, int index) {
+        try {
+            boolean created = txTemplate.execute(status -> {
+                boolean inserted = jdbcTemplate.query(UPSERT_RETURNING_CREATED_SQL,
+                        ps -> bind(ps, item.applicationId(), item.nominee()),
+                        (ResultSetExtractor<Boolean>) rs -> rs.next() && rs.getBoolean(1));
+                outbox.record(item.applicationId(), NomineeChangeEvent.Type.UPSERTED);
+                return inserted;
+            });
+            metrics.batchUpserted(created ? 1 : 0, created ? 0 : 1);
+            return ItemResult.ok(index, item.applicationId());
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                // DB unavailable / timing out is not this row's fault, don't report it as a bad row
+                throw e;
+            }
+            return ItemResult.failed(index, item.applicationId(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private static boolean isTransient(DataAccessException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    /**
+     * How many distinct applicationIds of the chunk don't have a nominee yet.
+     */
+    private int countNew(List<NomineeBatchItem> chunk, List<Integer> order) {
+        Set<Long> ids = new TreeSet<>(distinctApplicationIds(chunk, order));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Integer existing = jdbcTemplate.queryForObject(COUNT_EXISTING_SQL, Integer.class, (Object) ids.toArray(Long[]::new));
+        return ids.size() - (existing == null ? 0 : existing);
+    }
+
+    // order is sorted by applicationId, so duplicates are next to each other, in request order
+    private static List<Integer> lastPerApplicationId(List<NomineeBatchItem> chunk, List<Integer> order) {
+        List<Integer> last = new ArrayList<>(order.size());
+        for (int k = 0; k < order.size(); k++) {
+            Long applicationId = chunk.get(order.get(k)).applicationId();
+            if (k + 1 == order.size() || !chunk.get(order.get(k + 1)).applicationId().equals(applicationId)) {
+                last.add(order.get(k));
+            }
+        }
+        return last;
+    }
+
+    // one change event per application, however often it appears in the chunk
+    private static List<Long> distinctApplicationIds(List<NomineeBatchItem> chunk, List<Integer> order) {
+        return order.stream().map(i -> chunk.get(i).applicationId()).distinct().toList();
+    }
+
+    private void batchUpsert(List<NomineeBatchItem> chunk, List<Integer> order) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NomineeBatchItem item = chunk.get(order.get(i));
+                bind(ps, item.applicationId(), item.nominee());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return order.size();
+            }
+        });
+    }
+
+    private void bind(PreparedStatement ps, Long applicationId, NomineeDetails n) throws SQLException {
+        // nominee_id = applicationId for new rows, same 1:1 convention as the single-item upsert
+        ps.setLong(1, applicationId);
+        ps.setLong(2, applicationId);
+        ps.setString(3, n.getNomineeName());
+        ps.setString(4, n.getRelationship());
+        ps.setObject(5, n.getNomineeDob());
+        ps.setString(6, n.getNomineeAddress());
+        ps.setString(7, n.getNomineePhone());
+        ps.setString(8, n.getNomineeEmail());
+        ps.setString(9, encryptor.encrypt(Field.AADHAAR, n.getNomineeAadhaar()));
+        ps.setString(10, encryptor.encrypt(Field.PAN, n.getNomineePan()));
+        ps.setBytes(11, encryptor.blindIndex(Field.AADHAAR, n.getNomineeAadhaar()));
+        ps.setBytes(12, encryptor.blindIndex(Field.PAN, n.getNomineePan()));
+    }
+}
@@ -0,0 +1,166 @@
+package com.loanorigination.controller;
+
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeBatchResult;
+import com.loanorigination.dto.NomineeDuplicateQuery;
+import com.loanorigination.dto.NomineeSearchFilter;
+import com.loanorigination.exception.NomineeDuplicateCheckUnavailableException;
+import com.loanorigination.exception.NomineeImportRunningException;
+import com.loanorigination.service.NomineeDetailsService;
+import com.loanorigination.service.NomineeDuplicateCheckService;
+import com.loanorigination.service.NomineeExportService;
+import com.loanorigination.service.NomineeImportService;
+import com.loanorigination.service.NomineeSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Collection-level nominee operations (back-office / partner integrations),
+ * as opposed to the per-application endpoints in NomineeDetailsController.
+ */
+@RestController
+@RequestMapping("/api/nominees")
+public class NomineeBulkController {
+
+    private final NomineeDetailsService nomineeService;
+    private final NomineeExportService exportService;
+    private final NomineeImportService importService;
+    private final NomineeDuplicateCheckService duplicateCheck;
+    private final NomineeSearchService searchService;
+    private final int maxBatchItems;
+
+    public NomineeBulkController(
+            NomineeDetailsService nomineeService,
+            NomineeExportService exportService,
+            NomineeImportService importService,
+            NomineeDuplicateCheckService duplicateCheck,
+            NomineeSearchService searchService,
+            @Value("${nominee.batch.max-items:50000}") int maxBatchItems
+    ) {
+        this.nomineeService = nomineeService;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.duplicateCheck = duplicateCheck;
+        this.searchService = searchService;
+        this.maxBatchItems = maxBatchItems;
+    }
+
+    @Operation(summary = "Create or update nominees for many applications in one call")
+    @PostMapping("/batch")
+    public ResponseEntity<?> upsertBatch(@RequestBody List<NomineeBatchItem> items) {
+        if (items.size() > maxBatchItems) {
+            return ResponseEntity.badRequest()
+                    .body("Batch too large: " + items.size() + " items (max " + maxBatchItems + ")");
+        }
+        NomineeBatchResult result = nomineeService.upsertNominees(items);
+        return ResponseEntity.ok().body(result);
+    }
+
+    @Operation(summary = "Find applications whose nominee has the given PAN and/or Aadhaar (fraud checks)")
+    @PostMapping("/duplicates")
+    public ResponseEntity<?> findDuplicates(@RequestBody NomineeDuplicateQuery query) {
+        if (query.pan() == null && query.aadhaar() == null) {
+            return ResponseEntity.badRequest().body("pan or aadhaar is required");
+        }
+        try {
+            return ResponseEntity.ok(duplicateCheck.findDuplicates(query.pan(), query.aadhaar()));
+        } catch (NomineeDuplicateCheckUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Keyset-paginated: pass the response's nextCursor back (with the same filters) for the next page.
+     * Dates are ISO (dobFrom=1990-01-01, createdFrom=2024-05-01T00:00:00Z).
+     */
+    @Operation(summary = "List nominees by relationship, DOB range and/or creation time, page by page")
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam(required = false) String relationship,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobTo,
+            @RequestParam(required = false) Instant createdFrom,
+            @RequestParam(required = false) Instant createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        NomineeSearchFilter filter = new NomineeSearchFilter(relationship, dobFrom, dobTo, createdFrom, createdTo);
+        return ResponseEntity.ok(searchService.search(filter, cursor, limit));
+    }
+
+    @Operation(summary = "Stream all nominees (optionally an applicationId range) as NDJSON or CSV")
+    @GetMapping("/export")
+    public void export(
+            @RequestParam(defaultValue = "NDJSON") NomineeExportService.Format format,
+            @RequestParam(defaultValue = "0") long fromApplicationId,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long toApplicationId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"nominees." + format.fileExtension() + "\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024)) {
+                exportService.export(format, fromApplicationId, toApplicationId, gz);
+            }
+        } else {
+            exportService.export(format, fromApplicationId, toApplicationId, out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Body is the raw CSV file (same columns as the CSV export), streamed — not multipart.
+     * Re-posting the same file with the same importId resumes after the last committed chunk.
+     * 400 if the header row is missing or has no applicationId column, or a different file is posted under the
+     * importId of an unfinished import; 409 if the import can't start now.
+     */
+    @Operation(summary = "Import a nominee CSV file (streaming, resumable by importId)")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importCsv(@RequestParam String importId, InputStream body,
+                                       @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength)
+            throws IOException {
+        if (!NomineeImportService.isValidImportId(importId)) {
+            return ResponseEntity.badRequest().body("importId may only contain letters, digits, '.', '_' and '-'");
+        }
+        try {
+            return ResponseEntity.ok().body(importService.importCsv(importId, body, contentLength == null ? -1 : contentLength));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (NomineeImportRunningException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Progress of a running (or finished) nominee import")
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<?> importProgress(@PathVariable String importId) {
+        return importService.getProgress(importId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
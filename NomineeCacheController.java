@@ -0,0 +1,26 @@
+package com.loanorigination.controller;
+
+import com.loanorigination.cache.ReadThroughCache;
+import com.loanorigination.service.NomineeDetailsService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/internal/cache/nominee")
+public class NomineeCacheController {
+
+    private final NomineeDetailsService nomineeService;
+
+    public NomineeCacheController(NomineeDetailsService nomineeService) {
+        this.nomineeService = nomineeService;
+    }
+
+    @Operation(summary = "Hit / miss / load-time statistics of the nominee read cache")
+    @GetMapping("/stats")
+    public ResponseEntity<ReadThroughCache.CacheStats> stats() {
+        return ResponseEntity.ok(nomineeService.getCacheStats());
+    }
+}
@@ -0,0 +1,17 @@
+package com.loanorigination.dto;
+
+import java.time.Instant;
+
+/**
+ * "The nominee of this application changed" — an outbox event as pushed over SSE and returned by the replay API.
+ *
+ * id increases in publish order and is the cursor to resume from (SSE Last-Event-ID, replay after=).
+ * No nominee fields on purpose: consumers GET the nominee if they need it (with If-None-Match, if they have an ETag).
+ */
+public record NomineeChangeEvent(long id, Long applicationId, Type type, Instant occurredAt) {
+
+    public enum Type {
+        UPSERTED,
+        DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package com.loanorigination.dto;
+
+import java.util.List;
+
+/**
+ * One page of the nominee change feed, in id order. nextCursor is the after= for the next call: the last event's id,
+ * or the cursor that was passed in if there was nothing new (so a worker can always just send it back).
+ */
+public record NomineeChangeEventPage(List<NomineeChangeEvent> events, long nextCursor) {
+}
@@ -0,0 +1,56 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeChangeEvent;
+import com.loanorigination.dto.NomineeChangeEventPage;
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.exception.NomineeValidationException;
+import com.loanorigination.repository.NomineeOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * The nominee change feed for workers (KYC etc.): every published change event after a cursor, in order, instead of
+ * polling nominee_details. A worker keeps the last nextCursor it processed and asks again from there.
+ *
+ * Read-only transaction, so it's served by the read replica when one is configured. That's safe for the cursor:
+ * the replica applies commits in order, so it only ever lags, it never has a gap below an event it already shows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class NomineeChangeFeedService {
+
+    private final NomineeOutboxRepository outbox;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public NomineeChangeFeedService(
+            NomineeOutboxRepository outbox,
+            @Value("${nominee.events.feed.default-page-size:100}") int defaultPageSize,
+            @Value("${nominee.events.feed.max-page-size:1000}") int maxPageSize
+    ) {
+        this.outbox = outbox;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * after: 0 for the oldest retained event. limit: null for the default page size.
+     * Throws NomineeValidationException (400) for a negative cursor or a limit out of range.
+     */
+    public NomineeChangeEventPage read(long after, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new NomineeValidationException(List.of(new NomineeFieldError("limit", "out_of_range",
+                    "must be between 1 and " + maxPageSize)));
+        }
+        if (after < 0) {
+            throw new NomineeValidationException(List.of(new NomineeFieldError("after", "out_of_range",
+                    "must not be negative")));
+        }
+        List<NomineeChangeEvent> events = outbox.findPublishedAfter(after, pageSize);
+        return new NomineeChangeEventPage(events, events.isEmpty() ? after : events.get(events.size() - 1).id());
+    }
+}
@@ -0,0 +1,170 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeChangeEvent;
+import com.loanorigination.repository.NomineeOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This instance's Server-Sent Events clients, per applicationId, fed by NomineeOutboxRelay.
+ *
+ * An open stream holds no thread and no DB connection (async request); the relay pushes to it. Streams time out
+ * after nominee.events.sse-timeout, and a comment goes to every stream each nominee.events.heartbeat so proxies
+ * keep idle ones open and dead clients are noticed. EventSource reconnects by itself, sending the id of the last
+ * event it got (Last-Event-ID), and the events it missed are replayed from the outbox before live ones.
+ */
+@Component
+public class NomineeChangeSubscriptions {
+
+    // events of one application replayed on reconnect, at most
+    private static final int REPLAY_LIMIT = 1_000;
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        // guarded by this; events with id <= lastSent were already sent (replay and live can overlap)
+        long lastSent;
+
+        Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+    }
+
+    private final NomineeOutboxRepository outbox;
+    private final long timeoutMillis;
+    private final Duration heartbeat;
+    private final ConcurrentHashMap<Long, Set<Subscriber>> byApplication = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "nominee-sse-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public NomineeChangeSubscriptions(
+            NomineeOutboxRepository outbox,
+            NomineeMetrics metrics,
+            @Value("${nominee.events.sse-timeout:PT30M}") Duration timeout,
+            @Value("${nominee.events.heartbeat:PT15S}") Duration heartbeat
+    ) {
+        this.outbox = outbox;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeat = heartbeat;
+        metrics.eventSubscribers(this::subscriberCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startHeartbeats() {
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    // on context close, before the web server stops: clients get a clean end of stream (and reconnect elsewhere)
+    // instead of an async timeout
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        heartbeats.shutdownNow();
+        byApplication.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    /**
+     * Open a stream of the application's change events. lastEventId: the client's Last-Event-ID, or null
+     * for only what happens from now on.
+     */
+    public SseEmitter subscribe(Long applicationId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, lastEventId == null ? 0 : lastEventId);
+        Runnable unsubscribe = () -> byApplication.computeIfPresent(applicationId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        // registered and replayed under the subscriber's lock, so dispatch can't send a newer event before
+        // the replay: every event is either replayed here or dispatched after, in id order
+        synchronized (subscriber) {
+            // add inside compute: an unsubscribe that empties the set removes it in the same atomic step
+            byApplication.compute(applicationId, (id, set) -> {
+                Set<Subscriber> s = set == null ? ConcurrentHashMap.newKeySet() : set;
+                s.add(subscriber);
+                return s;
+            });
+            if (lastEventId != null) {
+                send(subscriber, outbox.findPublishedAfter(applicationId, lastEventId, REPLAY_LIMIT));
+            }
+        }
+        // flushes the headers, so the client sees the stream as open before the first event
+        heartbeat(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Push events (in id order) to the streams of their applications.
+     */
+    public void dispatch(List<NomineeChangeEvent> events) {
+        for (NomineeChangeEvent event : events) {
+            Set<Subscriber> subscribers = byApplication.get(event.applicationId());
+            if (subscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : subscribers) {
+                synchronized (subscriber) {
+                    send(subscriber, List.of(event));
+                }
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return byApplication.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void send(Subscriber subscriber, List<NomineeChangeEvent> events) {
+        for (NomineeChangeEvent event : events) {
+            if (event.id() <= subscriber.lastSent) {
+                continue;
+            }
+            try {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.id()))
+                        .name("nominee-change")
+                        .data(event, MediaType.APPLICATION_JSON));
+                subscriber.lastSent = event.id();
+            } catch (IOException | IllegalStateException e) {
+                // client gone or stream already completed; onError / onCompletion unsubscribes
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        byApplication.values().forEach(set -> set.forEach(this::heartbeat));
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        synchronized (subscriber) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+}
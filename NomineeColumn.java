@@ -0,0 +1,65 @@
+package com.loanorigination.repository;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.entity.NomineeDetails;
+
+import java.util.function.Function;
+
+/**
+ * The writable nominee columns: JSON / entity property, column name, and whether it is stored encrypted
+ * (with a blind index next to it, see NomineeFieldEncryptor).
+ */
+public enum NomineeColumn {
+    NAME("nomineeName", "nominee_name", NomineeDetails::getNomineeName, null),
+    RELATIONSHIP("relationship", "relationship", NomineeDetails::getRelationship, null),
+    DOB("nomineeDob", "nominee_dob", NomineeDetails::getNomineeDob, null),
+    ADDRESS("nomineeAddress", "nominee_address", NomineeDetails::getNomineeAddress, null),
+    PHONE("nomineePhone", "nominee_phone", NomineeDetails::getNomineePhone, null),
+    EMAIL("nomineeEmail", "nominee_email", NomineeDetails::getNomineeEmail, null),
+    AADHAAR("nomineeAadhaar", "nominee_aadhaar", NomineeDetails::getNomineeAadhaar, NomineeFieldEncryptor.Field.AADHAAR),
+    PAN("nomineePan", "nominee_pan", NomineeDetails::getNomineePan, NomineeFieldEncryptor.Field.PAN);
+
+    private final String property;
+    private final String column;
+    private final Function<NomineeDetails, Object> getter;
+    private final NomineeFieldEncryptor.Field encrypted;
+
+    NomineeColumn(String property, String column, Function<NomineeDetails, Object> getter,
+                  NomineeFieldEncryptor.Field encrypted) {
+        this.property = property;
+        this.column = column;
+        this.getter = getter;
+        this.encrypted = encrypted;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public Object get(NomineeDetails n) {
+        return getter.apply(n);
+    }
+
+    /**
+     * The encryptor field for PAN / Aadhaar, null for plain columns.
+     */
+    public NomineeFieldEncryptor.Field encrypted() {
+        return encrypted;
+    }
+
+    /**
+     * By JSON property name, null if it isn't a writable column.
+     */
+    public static NomineeColumn byProperty(String property) {
+        for (NomineeColumn c : values()) {
+            if (c.property.equals(property)) {
+                return c;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.loanorigination.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many nominee requests run at once (normally = DB pool size). Requests over the cap wait
+ * up to acquireTimeout for a permit — parking a virtual thread is cheap — then get 503 + Retry-After.
+ *
+ * Only requests that hold a DB connection for about their whole duration are limited. Not limited:
+ *   - GET of a nominee: mostly answered from NomineeDetailsService's cache without touching the pool; a miss
+ *     waits for a connection in Hikari like any other caller
+ *   - CSV import / export: one long request each (minutes for a large file) would sit on a permit throughout,
+ *     and NomineeImportService already bounds how many imports run
+ *   - attachment transfers (file bytes, no DB connection held) and the event streams (open for as long as the
+ *     client listens)
+ */
+public class NomineeConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public NomineeConcurrencyLimitFilter(int maxConcurrency, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.contains("/attachments") || path.endsWith("/events")) {
+            return true;
+        }
+        if (path.startsWith("/api/nominees/import") || path.startsWith("/api/nominees/export")) {
+            return true;
+        }
+        return "GET".equals(request.getMethod()) && path.startsWith("/api/applications/") && path.endsWith("/nominee");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent nominee requests");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,213 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeExportRow;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV layout shared by nominee export and import (RFC 4180 quoting, header row first).
+ */
+public final class NomineeCsv {
+
+    public static final List<String> COLUMNS = List.of(
+            "applicationId",
+            "nomineeId",
+            "nomineeName",
+            "relationship",
+            "nomineeDob",
+            "nomineeAddress",
+            "nomineePhone",
+            "nomineeEmail",
+            "nomineeAadhaar",
+            "nomineePan"
+    );
+
+    private NomineeCsv() {
+    }
+
+    public static void writeHeader(Writer w) throws IOException {
+        w.write(String.join(",", COLUMNS));
+        w.write("\r\n");
+    }
+
+    public static void writeRow(Writer w, NomineeExportRow r) throws IOException {
+        writeField(w, r.applicationId());
+        w.write(',');
+        writeField(w, r.nomineeId());
+        w.write(',');
+        writeField(w, r.nomineeName());
+        w.write(',');
+        writeField(w, r.relationship());
+        w.write(',');
+        writeField(w, r.nomineeDob());
+        w.write(',');
+        writeField(w, r.nomineeAddress());
+        w.write(',');
+        writeField(w, r.nomineePhone());
+        w.write(',');
+        writeField(w, r.nomineeEmail());
+        w.write(',');
+        writeField(w, r.nomineeAadhaar());
+        w.write(',');
+        writeField(w, r.nomineePan());
+        w.write("\r\n");
+    }
+
+    private static void writeField(Writer w, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String s = value.toString();
+        if (!needsQuoting(s)) {
+            w.write(s);
+            return;
+        }
+        w.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') {
+                w.write('"');
+            }
+            w.write(c);
+        }
+        w.write('"');
+    }
+
+    private static boolean needsQuoting(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Streaming RFC 4180 record reader: one record per call, quoted fields may contain commas,
+     * quotes and line breaks. Only the current record is held in memory, and that is bounded: a field longer
+     * than MAX_FIELD_CHARS or a record longer than MAX_RECORD_CHARS (an unclosed quote, a binary upload)
+     * is an IOException rather than a heap full of one line.
+     */
+    public static final class RecordReader {
+
+        public static final int MAX_FIELD_CHARS = 64 * 1024;
+        public static final int MAX_RECORD_CHARS = 1024 * 1024;
+
+        private final Reader in;
+        private final int maxFieldChars;
+        private final int maxRecordChars;
+        private final StringBuilder field = new StringBuilder(64);
+        private int pushedBack = -2;
+        private long recordNumber;
+        private int recordChars;
+
+        public RecordReader(Reader in) {
+            this(in, MAX_FIELD_CHARS, MAX_RECORD_CHARS);
+        }
+
+        RecordReader(Reader in, int maxFieldChars, int maxRecordChars) {
+            this.in = in;
+            this.maxFieldChars = maxFieldChars;
+            this.maxRecordChars = maxRecordChars;
+        }
+
+        /**
+         * Number of the record last returned by next() (header is record 1).
+         */
+        public long recordNumber() {
+            return recordNumber;
+        }
+
+        /**
+         * Next record, or null at end of input. Blank lines are skipped.
+         */
+        public List<String> next() throws IOException {
+            List<String> fields = new ArrayList<>(COLUMNS.size());
+            field.setLength(0);
+            recordChars = 0;
+            boolean quoted = false;
+            boolean sawAnything = false;
+            for (;;) {
+                int c = read();
+                if (c == -1) {
+                    if (quoted) {
+                        throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+                    }
+                    if (!sawAnything) {
+                        return null;
+                    }
+                    fields.add(field.toString());
+                    recordNumber++;
+                    return fields;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            append('"');
+                        } else {
+                            quoted = false;
+                            unread(next);
+                        }
+                    } else {
+                        append((char) c);
+                    }
+                    continue;
+                }
+                if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            unread(next);
+                        }
+                    }
+                    if (!sawAnything) {
+                        recordChars = 0;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    recordNumber++;
+                    return fields;
+                }
+                sawAnything = true;
+                if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    append((char) c);
+                }
+            }
+        }
+
+        private void append(char c) throws IOException {
+            if (field.length() >= maxFieldChars) {
+                throw new IOException("Field longer than " + maxFieldChars + " characters in record " + (recordNumber + 1));
+            }
+            field.append(c);
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            int c = in.read();
+            if (c != -1 && ++recordChars > maxRecordChars) {
+                throw new IOException("Record " + (recordNumber + 1) + " is longer than " + maxRecordChars + " characters");
+            }
+            return c;
+        }
+
+        private void unread(int c) {
+            pushedBack = c;
+        }
+    }
+}
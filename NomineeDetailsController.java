@@ -0,0 +1,122 @@
+package com.loanorigination.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.service.NomineeDetailsService;
+import com.loanorigination.service.NomineeETags;
+import com.loanorigination.service.NomineeIdempotencyService;
+import com.loanorigination.service.NomineeMergePatch;
+import com.loanorigination.service.NomineeUpsertCoalescer;
+import com.loanorigination.service.NomineeValidator;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+// nominee.reactive.enabled=true swaps in NomineeReactiveController for the same URLs
+@RestController
+@RequestMapping("/api/applications/{applicationId}/nominee")
+@CrossOrigin(origins = {"http://localhost:3000"}, allowCredentials = "true",
+        exposedHeaders = {HttpHeaders.ETAG, NomineeIdempotencyService.REPLAYED_HEADER})
+@ConditionalOnProperty(name = "nominee.reactive.enabled", havingValue = "false", matchIfMissing = true)
+public class NomineeDetailsController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final NomineeDetailsService nomineeService;
+    private final NomineeValidator validator;
+    private final NomineeUpsertCoalescer upsertCoalescer;
+    private final NomineeIdempotencyService idempotency;
+
+    public NomineeDetailsController(NomineeDetailsService nomineeService, NomineeValidator validator,
+                                    NomineeUpsertCoalescer upsertCoalescer, NomineeIdempotencyService idempotency) {
+        this.nomineeService = nomineeService;
+        this.validator = validator;
+        this.upsertCoalescer = upsertCoalescer;
+        this.idempotency = idempotency;
+    }
+
+    @Operation(summary = "Get nominee for an application")
+    @GetMapping
+    public ResponseEntity<?> get(@PathVariable Long applicationId, WebRequest request) {
+        Optional<NomineeView> nominee = nomineeService.getByApplicationId(applicationId);
+        if (nominee.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = NomineeETags.of(nominee.get());
+        if (request.checkNotModified(etag)) {
+            // 304 status and ETag header are already set on the response
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(nominee.get());
+    }
+
+    @Operation(summary = "Create or update nominee for an application")
+    @PostMapping
+    public ResponseEntity<?> upsert(
+            @PathVariable Long applicationId,
+            @RequestBody NomineeDetails request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        // before the service: a bad payload is rejected without opening a transaction
+        validator.requireValid(request);
+        if (idempotencyKey != null) {
+            // a retry gets the first attempt's response; never coalesced, the key is stored in the save's transaction
+            return idempotency.execute("POST", applicationId, idempotencyKey, Arrays.asList(request, ifMatch),
+                    () -> saved(nomineeService.upsertNominee(applicationId, request, ifMatch)));
+        }
+        // merged with other saves of this application arriving within nominee.coalescing.window, if enabled
+        return saved(upsertCoalescer.upsert(applicationId, request, ifMatch));
+    }
+
+    // same body as GET (NomineeView, not the entity), so the ETag describes exactly what the client got
+    private static ResponseEntity<NomineeView> saved(NomineeDetails saved) {
+        NomineeView view = NomineeView.of(saved);
+        return ResponseEntity.ok().eTag(NomineeETags.of(view)).body(view);
+    }
+
+    /**
+     * JSON merge patch: only the fields in the body change, null clears one. Only changed columns are written,
+     * and nothing at all if the patch changes nothing. Same response as POST; 404 if there is no nominee yet.
+     */
+    @Operation(summary = "Partially update nominee for an application (JSON merge patch)")
+    @PatchMapping(consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patch(
+            @PathVariable Long applicationId,
+            @RequestBody JsonNode body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        NomineeMergePatch patch = NomineeMergePatch.parse(body);
+        validator.requireValid(patch.values());
+        Optional<NomineeDetails> saved = nomineeService.patchNominee(applicationId, patch, ifMatch);
+        if (saved.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return saved(saved.get());
+    }
+
+    @Operation(summary = "Delete nominee for an application")
+    @DeleteMapping
+    public ResponseEntity<?> delete(
+            @PathVariable Long applicationId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey != null) {
+            return idempotency.execute("DELETE", applicationId, idempotencyKey, List.of(), () -> {
+                nomineeService.deleteByApplicationId(applicationId);
+                return ResponseEntity.noContent().build();
+            });
+        }
+        nomineeService.deleteByApplicationId(applicationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.loanorigination.repository;
+
+import com.loanorigination.dto.NomineeExportRow;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface NomineeDetailsRepository extends JpaRepository<NomineeDetails, Long>, NomineeUpsertRepository {
+
+    /**
+     * Find the nominee row linked to a loan application (1:1 style).
+     */
+    @Query("SELECT nd FROM NomineeDetails nd WHERE nd.loanApplication.applicationId = :applicationId")
+    Optional<NomineeDetails> findByApplicationId(@Param("applicationId") Long applicationId);
+
+    /**
+     * Read-only projection for GET: selects only the nominee columns straight into a record,
+     * so nothing is added to the persistence context and no LoanApplication proxy is created.
+     */
+    @Query("SELECT new com.loanorigination.dto.NomineeView(nd.nomineeId, nd.nomineeName, nd.relationship, nd.nomineeDob, "
+            + "nd.nomineeAddress, nd.nomineePhone, nd.nomineeEmail, nd.nomineeAadhaar, nd.nomineePan, nd.version) "
+            + "FROM NomineeDetails nd WHERE nd.loanApplication.applicationId = :applicationId")
+    Optional<NomineeView> findViewByApplicationId(@Param("applicationId") Long applicationId);
+
+    /**
+     * Forward-only cursor over all nominees in an applicationId range, for bulk export.
+     * The JDBC fetch size keeps only one batch of rows in memory at a time; must be consumed inside a
+     * transaction and closed by the caller (try-with-resources).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.loanorigination.dto.NomineeExportRow(nd.loanApplication.applicationId, nd.nomineeId, "
+            + "nd.nomineeName, nd.relationship, nd.nomineeDob, nd.nomineeAddress, nd.nomineePhone, nd.nomineeEmail, "
+            + "nd.nomineeAadhaar, nd.nomineePan) "
+            + "FROM NomineeDetails nd "
+            + "WHERE nd.loanApplication.applicationId BETWEEN :fromApplicationId AND :toApplicationId "
+            + "ORDER BY nd.loanApplication.applicationId")
+    Stream<NomineeExportRow> streamForExport(@Param("fromApplicationId") Long fromApplicationId,
+                                             @Param("toApplicationId") Long toApplicationId);
+
+    /**
+     * Just the nominee's id — enough to check existence or build a reference without loading the row.
+     */
+    @Query("SELECT nd.nomineeId FROM NomineeDetails nd WHERE nd.loanApplication.applicationId = :applicationId")
+    Optional<Long> findNomineeIdByApplicationId(@Param("applicationId") Long applicationId);
+
+    /**
+     * Row-lock the nominee of an application (SELECT .. FOR UPDATE) for the rest of the transaction and return its
+     * version (the ETag, see NomineeETags). Used by conditional (If-Match) writes so the check and the write can't
+     * interleave with another save.
+     */
+    @Query(value = "SELECT version FROM nominee_details WHERE application_id = :applicationId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockByApplicationId(@Param("applicationId") Long applicationId);
+
+    /**
+     * Optional additional helper — find by both nomineeId and applicationId (safe lookup).
+     */
+    @Query("SELECT nd FROM NomineeDetails nd WHERE nd.nomineeId = :nomineeId AND nd.loanApplication.applicationId = :applicationId")
+    Optional<NomineeDetails> findByIdAndApplicationId(@Param("nomineeId") Long nomineeId,
+                                                      @Param("applicationId") Long applicationId);
+
+    /**
+     * Bulk delete by application — one DELETE, no load-then-remove. Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM NomineeDetails nd WHERE nd.loanApplication.applicationId = :applicationId")
+    int deleteByApplicationId(@Param("applicationId") Long applicationId);
+
+    /**
+     * Every application whose nominee has this PAN, by blind index (NomineeFieldEncryptor.blindIndex).
+     * Uses the partial index on nominee_pan_bidx (db/migration/V4).
+     */
+    @Query(value = "SELECT application_id FROM nominee_details WHERE nominee_pan_bidx = :bidx ORDER BY application_id",
+            nativeQuery = true)
+    List<Long> findApplicationIdsByNomineePanIndex(@Param("bidx") byte[] panBlindIndex);
+
+    /**
+     * Every application whose nominee has this Aadhaar, by blind index (NomineeFieldEncryptor.blindIndex).
+     */
+    @Query(value = "SELECT application_id FROM nominee_details WHERE nominee_aadhaar_bidx = :bidx ORDER BY application_id",
+            nativeQuery = true)
+    List<Long> findApplicationIdsByNomineeAadhaarIndex(@Param("bidx") byte[] aadhaarBlindIndex);
+}
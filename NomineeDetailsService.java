@@ -0,0 +1,235 @@
+package com.loanorigination.service;
+
+import com.loanorigination.cache.ReadThroughCache;
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeBatchResult;
+import com.loanorigination.dto.NomineeChangeEvent;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineePreconditionFailedException;
+import com.loanorigination.repository.NomineeColumn;
+import com.loanorigination.repository.NomineeDetailsRepository;
+import com.loanorigination.repository.NomineeUpsertRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Transactional
+public class NomineeDetailsService {
+
+    private final NomineeDetailsRepository nomineeRepo;
+    private final NomineeBatchWriter batchWriter;
+    private final NomineeMetrics metrics;
+    private final NomineeDuplicateCheckService duplicateCheck;
+    private final NomineeReadRouting readRouting;
+    private final NomineeOutboxRelay outbox;
+    private final int batchChunkSize;
+
+    // applicationId -> nominee (or "no nominee yet"), sits in front of findViewByApplicationId
+    private final ReadThroughCache<Long, NomineeView> nomineeCache;
+
+    public NomineeDetailsService(
+            NomineeDetailsRepository nomineeRepo,
+            NomineeBatchWriter batchWriter,
+            NomineeMetrics metrics,
+            NomineeDuplicateCheckService duplicateCheck,
+            NomineeReadRouting readRouting,
+            NomineeOutboxRelay outbox,
+            @Value("${nominee.batch.chunk-size:500}") int batchChunkSize,
+            @Value("${nominee.cache.max-size:10000}") int cacheMaxSize,
+            @Value("${nominee.cache.ttl:PT5M}") Duration cacheTtl,
+            @Value("${nominee.cache.negative-ttl:PT30S}") Duration cacheNegativeTtl
+    ) {
+        this.nomineeRepo = nomineeRepo;
+        this.batchWriter = batchWriter;
+        this.metrics = metrics;
+        this.duplicateCheck = duplicateCheck;
+        this.readRouting = readRouting;
+        this.outbox = outbox;
+        this.batchChunkSize = batchChunkSize;
+        this.nomineeCache = new ReadThroughCache<>(cacheMaxSize, cacheTtl, cacheNegativeTtl);
+    }
+
+    /**
+     * Read-through: concurrent misses for the same applicationId share one DB load,
+     * and "no nominee yet" is cached as well (with the shorter negative TTL).
+     * Loads go through the DTO projection, so cached values are immutable and detached from JPA.
+     *
+     * No transaction for a cache hit; a miss loads in a read-only transaction (read replica, if configured),
+     * or on the primary right after this application was written (NomineeReadRouting).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<NomineeView> getByApplicationId(Long applicationId) {
+        return nomineeCache.get(applicationId, this::loadView);
+    }
+
+    private Optional<NomineeView> loadView(Long applicationId) {
+        return readRouting.read(applicationId, status -> nomineeRepo.findViewByApplicationId(applicationId));
+    }
+
+    // in-memory only; polled by the metrics scrape, so don't open a DB transaction for it
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReadThroughCache.CacheStats getCacheStats() {
+        return nomineeCache.stats();
+    }
+
+    /**
+     * Create or update the nominee row for the given applicationId.
+     *
+     * Single round-trip: one INSERT .. ON CONFLICT keyed on the application FK, which returns the
+     * saved row. New rows get nomineeId = applicationId — this preserves the 1:1 mapping used in
+     * your project.
+     *
+     * Every write here (upsert, changing patch, delete) also records a change event in the same transaction,
+     * see NomineeOutboxRelay.
+     */
+    public NomineeDetails upsertNominee(Long applicationId, NomineeDetails req) {
+        return upsertNominee(applicationId, req, null);
+    }
+
+    /**
+     * Conditional upsert (optimistic concurrency). With ifMatch set, the current row is locked and its
+     * ETag compared first; on mismatch nothing is written and NomineePreconditionFailedException (412) is thrown.
+     * ifMatch = null means unconditional, same as upsertNominee(applicationId, req).
+     */
+    public NomineeDetails upsertNominee(Long applicationId, NomineeDetails req, String ifMatch) {
+        if (ifMatch != null) {
+            lock(applicationId, ifMatch);
+        }
+        duplicateCheck.remember(req);
+        NomineeUpsertRepository.Upserted saved = nomineeRepo.upsertByApplicationId(applicationId, req);
+        metrics.upserted(saved.created());
+        outbox.record(applicationId, NomineeChangeEvent.Type.UPSERTED);
+        invalidateCacheAfterCommit(applicationId);
+        return saved.nominee();
+    }
+
+    /**
+     * Apply a merge patch to the application's nominee, writing only the columns whose value actually changes.
+     * If nothing changes, nothing is written (no UPDATE, no row lock, version unchanged) and the current row is
+     * returned as is. Empty if the application has no nominee. The patch must already have passed NomineeValidator.
+     *
+     * Optimistic: the row is read without a lock and diffed, and the UPDATE only applies if the row still has the
+     * version that was read. If another write got in between, the row is read again and the patch re-applied on
+     * top of it, so concurrent patches of one nominee never undo each other. Every retry means some other write
+     * committed. ifMatch is compared against the version each attempt read (412 once it no longer matches).
+     */
+    public Optional<NomineeDetails> patchNominee(Long applicationId, NomineeMergePatch patch, String ifMatch) {
+        for (;;) {
+            Optional<NomineeView> current = nomineeRepo.findViewByApplicationId(applicationId);
+            if (ifMatch != null && !NomineeETags.matchesIfMatch(ifMatch, current.map(NomineeETags::of).orElse(null))) {
+                throw new NomineePreconditionFailedException(applicationId);
+            }
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            NomineeDetails merged = patch.applyTo(current.get());
+            Set<NomineeColumn> changed = patch.changedFrom(current.get());
+            if (changed.isEmpty()) {
+                metrics.patched(false);
+                return Optional.of(merged);
+            }
+            if (changed.contains(NomineeColumn.PAN) || changed.contains(NomineeColumn.AADHAAR)) {
+                duplicateCheck.remember(merged);
+            }
+            Optional<NomineeDetails> saved = nomineeRepo.updateColumns(applicationId, merged, changed,
+                    current.get().version());
+            if (saved.isPresent()) {
+                metrics.patched(true);
+                outbox.record(applicationId, NomineeChangeEvent.Type.UPSERTED);
+                invalidateCacheAfterCommit(applicationId);
+                return saved;
+            }
+        }
+    }
+
+    /**
+     * Conditional upsert: lock the current row and compare its ETag, so nobody can save between our compare and
+     * our write (the upsert can't be made conditional on a version the way the PATCH UPDATE is).
+     */
+    private void lock(Long applicationId, String ifMatch) {
+        Optional<Long> version = nomineeRepo.lockByApplicationId(applicationId);
+        if (!NomineeETags.matchesIfMatch(ifMatch, version.map(NomineeETags::of).orElse(null))) {
+            throw new NomineePreconditionFailedException(applicationId);
+        }
+    }
+
+    /**
+     * Batch version of upsertNominee for back-office migrations / partner pushes.
+     *
+     * Runs outside the class-level transaction: items are written in chunks of nominee.batch.chunk-size,
+     * each chunk in its own transaction using JDBC statement batching (see NomineeBatchWriter).
+     * A failing item is reported in the result and does not abort the rest of its chunk.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NomineeBatchResult upsertNominees(List<NomineeBatchItem> items) {
+        List<NomineeBatchResult.ItemResult> results = new ArrayList<>(items.size());
+        int succeeded = 0;
+        for (int from = 0; from < items.size(); from += batchChunkSize) {
+            List<NomineeBatchItem> chunk = items.subList(from, Math.min(from + batchChunkSize, items.size()));
+            chunk.forEach(this::rememberForDuplicateCheck);
+            for (NomineeBatchResult.ItemResult r : batchWriter.writeChunk(chunk, from)) {
+                if (r.success()) {
+                    succeeded++;
+                    // chunk is already committed here
+                    nomineeCache.invalidate(r.applicationId());
+                    readRouting.written(r.applicationId());
+                    rememberForDuplicateCheck(chunk.get(r.index() - from));
+                }
+                results.add(r);
+            }
+        }
+        return new NomineeBatchResult(items.size(), succeeded, items.size() - succeeded, results);
+    }
+
+    // before and after the chunk commits, see NomineeDuplicateCheckService.remember
+    private void rememberForDuplicateCheck(NomineeBatchItem item) {
+        if (item != null && item.nominee() != null) {
+            duplicateCheck.remember(item.nominee());
+        }
+    }
+
+    /**
+     * Delete nominee row for the application (if exists) with a single bulk DELETE.
+     * Returns the number of rows removed (0 or 1). Only an actual delete records a change event.
+     */
+    public int deleteByApplicationId(Long applicationId) {
+        int deleted = nomineeRepo.deleteByApplicationId(applicationId);
+        invalidateCacheAfterCommit(applicationId);
+        if (deleted > 0) {
+            outbox.record(applicationId, NomineeChangeEvent.Type.DELETED);
+            duplicateCheck.forgotten();
+        }
+        return deleted;
+    }
+
+    /**
+     * Drop the cached entry now (so an in-flight load of the old row isn't kept) and again once
+     * the transaction commits, so a read that raced the commit can't leave the old row cached.
+     * Same for the read-your-writes window: reads of this application stay on the primary from now
+     * until the window after commit has passed.
+     */
+    private void invalidateCacheAfterCommit(Long applicationId) {
+        nomineeCache.invalidate(applicationId);
+        readRouting.written(applicationId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readRouting.written(applicationId);
+                    nomineeCache.invalidate(applicationId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.loanorigination.service;
+
+import com.loanorigination.cache.BloomFilter;
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import com.loanorigination.dto.NomineeChangeEvent;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineeDuplicateCheckUnavailableException;
+import com.loanorigination.repository.NomineeDetailsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Which applications already use this nominee PAN / Aadhaar?" for fraud checks.
+ *
+ * Lookups hit the indexed blind index columns (db/migration/V4, NomineeFieldEncryptor.blindIndex). In front of
+ * them sit two in-memory Bloom filters of every PAN / Aadhaar blind index in the table, so the common answer —
+ * never seen — needs no query at all.
+ *
+ * Keeping the filters complete, i.e. never answering "no" for a key that is in the table:
+ *   - writes on this instance add their keys before the write and again after commit;
+ *   - writes on every instance reach it through the change feed: NomineeOutboxRelay hands each batch of events
+ *     to changed(), which reads the blind indexes of those applications and adds them;
+ *   - a full rebuild scans the table every nominee.duplicate-check.rebuild-interval, and sooner once deletes
+ *     pass nominee.duplicate-check.rebuild-after-deletes. Deletes (and PAN changes) only leave stale bits, i.e.
+ *     extra false positives, until then.
+ * A "no" is only trusted from filters whose scan started after the feed was running (so no commit can fall
+ * between the two), and only while the relay has completed a pass within nominee.duplicate-check.max-feed-lag.
+ * Otherwise — before the first such build, or while the relay is failing — every lookup goes to the DB.
+ *
+ * What the filters can't see is a write on another instance that the relay hasn't fanned out here yet (about
+ * nominee.outbox.poll-interval after its commit); a lookup racing it that closely can miss it.
+ */
+@Service
+public class NomineeDuplicateCheckService {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeDuplicateCheckService.class);
+
+    private static final String SCAN_SQL = """
+            SELECT nominee_pan_bidx, nominee_aadhaar_bidx FROM nominee_details
+            WHERE nominee_pan_bidx IS NOT NULL OR nominee_aadhaar_bidx IS NOT NULL
+            """;
+
+    private static final String CHANGED_SQL = """
+            SELECT nominee_pan_bidx, nominee_aadhaar_bidx FROM nominee_details
+            WHERE application_id = ANY(?) AND (nominee_pan_bidx IS NOT NULL OR nominee_aadhaar_bidx IS NOT NULL)
+            """;
+
+    /**
+     * scanStartedNanos: when the scan that built them started (System.nanoTime()).
+     */
+    private record Filters(BloomFilter pan, BloomFilter aadhaar, long scanStartedNanos) {
+
+        void add(byte[] panIndex, byte[] aadhaarIndex) {
+            if (panIndex != null) {
+                pan.put(panIndex);
+            }
+            if (aadhaarIndex != null) {
+                aadhaar.put(aadhaarIndex);
+            }
+        }
+    }
+
+    public record DuplicateMatches(List<Long> panMatches, List<Long> aadhaarMatches) {
+    }
+
+    private final NomineeDetailsRepository nomineeRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate scanTx;
+    private final NomineeMetrics metrics;
+    private final NomineeFieldEncryptor encryptor;
+    private final long minExpectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+    private final long rebuildAfterDeletes;
+    private final long maxFeedLagNanos;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "nominee-duplicate-filter");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final AtomicLong deletesSinceRebuild = new AtomicLong();
+
+    // null until the first build has finished
+    private volatile Filters current;
+    // non-null while a rebuild is scanning, so concurrent writes land in the new filters too
+    private volatile Filters building;
+    // System.nanoTime() of the relay's first / latest completed pass, 0 = none yet
+    private volatile long firstFedNanos;
+    private volatile long lastFedNanos;
+
+    public NomineeDuplicateCheckService(
+            NomineeDetailsRepository nomineeRepo,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NomineeMetrics metrics,
+            NomineeFieldEncryptor encryptor,
+            @Value("${nominee.duplicate-check.expected-insertions:1000000}") long minExpectedInsertions,
+            @Value("${nominee.duplicate-check.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${nominee.duplicate-check.rebuild-interval:PT1H}") Duration rebuildInterval,
+            @Value("${nominee.duplicate-check.rebuild-after-deletes:10000}") long rebuildAfterDeletes,
+            @Value("${nominee.duplicate-check.max-feed-lag:PT10S}") Duration maxFeedLag
+    ) {
+        this.nomineeRepo = nomineeRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        // own template: PostgreSQL only streams a result set with a fetch size inside a transaction
+        this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanTemplate.setFetchSize(10_000);
+        // deliberately not read-only, which would send the scan to the read replica (NomineeReadReplicaConfig):
+        // rows committed on the primary just before the scan but not replicated yet would be missing from the
+        // new filters, and a missing key means a duplicate goes unreported
+        this.scanTx = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.encryptor = encryptor;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+        this.rebuildAfterDeletes = rebuildAfterDeletes;
+        this.maxFeedLagNanos = maxFeedLag.toNanos();
+    }
+
+    /**
+     * The first build is started by the relay's first pass (caughtUp()), so it scans after the feed is running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuilding() {
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, rebuildInterval.toMillis(), rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Throws NomineeDuplicateCheckUnavailableException (503) without a blind index key: nothing is indexed then,
+     * and an empty answer would read as "no duplicate".
+     */
+    public DuplicateMatches findDuplicates(String pan, String aadhaar) {
+        if (!encryptor.hasBlindIndexKey()) {
+            throw new NomineeDuplicateCheckUnavailableException();
+        }
+        return new DuplicateMatches(findApplicationsByPan(pan), findApplicationsByAadhaar(aadhaar));
+    }
+
+    /**
+     * Applications whose nominee has this PAN (any spacing / case). Empty list for a blank PAN.
+     */
+    public List<Long> findApplicationsByPan(String pan) {
+        byte[] index = encryptor.blindIndex(Field.PAN, pan);
+        if (index == null) {
+            return List.of();
+        }
+        Filters filters = trusted();
+        if (filters != null && !filters.pan().mightContain(index)) {
+            metrics.duplicateCheck("pan", "filtered");
+            return List.of();
+        }
+        return record("pan", nomineeRepo.findApplicationIdsByNomineePanIndex(index));
+    }
+
+    /**
+     * Applications whose nominee has this Aadhaar (compared by its digits). Empty list if it has no digits.
+     */
+    public List<Long> findApplicationsByAadhaar(String aadhaar) {
+        byte[] index = encryptor.blindIndex(Field.AADHAAR, aadhaar);
+        if (index == null) {
+            return List.of();
+        }
+        Filters filters = trusted();
+        if (filters != null && !filters.aadhaar().mightContain(index)) {
+            metrics.duplicateCheck("aadhaar", "filtered");
+            return List.of();
+        }
+        return record("aadhaar", nomineeRepo.findApplicationIdsByNomineeAadhaarIndex(index));
+    }
+
+    private Filters trusted() {
+        Filters filters = current;
+        long firstFed = firstFedNanos;
+        if (filters == null || firstFed == 0 || firstFed - filters.scanStartedNanos() > 0) {
+            return null;
+        }
+        return System.nanoTime() - lastFedNanos < maxFeedLagNanos ? filters : null;
+    }
+
+    private List<Long> record(String key, List<Long> matches) {
+        metrics.duplicateCheck(key, matches.isEmpty() ? "not_found" : "found");
+        return matches;
+    }
+
+    /**
+     * Call before writing a nominee. Adds its keys now and, inside a transaction, once more after commit
+     * (a rebuild that started in between would otherwise miss it).
+     */
+    public void remember(NomineeDetails nominee) {
+        byte[] pan = encryptor.blindIndex(Field.PAN, nominee.getNomineePan());
+        byte[] aadhaar = encryptor.blindIndex(Field.AADHAAR, nominee.getNomineeAadhaar());
+        if (pan == null && aadhaar == null) {
+            return;
+        }
+        add(pan, aadhaar);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(pan, aadhaar);
+                }
+            });
+        }
+    }
+
+    /**
+     * Blind indexes written outside the normal upsert paths (NomineeReencryptionService), after their commit.
+     */
+    public void rememberIndexes(byte[] panIndex, byte[] aadhaarIndex) {
+        add(panIndex, aadhaarIndex);
+    }
+
+    /**
+     * Nominee changes from the change feed (any instance's writes), called by NomineeOutboxRelay before it moves
+     * past them: adds the current blind indexes of every upserted application.
+     */
+    public void changed(List<NomineeChangeEvent> events) {
+        Long[] applicationIds = events.stream()
+                .filter(e -> e.type() == NomineeChangeEvent.Type.UPSERTED)
+                .map(NomineeChangeEvent::applicationId)
+                .distinct()
+                .toArray(Long[]::new);
+        if (applicationIds.length == 0) {
+            return;
+        }
+        jdbcTemplate.query(CHANGED_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", applicationIds)),
+                rs -> {
+                    add(rs.getBytes(1), rs.getBytes(2));
+                });
+    }
+
+    /**
+     * NomineeOutboxRelay completed a pass: everything published so far has been through changed().
+     */
+    public void caughtUp() {
+        long now = System.nanoTime();
+        lastFedNanos = now;
+        if (firstFedNanos == 0) {
+            firstFedNanos = now;
+            rebuildSoon();
+        }
+    }
+
+    /**
+     * Call after a nominee was deleted. Its bits can't be cleared, so this only brings the next rebuild forward.
+     */
+    public void forgotten() {
+        if (deletesSinceRebuild.incrementAndGet() >= rebuildAfterDeletes) {
+            rebuildSoon();
+        }
+    }
+
+    /**
+     * Rebuild now (in the background) instead of at the next interval, e.g. after the blind index key changed.
+     */
+    public void rebuildSoon() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuildQuietly);
+        }
+    }
+
+    private void add(byte[] pan, byte[] aadhaar) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(pan, aadhaar);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.add(pan, aadhaar);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding the nominee duplicate filter failed, keeping the previous one: {}", e.getMessage());
+        } finally {
+            rebuildQueued.set(false);
+        }
+    }
+
+    /**
+     * Scan all PAN / Aadhaar keys into fresh filters and swap them in. Runs on the rebuilder thread only.
+     */
+    void rebuild() {
+        long started = System.nanoTime();
+        deletesSinceRebuild.set(0);
+        Long rows = scanTemplate.queryForObject("SELECT count(*) FROM nominee_details", Long.class);
+        // leave room to grow until the next rebuild
+        long expected = Math.max(minExpectedInsertions, (rows == null ? 0 : rows) * 2);
+        Filters next = new Filters(BloomFilter.create(expected, falsePositiveRate),
+                BloomFilter.create(expected, falsePositiveRate), System.nanoTime());
+        building = next;
+        try {
+            long[] scanned = new long[1];
+            scanTx.executeWithoutResult(status -> scanTemplate.query(SCAN_SQL, rs -> {
+                next.add(rs.getBytes(1), rs.getBytes(2));
+                scanned[0]++;
+            }));
+            current = next;
+            log.info("Nominee duplicate filter rebuilt from {} rows in {} ms ({} bits per filter)", scanned[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), next.pan().bitSize());
+        } finally {
+            building = null;
+        }
+    }
+}
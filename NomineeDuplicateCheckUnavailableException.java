@@ -0,0 +1,16 @@
+package com.loanorigination.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Duplicate checks can't answer: no nominee.encryption.blind-index-key is configured, so no PAN / Aadhaar lookup
+ * indexes are stored and "no match" would mean nothing. Nothing was queried.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class NomineeDuplicateCheckUnavailableException extends RuntimeException {
+
+    public NomineeDuplicateCheckUnavailableException() {
+        super("Duplicate checks need nominee.encryption.blind-index-key, which is not configured");
+    }
+}
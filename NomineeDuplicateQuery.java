@@ -0,0 +1,8 @@
+package com.loanorigination.dto;
+
+/**
+ * Body of POST /api/nominees/duplicates. Sent as a body rather than query parameters so PAN / Aadhaar
+ * don't end up in access logs. Either field may be left out.
+ */
+public record NomineeDuplicateQuery(String pan, String aadhaar) {
+}
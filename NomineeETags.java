@@ -0,0 +1,60 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeView;
+
+/**
+ * Strong ETags for the nominee resource.
+ *
+ * The tag is the row's version (db/migration/V8), which every write that changes the row moves to a new
+ * sequence value. A conditional write only needs that one column (the upsert reads it under a row lock, PATCH puts
+ * it in its UPDATE's WHERE), no read of the full row and no hashing. It is also in NomineeView (not serialized), so
+ * GET still answers If-None-Match from a cached view without touching the DB. Unlike a content hash the tag moves
+ * on a save that rewrites identical values, which only costs the client a refetch.
+ */
+public final class NomineeETags {
+
+    private NomineeETags() {
+    }
+
+    public static String of(NomineeView v) {
+        return of(v.version());
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Strong comparison for If-Match: "*" matches any existing representation,
+     * otherwise one of the listed tags must equal the current one exactly (weak tags never match).
+     */
+    public static boolean matchesIfMatch(String ifMatch, String currentETag) {
+        if (currentETag == null) {
+            return false;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Weak comparison for If-None-Match (what WebRequest.checkNotModified does): "*" or any listed tag,
+     * ignoring a W/ prefix. For callers that can't use WebRequest (NomineeReactiveController).
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String currentETag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
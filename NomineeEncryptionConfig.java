@@ -0,0 +1,23 @@
+package com.loanorigination.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the PAN / Aadhaar encryption converters (EncryptedFieldConverter) into the JPA mapping of NomineeDetails.
+ *
+ * They live in an extra mapping file rather than as @Convert on the entity, so the entity stays as it is and
+ * the mapping sits next to the encryption code. Hibernate instantiates converters through Spring's bean
+ * container (Boot's default), which is what gets NomineeFieldEncryptor injected into them.
+ */
+@Configuration
+public class NomineeEncryptionConfig {
+
+    static final String MAPPING_FILE = "META-INF/nominee-orm.xml";
+
+    @Bean
+    public EntityManagerFactoryBuilderCustomizer nomineeEncryptionMapping() {
+        return builder -> builder.setPersistenceUnitPostProcessors(pui -> pui.addMappingFileName(MAPPING_FILE));
+    }
+}
@@ -0,0 +1,41 @@
+package com.loanorigination.controller;
+
+import com.loanorigination.service.NomineeReencryptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/internal/encryption")
+public class NomineeEncryptionController {
+
+    private final NomineeReencryptionService reencryptionService;
+
+    public NomineeEncryptionController(NomineeReencryptionService reencryptionService) {
+        this.reencryptionService = reencryptionService;
+    }
+
+    @Operation(summary = "Progress of the current / last nominee PAN / Aadhaar re-encryption pass")
+    @GetMapping("/reencryption")
+    public ResponseEntity<NomineeReencryptionService.Progress> progress() {
+        return ResponseEntity.ok(reencryptionService.progress());
+    }
+
+    /**
+     * Start a pass after a key rotation. all=true rewrites every row (after changing the blind index key).
+     * 409 if a pass is already running.
+     */
+    @Operation(summary = "Re-encrypt nominee PAN / Aadhaar under the active key and refresh their blind indexes")
+    @PostMapping("/reencryption")
+    public ResponseEntity<NomineeReencryptionService.Progress> start(@RequestParam(defaultValue = "false") boolean all) {
+        if (!reencryptionService.start(all)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(reencryptionService.progress());
+        }
+        return ResponseEntity.accepted().body(reencryptionService.progress());
+    }
+}
@@ -0,0 +1,52 @@
+package com.loanorigination.controller;
+
+import com.loanorigination.dto.NomineeChangeEventPage;
+import com.loanorigination.service.NomineeChangeFeedService;
+import com.loanorigination.service.NomineeChangeSubscriptions;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Nominee change events (see NomineeOutboxRelay), instead of polling GET / the table.
+ */
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000"}, allowCredentials = "true")
+public class NomineeEventController {
+
+    private final NomineeChangeSubscriptions subscriptions;
+    private final NomineeChangeFeedService feedService;
+
+    public NomineeEventController(NomineeChangeSubscriptions subscriptions, NomineeChangeFeedService feedService) {
+        this.subscriptions = subscriptions;
+        this.feedService = feedService;
+    }
+
+    /**
+     * Server-Sent Events, one "nominee-change" event per change of this application's nominee. Open the stream
+     * first, then GET the nominee: a change after the GET is then always announced. Reconnects resume after
+     * Last-Event-ID (EventSource sends it by itself).
+     */
+    @Operation(summary = "Stream change events of an application's nominee (Server-Sent Events)")
+    @GetMapping(path = "/api/applications/{applicationId}/nominee/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable Long applicationId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return subscriptions.subscribe(applicationId, lastEventId);
+    }
+
+    /**
+     * Pass the response's nextCursor back as after= for the next page; an empty page means caught up.
+     */
+    @Operation(summary = "Nominee change events of all applications after a cursor (for workers)")
+    @GetMapping("/api/nominees/events")
+    public ResponseEntity<NomineeChangeEventPage> feed(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(feedService.read(after, limit));
+    }
+}
@@ -0,0 +1,26 @@
+package com.loanorigination.controller;
+
+import com.loanorigination.exception.NomineeValidationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Error bodies for the nominee controllers that need more than a status code.
+ */
+@RestControllerAdvice(basePackageClasses = NomineeExceptionHandler.class)
+public class NomineeExceptionHandler {
+
+    /**
+     * 400 as application/problem+json, with every rejected field under "errors":
+     * {"title":"Invalid nominee","status":400,"detail":"...","errors":[{"field":"nomineePan","code":"invalid_format","message":"..."}]}
+     */
+    @ExceptionHandler(NomineeValidationException.class)
+    public ProblemDetail handleValidation(NomineeValidationException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problem.setTitle("Invalid nominee");
+        problem.setProperty("errors", e.getErrors());
+        return problem;
+    }
+}
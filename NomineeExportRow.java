@@ -0,0 +1,20 @@
+package com.loanorigination.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One nominee row of a bulk export — same fields as NomineeView plus the owning applicationId.
+ */
+public record NomineeExportRow(
+        Long applicationId,
+        Long nomineeId,
+        String nomineeName,
+        String relationship,
+        LocalDate nomineeDob,
+        String nomineeAddress,
+        String nomineePhone,
+        String nomineeEmail,
+        String nomineeAadhaar,
+        String nomineePan
+) {
+}
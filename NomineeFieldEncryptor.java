@@ -0,0 +1,330 @@
+package com.loanorigination.crypto;
+
+import com.loanorigination.service.NomineeIdentifiers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Encryption at rest for nominee PAN / Aadhaar (AES-256-GCM), plus the keyed blind indexes used to look them up.
+ *
+ * Stored form: "enc1:&lt;keyId&gt;:" + base64(12-byte IV | ciphertext | 16-byte tag), with the column name as
+ * associated data so a PAN ciphertext can't be passed off as an Aadhaar. Values without the prefix are read as
+ * plaintext (rows written before encryption was switched on, or with it off).
+ *
+ * Keys: nominee.encryption.keys = "keyId:base64,keyId:base64" (32-byte master keys), new values are written
+ * with nominee.encryption.active-key. Rotation: add a key, make it active, keep the old one listed until
+ * NomineeReencryptionService has rewritten every row. The per-column AES keys are derived from the master keys
+ * once at startup (HKDF-SHA256), never per call.
+ *
+ * Blind index: HMAC-SHA256 (truncated to 16 bytes) of the normalized value under nominee.encryption.blind-index-key.
+ * It is deliberately not tied to the rotating keys — changing it means recomputing every row
+ * (NomineeReencryptionService with all=true). Required with encryption on. With it off and no key set, no blind
+ * indexes are stored at all (an index under a key everyone knows would just be a PAN / Aadhaar hash) and duplicate
+ * checks (NomineeDuplicateCheckService) answer 503 rather than "no match".
+ *
+ * Only the PAN / Aadhaar columns are covered. Attachment files (NomineeAttachmentService) are stored unencrypted.
+ *
+ * Cipher / Mac instances are pooled: Cipher.getInstance is a provider lookup plus allocation, far more than the
+ * AES work for a 10-12 character value. Pools rather than ThreadLocals because request threads may be virtual.
+ */
+@Component
+public class NomineeFieldEncryptor {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeFieldEncryptor.class);
+
+    static final String PREFIX = "enc1:";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String HMAC = "HmacSHA256";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final int BLIND_INDEX_BYTES = 16;
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    public enum Field {
+        PAN("nominee_pan"),
+        AADHAAR("nominee_aadhaar");
+
+        private final String column;
+        private final byte[] aad;
+
+        Field(String column) {
+            this.column = column;
+            this.aad = column.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+
+    /**
+     * One pooled cipher with its own IV source, so encrypting threads don't share SecureRandom's lock.
+     */
+    private record CipherSlot(Cipher cipher, SecureRandom random) {
+    }
+
+    private final boolean enabled;
+    private final String activeKeyId;
+    private final String activePrefix;
+    // keyId -> derived AES key per column
+    private final Map<String, EnumMap<Field, SecretKey>> dataKeys;
+    private final EnumMap<Field, SecretKey> blindIndexKeys;
+    private final ArrayBlockingQueue<CipherSlot> ciphers;
+    private final EnumMap<Field, ArrayBlockingQueue<Mac>> macs = new EnumMap<>(Field.class);
+
+    public NomineeFieldEncryptor(
+            @Value("${nominee.encryption.enabled:false}") boolean enabled,
+            @Value("${nominee.encryption.keys:}") String keys,
+            @Value("${nominee.encryption.active-key:}") String activeKeyId,
+            @Value("${nominee.encryption.blind-index-key:}") String blindIndexKey,
+            @Value("${nominee.encryption.pool-size:0}") int poolSize
+    ) {
+        this.dataKeys = deriveDataKeys(parseKeys(keys));
+        if (enabled && !dataKeys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("nominee.encryption.active-key '" + activeKeyId
+                    + "' is not one of the keys in nominee.encryption.keys");
+        }
+        if (enabled && blindIndexKey.isBlank()) {
+            throw new IllegalStateException("nominee.encryption.blind-index-key is required when encryption is enabled");
+        }
+        this.enabled = enabled;
+        this.activeKeyId = activeKeyId;
+        this.activePrefix = PREFIX + activeKeyId + ":";
+        if (blindIndexKey.isBlank()) {
+            log.warn("No nominee.encryption.blind-index-key set: no PAN / Aadhaar lookup indexes are stored, "
+                    + "nominee duplicate checks answer 503");
+            this.blindIndexKeys = null;
+        } else {
+            byte[] indexMaster = decodeKey("blind-index-key", blindIndexKey);
+            this.blindIndexKeys = new EnumMap<>(Field.class);
+            for (Field field : Field.values()) {
+                blindIndexKeys.put(field, new SecretKeySpec(hkdf(indexMaster, "nominee/" + field.column + "/blind-index"), HMAC));
+            }
+        }
+
+        int size = poolSize > 0 ? poolSize : 4 * Runtime.getRuntime().availableProcessors();
+        this.ciphers = new ArrayBlockingQueue<>(size);
+        for (Field field : Field.values()) {
+            macs.put(field, new ArrayBlockingQueue<>(size));
+        }
+        // fail at startup, not on the first request, if the JCE lacks AES-GCM
+        releaseCipher(borrowCipher());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * False without nominee.encryption.blind-index-key: blindIndex() always returns null then.
+     */
+    public boolean hasBlindIndexKey() {
+        return blindIndexKeys != null;
+    }
+
+    /**
+     * Stored form of a value: encrypted under the active key, or the value itself with encryption off.
+     */
+    public String encrypt(Field field, String plaintext) {
+        if (plaintext == null || !enabled) {
+            return plaintext;
+        }
+        SecretKey key = dataKeys.get(activeKeyId).get(field);
+        byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[IV_BYTES + input.length + TAG_BITS / 8];
+        CipherSlot slot = borrowCipher();
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            slot.random().nextBytes(iv);
+            System.arraycopy(iv, 0, out, 0, IV_BYTES);
+            Cipher cipher = slot.cipher();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, out, 0, IV_BYTES));
+            cipher.updateAAD(field.aad);
+            cipher.doFinal(input, 0, input.length, out, IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Encrypting " + field.column + " failed", e);
+        } finally {
+            releaseCipher(slot);
+        }
+        return activePrefix + Base64.getEncoder().encodeToString(out);
+    }
+
+    /**
+     * Plaintext of a stored value; values without the "enc1:" prefix are returned as they are.
+     */
+    public String decrypt(Field field, String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) {
+            return stored;
+        }
+        int keyEnd = stored.indexOf(':', PREFIX.length());
+        String keyId = keyEnd < 0 ? "" : stored.substring(PREFIX.length(), keyEnd);
+        EnumMap<Field, SecretKey> keys = dataKeys.get(keyId);
+        if (keys == null) {
+            // never echo the value itself
+            throw new IllegalStateException("Cannot decrypt " + field.column + ": unknown key id '" + keyId + "'");
+        }
+        byte[] in = Base64.getDecoder().decode(stored.substring(keyEnd + 1));
+        if (in.length < IV_BYTES + TAG_BITS / 8) {
+            throw new IllegalStateException("Cannot decrypt " + field.column + ": truncated ciphertext");
+        }
+        CipherSlot slot = borrowCipher();
+        try {
+            Cipher cipher = slot.cipher();
+            cipher.init(Cipher.DECRYPT_MODE, keys.get(field), new GCMParameterSpec(TAG_BITS, in, 0, IV_BYTES));
+            cipher.updateAAD(field.aad);
+            return new String(cipher.doFinal(in, IV_BYTES, in.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (AEADBadTagException e) {
+            throw new IllegalStateException("Cannot decrypt " + field.column + ": authentication failed (wrong key or tampered value)");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Decrypting " + field.column + " failed", e);
+        } finally {
+            releaseCipher(slot);
+        }
+    }
+
+    /**
+     * True if a stored value is already in the form new writes produce (active key, or plaintext with encryption off).
+     */
+    public boolean isCurrent(String stored) {
+        if (stored == null) {
+            return true;
+        }
+        return enabled ? stored.startsWith(activePrefix) : !stored.startsWith(PREFIX);
+    }
+
+    /**
+     * Keyed lookup index of a plaintext value: same PAN / Aadhaar in any spacing or case gives the same bytes.
+     * null if there is nothing to index, or no blind index key is configured.
+     */
+    public byte[] blindIndex(Field field, String plaintext) {
+        if (blindIndexKeys == null) {
+            return null;
+        }
+        String normalized = field == Field.PAN
+                ? NomineeIdentifiers.normalizePan(plaintext)
+                : NomineeIdentifiers.aadhaarDigits(plaintext);
+        if (normalized == null) {
+            return null;
+        }
+        ArrayBlockingQueue<Mac> pool = macs.get(field);
+        Mac mac = pool.poll();
+        try {
+            if (mac == null) {
+                mac = Mac.getInstance(HMAC);
+                mac.init(blindIndexKeys.get(field));
+            }
+            byte[] full = mac.doFinal(normalized.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(full, BLIND_INDEX_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Computing the " + field.column + " blind index failed", e);
+        } finally {
+            if (mac != null) {
+                pool.offer(mac);
+            }
+        }
+    }
+
+    private CipherSlot borrowCipher() {
+        CipherSlot slot = ciphers.poll();
+        if (slot != null) {
+            return slot;
+        }
+        try {
+            return new CipherSlot(Cipher.getInstance(TRANSFORMATION), new SecureRandom());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(TRANSFORMATION + " not available", e);
+        }
+    }
+
+    private void releaseCipher(CipherSlot slot) {
+        // full pool: more threads than slots right now, let the extra instance go
+        ciphers.offer(slot);
+    }
+
+    // ---- keys ----
+
+    private static Map<String, byte[]> parseKeys(String keys) {
+        Map<String, byte[]> parsed = new HashMap<>();
+        for (String entry : keys.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.indexOf(':');
+            String id = colon < 0 ? "" : trimmed.substring(0, colon);
+            if (!KEY_ID.matcher(id).matches()) {
+                throw new IllegalStateException("nominee.encryption.keys: entries are keyId:base64, keyId of "
+                        + "letters, digits, _ and - (got '" + (colon < 0 ? "?" : id) + "')");
+            }
+            if (parsed.put(id, decodeKey("keys[" + id + "]", trimmed.substring(colon + 1))) != null) {
+                throw new IllegalStateException("nominee.encryption.keys: key id '" + id + "' listed twice");
+            }
+        }
+        return parsed;
+    }
+
+    private static byte[] decodeKey(String name, String base64) {
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(base64.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("nominee.encryption." + name + " is not valid base64");
+        }
+        if (key.length != 32) {
+            throw new IllegalStateException("nominee.encryption." + name + " must be 32 bytes, got " + key.length);
+        }
+        return key;
+    }
+
+    private static Map<String, EnumMap<Field, SecretKey>> deriveDataKeys(Map<String, byte[]> masters) {
+        Map<String, EnumMap<Field, SecretKey>> derived = new HashMap<>();
+        masters.forEach((id, master) -> {
+            EnumMap<Field, SecretKey> perField = new EnumMap<>(Field.class);
+            for (Field field : Field.values()) {
+                perField.put(field, new SecretKeySpec(hkdf(master, "nominee/" + field.column + "/aes-gcm"), "AES"));
+            }
+            derived.put(id, perField);
+        });
+        return Map.copyOf(derived);
+    }
+
+    /**
+     * HKDF-SHA256 (RFC 5869) with an empty salt, 32 bytes of output.
+     */
+    static byte[] hkdf(byte[] master, String info) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(new byte[32], HMAC));
+            byte[] prk = mac.doFinal(master);
+            mac.init(new SecretKeySpec(prk, HMAC));
+            mac.update(info.getBytes(StandardCharsets.US_ASCII));
+            mac.update((byte) 1);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC + " not available", e);
+        }
+    }
+}
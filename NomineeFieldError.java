@@ -0,0 +1,8 @@
+package com.loanorigination.dto;
+
+/**
+ * One rejected field of a nominee payload. code is stable for clients to switch on
+ * (too_long, invalid_format, invalid_checksum, out_of_range, invalid_type); message is for humans.
+ */
+public record NomineeFieldError(String field, String code, String message) {
+}
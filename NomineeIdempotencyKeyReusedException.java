@@ -0,0 +1,16 @@
+package com.loanorigination.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An Idempotency-Key that was already used for a different request (other body or If-Match) to the same
+ * endpoint and application. Nothing was executed.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class NomineeIdempotencyKeyReusedException extends RuntimeException {
+
+    public NomineeIdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different request");
+    }
+}
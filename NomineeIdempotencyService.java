@@ -0,0 +1,222 @@
+package com.loanorigination.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanorigination.cache.ReadThroughCache;
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.exception.NomineeIdempotencyKeyReusedException;
+import com.loanorigination.exception.NomineeValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for nominee writes, so client / gateway retries don't run the same write again.
+ *
+ * A key is scoped to method + applicationId. The first request with it executes; its response (status, ETag,
+ * JSON body) is kept for nominee.idempotency.ttl and replayed, with Idempotent-Replayed: true, to every later
+ * request with the same key:
+ * - in memory: a bounded ReadThroughCache (nominee.idempotency.max-entries, oldest evicted first). Duplicates
+ *   arriving while the first is still running wait on it and share its response, no DB work at all;
+ * - in nominee_idempotency_key (db/migration/V7, unless nominee.idempotency.durable=false), written in the
+ *   transaction of the write itself, so a retry that lands on another instance, or after a restart or eviction,
+ *   is answered from there. That instance's duplicates block on the uncommitted row until the first commits.
+ *
+ * Only completed requests are stored: if the write throws (DB down, 412, ...) nothing is kept and a retry
+ * executes again. Reusing a key for a different request (body, If-Match) is rejected with 422.
+ */
+@Service
+public class NomineeIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeIdempotencyService.class);
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+
+    // inserts the key, or takes over an expired one; 0 rows if someone else holds it (after waiting for their commit)
+    private static final String CLAIM_SQL = """
+            INSERT INTO nominee_idempotency_key (scoped_key, fingerprint, expires_at)
+            VALUES (?, ?, now() + ? * interval '1 millisecond')
+            ON CONFLICT (scoped_key) DO UPDATE SET
+                fingerprint = EXCLUDED.fingerprint,
+                expires_at  = EXCLUDED.expires_at,
+                status = NULL, etag = NULL, body = NULL
+            WHERE nominee_idempotency_key.expires_at < now()
+            """;
+
+    private static final String COMPLETE_SQL =
+            "UPDATE nominee_idempotency_key SET status = ?, etag = ?, body = ? WHERE scoped_key = ?";
+
+    private static final String FIND_SQL =
+            "SELECT fingerprint, status, etag, body FROM nominee_idempotency_key WHERE scoped_key = ?";
+
+    private static final RowMapper<StoredResponse> STORED = (rs, i) ->
+            new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3), rs.getString(4));
+
+    /**
+     * What is replayed. fingerprint identifies the request that produced it.
+     */
+    private record StoredResponse(String fingerprint, int status, String etag, String body) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTx;
+    private final ObjectMapper objectMapper;
+    private final NomineeMetrics metrics;
+    private final boolean durable;
+    private final Duration ttl;
+    private final ReadThroughCache<String, StoredResponse> responses;
+
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "nominee-idempotency-cleanup");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public NomineeIdempotencyService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            NomineeMetrics metrics,
+            @Value("${nominee.idempotency.durable:true}") boolean durable,
+            @Value("${nominee.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${nominee.idempotency.max-entries:10000}") int maxEntries
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.durable = durable;
+        this.ttl = ttl;
+        this.responses = new ReadThroughCache<>(maxEntries, ttl, ttl);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCleanup() {
+        if (durable) {
+            cleaner.scheduleWithFixedDelay(this::deleteExpiredQuietly, CLEANUP_INTERVAL.toMillis(),
+                    CLEANUP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * Run write once per key: the first call for (method, applicationId, key) runs it, every other one gets its
+     * response. request: everything the response depends on besides the URL (body, If-Match), to detect key reuse.
+     * Throws NomineeValidationException (400) for a malformed key, NomineeIdempotencyKeyReusedException (422)
+     * if the key was used for a different request.
+     */
+    public ResponseEntity<?> execute(String method, Long applicationId, String key, List<?> request,
+                                     Supplier<ResponseEntity<?>> write) {
+        requireValidKey(key);
+        String fingerprint = fingerprint(request);
+        String[] result = {"replayed_memory"};
+        StoredResponse stored = responses.get(method + " " + applicationId + " " + key, scopedKey -> {
+            result[0] = "executed";
+            return Optional.of(durable ? claimAndRun(scopedKey, fingerprint, write, result) : run(fingerprint, write));
+        }).orElseThrow();
+        if (!stored.fingerprint().equals(fingerprint)) {
+            metrics.idempotentRequest("rejected");
+            throw new NomineeIdempotencyKeyReusedException(key);
+        }
+        metrics.idempotentRequest(result[0]);
+        return toResponse(stored, !result[0].equals("executed"));
+    }
+
+    private StoredResponse claimAndRun(String scopedKey, String fingerprint, Supplier<ResponseEntity<?>> write,
+                                       String[] result) {
+        return writeTx.execute(status -> {
+            if (jdbcTemplate.update(CLAIM_SQL, scopedKey, fingerprint, ttl.toMillis()) == 0) {
+                // claimed and committed by another request (committed rows are always complete)
+                result[0] = "replayed_database";
+                return jdbcTemplate.queryForObject(FIND_SQL, STORED, scopedKey);
+            }
+            // write joins this transaction: its row and the response commit together or not at all
+            StoredResponse response = run(fingerprint, write);
+            jdbcTemplate.update(COMPLETE_SQL, response.status(), response.etag(), response.body(), scopedKey);
+            return response;
+        });
+    }
+
+    private StoredResponse run(String fingerprint, Supplier<ResponseEntity<?>> write) {
+        ResponseEntity<?> response = write.get();
+        Object body = response.getBody();
+        return new StoredResponse(fingerprint, response.getStatusCode().value(), response.getHeaders().getETag(),
+                body == null ? null : toJson(body));
+    }
+
+    private static ResponseEntity<?> toResponse(StoredResponse stored, boolean replayed) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.status());
+        if (stored.etag() != null) {
+            response.eTag(stored.etag());
+        }
+        if (replayed) {
+            response.header(REPLAYED_HEADER, "true");
+        }
+        return stored.body() == null ? response.build()
+                : response.contentType(MediaType.APPLICATION_JSON).body(stored.body());
+    }
+
+    private static void requireValidKey(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH || !key.chars().allMatch(c -> c >= 0x21 && c <= 0x7e)) {
+            throw new NomineeValidationException(List.of(new NomineeFieldError("Idempotency-Key", "invalid_format",
+                    "must be 1 to " + MAX_KEY_LENGTH + " printable ASCII characters")));
+        }
+    }
+
+    private String fingerprint(List<?> request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private void deleteExpiredQuietly() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM nominee_idempotency_key WHERE expires_at < now()");
+            if (deleted > 0) {
+                log.info("Deleted {} expired nominee idempotency keys", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Nominee idempotency key cleanup failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.loanorigination.service;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized forms of nominee PAN / Aadhaar, the input of their blind indexes (NomineeFieldEncryptor.blindIndex):
+ * anything that normalizes the same is found as the same PAN / Aadhaar.
+ */
+public final class NomineeIdentifiers {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
+    private static final Pattern NON_DIGIT = Pattern.compile("[^0-9]");
+
+    private NomineeIdentifiers() {
+    }
+
+    /**
+     * "abcps 1234k" -> "ABCPS1234K"; null for null / blank input.
+     */
+    public static String normalizePan(String pan) {
+        if (pan == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(pan).replaceAll("").toUpperCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Just the digits ("2341 2341 2346" and "2341-2341-2346" -> "234123412346"); null if there are none.
+     */
+    public static String aadhaarDigits(String aadhaar) {
+        if (aadhaar == null) {
+            return null;
+        }
+        String digits = NON_DIGIT.matcher(aadhaar).replaceAll("");
+        return digits.isEmpty() ? null : digits;
+    }
+}
@@ -0,0 +1,16 @@
+package com.loanorigination.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A nominee CSV import couldn't start: one with the same importId is still running, or already
+ * nominee.import.max-concurrent imports are. Nothing was read from the file.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class NomineeImportRunningException extends RuntimeException {
+
+    public NomineeImportRunningException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,591 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeBatchResult;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineeImportRunningException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of partner nominee CSV files (same layout as the CSV export, see NomineeCsv).
+ *
+ * The file is processed as a stream through three stages connected by bounded queues:
+ *
+ *   parse (caller thread) -> map -> write
+ *
+ * The map stage turns records into batch items (applicationId, dates); the field rules (NomineeValidator)
+ * are checked once, by the batch writer, and rows failing them are reported like any other failed row.
+ * Fields and records beyond NomineeCsv's length limits fail the import at that record.
+ * A full queue blocks the stage in front of it, so memory stays flat whatever the file size.
+ * The write stage goes through NomineeDetailsService.upsertNominees (JDBC-batched, one transaction per chunk)
+ * and after every committed chunk records the last record number in a checkpoint file. Posting the same
+ * file again with the same importId skips everything up to that checkpoint; rows are upserts, so replaying
+ * a partially written chunk is harmless. The checkpoint also holds a fingerprint of the file (size and a hash of
+ * its first 64 KiB), and a different file posted under that importId is refused rather than resumed part-way.
+ * A completed import deletes its checkpoint, so the same importId can be used again.
+ *
+ * The map and write stages run on a fixed pool sized for nominee.import.max-concurrent imports; a further import
+ * is turned away (NomineeImportRunningException) rather than queued, since its caller is holding an upload open.
+ * Finished imports stay queryable for nominee.import.retention, and only the latest
+ * nominee.import.max-finished of them are kept.
+ */
+@Service
+public class NomineeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeImportService.class);
+
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int FINGERPRINT_BYTES = 64 * 1024;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final NomineeDetailsService nomineeService;
+    private final Path checkpointDir;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int maxConcurrent;
+    private final Duration retention;
+    private final int maxFinished;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    // two stage threads per running import
+    private final ExecutorService stageExecutor;
+
+    public NomineeImportService(
+            NomineeDetailsService nomineeService,
+            @Value("${nominee.import.checkpoint-dir:${java.io.tmpdir}/nominee-import}") Path checkpointDir,
+            @Value("${nominee.batch.chunk-size:500}") int chunkSize,
+            @Value("${nominee.import.queue-capacity:2000}") int queueCapacity,
+            @Value("${nominee.import.max-concurrent:2}") int maxConcurrent,
+            @Value("${nominee.import.retention:PT1H}") Duration retention,
+            @Value("${nominee.import.max-finished:100}") int maxFinished
+    ) {
+        this.nomineeService = nomineeService;
+        this.checkpointDir = checkpointDir;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrent = maxConcurrent;
+        this.retention = retention;
+        this.maxFinished = maxFinished;
+        this.slots = new Semaphore(maxConcurrent);
+        this.stageExecutor = Executors.newFixedThreadPool(2 * maxConcurrent, r -> {
+            Thread t = new Thread(r, "nominee-import-stage");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stageExecutor.shutdownNow();
+    }
+
+    public static boolean isValidImportId(String importId) {
+        return importId != null && IMPORT_ID.matcher(importId).matches();
+    }
+
+    /**
+     * Progress of a running import, or the final state of one that ran since startup.
+     */
+    public Optional<ImportProgress> getProgress(String importId) {
+        pruneFinished();
+        return Optional.ofNullable(jobs.get(importId)).map(ImportJob::progress);
+    }
+
+    /**
+     * Run an import to completion on the calling thread (plus one map and one write stage on the stage pool).
+     * The header row is read first: a file without one, or without an applicationId column, is rejected with
+     * IllegalArgumentException before anything starts, as is a file that doesn't match the checkpoint left by an
+     * earlier run with this importId. size is the upload's Content-Length, -1 if unknown; it is part of the
+     * fingerprint, so a resume has to be posted the same way. Throws NomineeImportRunningException if an import
+     * with the same id is already running, or nominee.import.max-concurrent imports are.
+     */
+    public ImportProgress importCsv(String importId, InputStream in, long size) throws IOException {
+        if (!isValidImportId(importId)) {
+            throw new IllegalArgumentException("importId must match " + IMPORT_ID.pattern());
+        }
+        BufferedInputStream buffered = new BufferedInputStream(in, FINGERPRINT_BYTES);
+        String fingerprint = fingerprint(buffered, size);
+        NomineeCsv.RecordReader reader = new NomineeCsv.RecordReader(
+                new BufferedReader(new InputStreamReader(buffered, StandardCharsets.UTF_8), 64 * 1024));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty, expected a header row");
+        }
+        int[] columnIndex = columnIndex(header);
+
+        pruneFinished();
+        long resumeAfter = readCheckpoint(importId, fingerprint);
+        ImportJob job = new ImportJob(importId, fingerprint, resumeAfter);
+        if (!slots.tryAcquire()) {
+            throw new NomineeImportRunningException("Already running " + maxConcurrent + " imports, try again later");
+        }
+        ImportJob running = jobs.compute(importId, (id, existing) ->
+                existing != null && existing.state.get() == State.RUNNING ? existing : job);
+        if (running != job) {
+            slots.release();
+            throw new NomineeImportRunningException("Import " + importId + " is already running");
+        }
+        try {
+            if (resumeAfter > 0) {
+                log.info("Resuming nominee import {} after record {}", importId, resumeAfter);
+            }
+            run(job, reader, columnIndex);
+        } finally {
+            job.finishedNanos = System.nanoTime();
+            slots.release();
+        }
+
+        if (job.failure.get() != null) {
+            job.state.set(State.FAILED);
+            log.warn("Nominee import {} stopped at checkpoint {}: {}", importId, job.checkpoint, job.failure.get().toString());
+        } else {
+            job.state.set(State.COMPLETED);
+            deleteCheckpoint(importId);
+            log.info("Nominee import {} done: {}", importId, job.progress());
+        }
+        return job.progress();
+    }
+
+    private void run(ImportJob job, NomineeCsv.RecordReader reader, int[] columnIndex) {
+        Future<?> mapper = stageExecutor.submit(() -> job.runStage(() -> mapStage(job)));
+        Future<?> writer = stageExecutor.submit(() -> job.runStage(() -> writeStage(job)));
+        try {
+            parseStage(job, reader, columnIndex);
+        } catch (IOException | RuntimeException e) {
+            job.fail(e);
+        } finally {
+            job.offer(job.parsed, ParsedRow.END);
+            awaitQuietly(job, mapper);
+            awaitQuietly(job, writer);
+        }
+    }
+
+    /**
+     * Drop finished imports older than nominee.import.retention, then the oldest beyond nominee.import.max-finished.
+     */
+    private void pruneFinished() {
+        long cutoff = System.nanoTime() - retention.toNanos();
+        jobs.values().removeIf(job -> job.isFinished() && job.finishedNanos - cutoff < 0);
+        List<ImportJob> finished = jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparingLong((ImportJob job) -> job.finishedNanos).reversed())
+                .toList();
+        for (ImportJob job : finished.subList(Math.min(maxFinished, finished.size()), finished.size())) {
+            jobs.remove(job.importId, job);
+        }
+    }
+
+    // ---- stages ----
+
+    private void parseStage(ImportJob job, NomineeCsv.RecordReader reader, int[] columnIndex) throws IOException {
+        long stageStart = System.nanoTime();
+        List<String> fields;
+        while (!job.isAborted() && (fields = reader.next()) != null) {
+            long record = reader.recordNumber();
+            if (record <= job.resumeAfter) {
+                continue;
+            }
+            ParsedRow row = new ParsedRow(record, fields, columnIndex);
+            job.recordsRead.increment();
+            job.parseNanos.add(System.nanoTime() - stageStart);
+            job.offer(job.parsed, row);
+            stageStart = System.nanoTime();
+        }
+    }
+
+    private void mapStage(ImportJob job) {
+        for (;;) {
+            ParsedRow row = job.take(job.parsed);
+            if (row == null || row == ParsedRow.END) {
+                job.offer(job.mapped, MappedRow.END);
+                return;
+            }
+            long start = System.nanoTime();
+            MappedRow mapped;
+            try {
+                mapped = new MappedRow(row.record, toItem(row), null);
+            } catch (IllegalArgumentException e) {
+                mapped = new MappedRow(row.record, null, e.getMessage());
+            }
+            job.mapNanos.add(System.nanoTime() - start);
+            job.offer(job.mapped, mapped);
+        }
+    }
+
+    private void writeStage(ImportJob job) {
+        List<NomineeBatchItem> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRecords = new ArrayList<>(chunkSize);
+        long lastRecord = job.resumeAfter;
+        for (;;) {
+            MappedRow row = job.take(job.mapped);
+            if (row == null) {
+                return;
+            }
+            if (row == MappedRow.END) {
+                flush(job, chunk, chunkRecords, lastRecord);
+                return;
+            }
+            lastRecord = row.record;
+            if (row.error != null) {
+                job.recordError(row.record, row.error);
+            } else {
+                chunk.add(row.item);
+                chunkRecords.add(row.record);
+            }
+            if (chunk.size() >= chunkSize) {
+                flush(job, chunk, chunkRecords, lastRecord);
+            }
+        }
+    }
+
+    private void flush(ImportJob job, List<NomineeBatchItem> chunk, List<Long> chunkRecords, long lastRecord) {
+        if (!chunk.isEmpty()) {
+            long start = System.nanoTime();
+            NomineeBatchResult result = nomineeService.upsertNominees(chunk);
+            job.writeNanos.add(System.nanoTime() - start);
+            for (NomineeBatchResult.ItemResult r : result.items()) {
+                if (r.success()) {
+                    job.recordsWritten.increment();
+                } else {
+                    job.recordError(chunkRecords.get(r.index()), r.error());
+                }
+            }
+            chunk.clear();
+            chunkRecords.clear();
+        }
+        if (lastRecord > job.checkpoint) {
+            writeCheckpoint(job.importId, job.fingerprint, lastRecord);
+            job.checkpoint = lastRecord;
+        }
+        job.maybeLogProgress();
+    }
+
+    private NomineeBatchItem toItem(ParsedRow row) {
+        String applicationId = row.get("applicationId");
+        if (applicationId == null) {
+            throw new IllegalArgumentException("applicationId is required");
+        }
+        long id;
+        try {
+            id = Long.parseLong(applicationId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("applicationId is not a number: " + applicationId);
+        }
+        if (id <= 0) {
+            throw new IllegalArgumentException("applicationId must be positive");
+        }
+
+        NomineeDetails n = new NomineeDetails();
+        n.setNomineeName(row.get("nomineeName"));
+        n.setRelationship(row.get("relationship"));
+        String dob = row.get("nomineeDob");
+        if (dob != null) {
+            try {
+                n.setNomineeDob(LocalDate.parse(dob));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("nomineeDob is not yyyy-MM-dd: " + dob);
+            }
+        }
+        n.setNomineeAddress(row.get("nomineeAddress"));
+        n.setNomineePhone(row.get("nomineePhone"));
+        n.setNomineeEmail(row.get("nomineeEmail"));
+        n.setNomineeAadhaar(row.get("nomineeAadhaar"));
+        n.setNomineePan(row.get("nomineePan"));
+        return new NomineeBatchItem(id, n);
+    }
+
+    private static int[] columnIndex(List<String> header) {
+        int[] index = new int[NomineeCsv.COLUMNS.size()];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = header.indexOf(NomineeCsv.COLUMNS.get(i));
+        }
+        if (index[NomineeCsv.COLUMNS.indexOf("applicationId")] < 0) {
+            throw new IllegalArgumentException("CSV header has no applicationId column");
+        }
+        return index;
+    }
+
+    // ---- checkpoints ----
+
+    private Path checkpointFile(String importId) {
+        return checkpointDir.resolve(importId + ".checkpoint");
+    }
+
+    /**
+     * Size and SHA-256 of the first FINGERPRINT_BYTES (header and first rows), read ahead and reset.
+     */
+    private static String fingerprint(BufferedInputStream in, long size) throws IOException {
+        in.mark(FINGERPRINT_BYTES);
+        byte[] head = in.readNBytes(FINGERPRINT_BYTES);
+        in.reset();
+        try {
+            return size + " " + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(head));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checkpoint file: the file fingerprint on the first line, the last committed record on the second.
+     */
+    private long readCheckpoint(String importId, String fingerprint) throws IOException {
+        Path file = checkpointFile(importId);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        List<String> lines = Files.readAllLines(file);
+        if (lines.size() != 2 || !lines.get(0).equals(fingerprint)) {
+            throw new IllegalArgumentException("Import " + importId + " has a checkpoint for a different file "
+                    + "(size or first 64 KiB differ); post the original file to resume it, or use a new importId");
+        }
+        return Long.parseLong(lines.get(1).trim());
+    }
+
+    private void writeCheckpoint(String importId, String fingerprint, long record) {
+        try {
+            Files.createDirectories(checkpointDir);
+            Path tmp = checkpointDir.resolve(importId + ".checkpoint.tmp");
+            Files.writeString(tmp, fingerprint + "\n" + record);
+            Files.move(tmp, checkpointFile(importId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write checkpoint for import " + importId, e);
+        }
+    }
+
+    private void deleteCheckpoint(String importId) {
+        try {
+            Files.deleteIfExists(checkpointFile(importId));
+        } catch (IOException e) {
+            log.warn("Could not delete checkpoint of finished import {}: {}", importId, e.toString());
+        }
+    }
+
+    private static void awaitQuietly(ImportJob job, Future<?> stage) {
+        try {
+            stage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(e);
+        } catch (ExecutionException e) {
+            // runStage already recorded it
+            job.fail(e.getCause());
+        }
+    }
+
+    // ---- job state ----
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    /**
+     * Snapshot of an import. Stage latencies are average busy time per row (queue waits excluded),
+     * so the slowest stage is the bottleneck.
+     */
+    public record ImportProgress(
+            String importId,
+            State state,
+            long resumedAfterRecord,
+            long checkpointRecord,
+            long recordsRead,
+            long recordsWritten,
+            long recordsFailed,
+            double rowsPerSecond,
+            double parseMicrosPerRow,
+            double mapMicrosPerRow,
+            double writeMicrosPerRow,
+            List<String> errors,
+            String failure
+    ) {
+    }
+
+    private record ParsedRow(long record, List<String> fields, int[] columnIndex) {
+        static final ParsedRow END = new ParsedRow(-1, List.of(), new int[0]);
+
+        String get(String column) {
+            int i = columnIndex[NomineeCsv.COLUMNS.indexOf(column)];
+            if (i < 0 || i >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(i).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private record MappedRow(long record, NomineeBatchItem item, String error) {
+        static final MappedRow END = new MappedRow(-1, null, null);
+    }
+
+    private final class ImportJob {
+        final String importId;
+        final String fingerprint;
+        final long resumeAfter;
+        final long startNanos = System.nanoTime();
+        final AtomicReference<State> state = new AtomicReference<>(State.RUNNING);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final BlockingQueue<ParsedRow> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        final BlockingQueue<MappedRow> mapped = new ArrayBlockingQueue<>(queueCapacity);
+
+        final LongAdder recordsRead = new LongAdder();
+        final LongAdder recordsWritten = new LongAdder();
+        final LongAdder recordsFailed = new LongAdder();
+        final LongAdder parseNanos = new LongAdder();
+        final LongAdder mapNanos = new LongAdder();
+        final LongAdder writeNanos = new LongAdder();
+        final List<String> errors = new CopyOnWriteArrayList<>();
+
+        volatile long checkpoint;
+        volatile long finishedNanos;
+        long lastProgressLog = System.nanoTime();
+
+        ImportJob(String importId, String fingerprint, long resumeAfter) {
+            this.importId = importId;
+            this.fingerprint = fingerprint;
+            this.resumeAfter = resumeAfter;
+            this.checkpoint = resumeAfter;
+        }
+
+        boolean isFinished() {
+            return state.get() != State.RUNNING;
+        }
+
+        boolean isAborted() {
+            return failure.get() != null;
+        }
+
+        void fail(Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+
+        void runStage(Runnable stage) {
+            try {
+                stage.run();
+            } catch (RuntimeException | Error e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Blocking put that gives up once the import has failed, so no stage waits forever on a dead neighbour.
+         */
+        <T> void offer(BlockingQueue<T> queue, T item) {
+            try {
+                while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    if (isAborted()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+
+        /**
+         * Blocking take; null once the import has failed.
+         */
+        <T> T take(BlockingQueue<T> queue) {
+            try {
+                for (;;) {
+                    T item = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (item != null) {
+                        return item;
+                    }
+                    if (isAborted()) {
+                        return null;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                return null;
+            }
+        }
+
+        void recordError(long record, String error) {
+            recordsFailed.increment();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("record " + record + ": " + error);
+            }
+        }
+
+        void maybeLogProgress() {
+            long now = System.nanoTime();
+            if (now - lastProgressLog >= PROGRESS_LOG_INTERVAL_NANOS) {
+                lastProgressLog = now;
+                ImportProgress p = progress();
+                log.info("Nominee import {}: {} read, {} written, {} failed, {} rows/s (parse {}us, map {}us, write {}us per row)",
+                        importId, p.recordsRead(), p.recordsWritten(), p.recordsFailed(), Math.round(p.rowsPerSecond()),
+                        Math.round(p.parseMicrosPerRow()), Math.round(p.mapMicrosPerRow()), Math.round(p.writeMicrosPerRow()));
+            }
+        }
+
+        ImportProgress progress() {
+            long read = recordsRead.sum();
+            long written = recordsWritten.sum();
+            long failed = recordsFailed.sum();
+            long end = isFinished() ? finishedNanos : System.nanoTime();
+            double elapsedSeconds = (end - startNanos) / 1e9;
+            Throwable f = failure.get();
+            return new ImportProgress(
+                    importId,
+                    state.get(),
+                    resumeAfter,
+                    checkpoint,
+                    read,
+                    written,
+                    failed,
+                    elapsedSeconds > 0 ? (written + failed) / elapsedSeconds : 0,
+                    perRowMicros(parseNanos, read),
+                    perRowMicros(mapNanos, read),
+                    perRowMicros(writeNanos, written + failed),
+                    List.copyOf(errors),
+                    f == null ? null : f.toString()
+            );
+        }
+
+        private double perRowMicros(LongAdder nanos, long rows) {
+            return rows == 0 ? 0 : nanos.sum() / 1_000.0 / rows;
+        }
+    }
+}
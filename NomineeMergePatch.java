@@ -0,0 +1,139 @@
+package com.loanorigination.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineeValidationException;
+import com.loanorigination.repository.NomineeColumn;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A JSON merge patch (RFC 7396) of the nominee resource: the members present are set, null clears a field,
+ * absent members stay as they are. Members that aren't writable nominee fields (nomineeId, ...) are ignored,
+ * same as the POST body.
+ *
+ * values() holds just the patched fields, the rest null — since every field is optional and checked on its own,
+ * NomineeValidator on it validates exactly what the patch changes.
+ */
+public final class NomineeMergePatch {
+
+    private final Set<NomineeColumn> fields;
+    private final NomineeDetails values;
+
+    private NomineeMergePatch(Set<NomineeColumn> fields, NomineeDetails values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Throws NomineeValidationException (400) if the body isn't an object or a member has the wrong type: every
+     * field, nomineeDob included, takes a JSON string or null.
+     */
+    public static NomineeMergePatch parse(JsonNode body) {
+        if (body == null || !body.isObject()) {
+            throw new NomineeValidationException(List.of(
+                    new NomineeFieldError("", "invalid_type", "merge patch must be a JSON object")));
+        }
+        Set<NomineeColumn> fields = EnumSet.noneOf(NomineeColumn.class);
+        NomineeDetails values = new NomineeDetails();
+        List<NomineeFieldError> errors = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> member : body.properties()) {
+            NomineeColumn column = NomineeColumn.byProperty(member.getKey());
+            if (column == null) {
+                continue;
+            }
+            JsonNode value = member.getValue();
+            // no coercion: 98765 or true would otherwise be stored as "98765" / "true"
+            if (!value.isTextual() && !value.isNull()) {
+                errors.add(new NomineeFieldError(column.property(), "invalid_type", "must be a string or null"));
+                continue;
+            }
+            String text = value.isNull() ? null : value.textValue();
+            if (column == NomineeColumn.DOB) {
+                try {
+                    values.setNomineeDob(text == null ? null : LocalDate.parse(text));
+                } catch (DateTimeParseException e) {
+                    errors.add(new NomineeFieldError(column.property(), "invalid_format", "must be a date (yyyy-MM-dd)"));
+                    continue;
+                }
+            } else {
+                set(values, column, text);
+            }
+            fields.add(column);
+        }
+        if (!errors.isEmpty()) {
+            throw new NomineeValidationException(errors);
+        }
+        return new NomineeMergePatch(fields, values);
+    }
+
+    public NomineeDetails values() {
+        return values;
+    }
+
+    /**
+     * The current nominee with the patch applied (a new object, current is not modified).
+     */
+    public NomineeDetails applyTo(NomineeView current) {
+        NomineeDetails merged = copyOf(current);
+        for (NomineeColumn column : fields) {
+            if (column == NomineeColumn.DOB) {
+                merged.setNomineeDob(values.getNomineeDob());
+            } else {
+                set(merged, column, (String) column.get(values));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Patched fields whose value differs from current — the columns that actually need writing.
+     */
+    public Set<NomineeColumn> changedFrom(NomineeView current) {
+        NomineeDetails before = copyOf(current);
+        Set<NomineeColumn> changed = EnumSet.noneOf(NomineeColumn.class);
+        for (NomineeColumn column : fields) {
+            if (!Objects.equals(column.get(values), column.get(before))) {
+                changed.add(column);
+            }
+        }
+        return changed;
+    }
+
+    private static NomineeDetails copyOf(NomineeView v) {
+        NomineeDetails n = new NomineeDetails();
+        n.setNomineeId(v.nomineeId());
+        n.setNomineeName(v.nomineeName());
+        n.setRelationship(v.relationship());
+        n.setNomineeDob(v.nomineeDob());
+        n.setNomineeAddress(v.nomineeAddress());
+        n.setNomineePhone(v.nomineePhone());
+        n.setNomineeEmail(v.nomineeEmail());
+        n.setNomineeAadhaar(v.nomineeAadhaar());
+        n.setNomineePan(v.nomineePan());
+        n.setVersion(v.version());
+        return n;
+    }
+
+    private static void set(NomineeDetails n, NomineeColumn column, String value) {
+        switch (column) {
+            case NAME -> n.setNomineeName(value);
+            case RELATIONSHIP -> n.setRelationship(value);
+            case ADDRESS -> n.setNomineeAddress(value);
+            case PHONE -> n.setNomineePhone(value);
+            case EMAIL -> n.setNomineeEmail(value);
+            case AADHAAR -> n.setNomineeAadhaar(value);
+            case PAN -> n.setNomineePan(value);
+            case DOB -> throw new IllegalArgumentException("nomineeDob is a date");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.loanorigination.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Nominee write metrics that Spring Boot can't derive on its own. Endpoint and repository timers come from the
+ * auto-configured http.server.requests / spring.data.repository.invocations (see NomineeMetricsConfig).
+ *
+ * Tags are fixed enums only — never applicationId or anything else per-request.
+ */
+@Component
+public class NomineeMetrics {
+
+    public static final String UPSERTS = "nominee.upserts";
+    public static final String BATCH_CHUNKS = "nominee.batch.chunks";
+    public static final String DUPLICATE_CHECKS = "nominee.duplicate.checks";
+    public static final String UPSERTS_COALESCED = "nominee.upserts.coalesced";
+    public static final String PATCHES = "nominee.patches";
+    public static final String OUTBOX_PUBLISHED = "nominee.outbox.published";
+    public static final String EVENT_SUBSCRIBERS = "nominee.events.subscribers";
+    public static final String IDEMPOTENT_REQUESTS = "nominee.idempotent.requests";
+
+    private final Counter apiCreated;
+    private final Counter apiUpdated;
+    private final Counter batchCreated;
+    private final Counter batchUpdated;
+    private final Timer batchChunks;
+    private final Counter coalesced;
+    private final Counter patchesUpdated;
+    private final Counter patchesUnchanged;
+    private final Counter outboxPublished;
+    // "pan filtered", "aadhaar found", ...
+    private final Map<String, Counter> duplicateChecks = new HashMap<>();
+    private final Map<String, Counter> idempotentRequests = new HashMap<>();
+    private final MeterRegistry registry;
+
+    public NomineeMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.apiCreated = upserts(registry, "api", "created");
+        this.apiUpdated = upserts(registry, "api", "updated");
+        this.batchCreated = upserts(registry, "batch", "created");
+        this.batchUpdated = upserts(registry, "batch", "updated");
+        this.batchChunks = Timer.builder(BATCH_CHUNKS)
+                .description("Time to write one chunk of a nominee batch (JDBC batch, one transaction)")
+                .register(registry);
+        this.coalesced = Counter.builder(UPSERTS_COALESCED)
+                .description("Saves merged into another save of the same application (DB writes avoided), see NomineeUpsertCoalescer")
+                .register(registry);
+        this.patchesUpdated = patches(registry, "updated");
+        this.patchesUnchanged = patches(registry, "unchanged");
+        this.outboxPublished = Counter.builder(OUTBOX_PUBLISHED)
+                .description("Nominee change events published from the outbox by this instance, see NomineeOutboxRelay")
+                .register(registry);
+        for (String key : List.of("pan", "aadhaar")) {
+            for (String result : List.of("filtered", "found", "not_found")) {
+                duplicateChecks.put(key + ' ' + result, duplicateChecks(registry, key, result));
+            }
+        }
+        for (String result : List.of("executed", "replayed_memory", "replayed_database", "rejected")) {
+            idempotentRequests.put(result, Counter.builder(IDEMPOTENT_REQUESTS)
+                    .description("Nominee writes with an Idempotency-Key by outcome; replayed_* are absorbed retries")
+                    .tag("result", result)
+                    .register(registry));
+        }
+    }
+
+    private static Counter duplicateChecks(MeterRegistry registry, String key, String result) {
+        return Counter.builder(DUPLICATE_CHECKS)
+                .description("PAN / Aadhaar duplicate lookups by outcome")
+                .tag("key", key)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter patches(MeterRegistry registry, String result) {
+        return Counter.builder(PATCHES)
+                .description("Nominee merge patches, by whether any column changed (unchanged ones skip the write)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter upserts(MeterRegistry registry, String source, String result) {
+        return Counter.builder(UPSERTS)
+                .description("Nominee upserts, by whether the row was inserted or an existing one updated")
+                .tag("source", source)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public void upserted(boolean created) {
+        (created ? apiCreated : apiUpdated).increment();
+    }
+
+    public void batchUpserted(int created, int updated) {
+        batchCreated.increment(created);
+        batchUpdated.increment(updated);
+    }
+
+    public void patched(boolean changed) {
+        (changed ? patchesUpdated : patchesUnchanged).increment();
+    }
+
+    public void upsertsCoalesced(int merged) {
+        if (merged > 0) {
+            coalesced.increment(merged);
+        }
+    }
+
+    public void outboxPublished(int events) {
+        outboxPublished.increment(events);
+    }
+
+    public void eventSubscribers(Supplier<Number> count) {
+        Gauge.builder(EVENT_SUBSCRIBERS, count)
+                .description("Open nominee change streams (SSE) on this instance")
+                .register(registry);
+    }
+
+    public Timer batchChunks() {
+        return batchChunks;
+    }
+
+    /**
+     * One write sent with an Idempotency-Key. result: executed, replayed_memory / replayed_database (a retry
+     * answered without executing — waited on the first or read its stored response), or rejected (key reused
+     * for a different request).
+     */
+    public void idempotentRequest(String result) {
+        Counter counter = idempotentRequests.get(result);
+        if (counter == null) {
+            throw new IllegalArgumentException("Unknown idempotent request result " + result);
+        }
+        counter.increment();
+    }
+
+    /**
+     * One PAN / Aadhaar duplicate lookup. result: filtered (Bloom filter said no, no query),
+     * found, or not_found (queried for nothing — a Bloom false positive, or the filter wasn't built yet).
+     */
+    public void duplicateCheck(String key, String result) {
+        Counter counter = duplicateChecks.get(key + ' ' + result);
+        if (counter == null) {
+            throw new IllegalArgumentException("Unknown duplicate check " + key + " / " + result);
+        }
+        counter.increment();
+    }
+}
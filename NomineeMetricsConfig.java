@@ -0,0 +1,164 @@
+package com.loanorigination.config;
+
+import com.loanorigination.cache.ReadThroughCache;
+import com.loanorigination.service.NomineeDetailsService;
+import com.loanorigination.service.NomineeMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metrics for the nominee service. Everything ends up in the Micrometer registry and is scraped from
+ * /api/internal/metrics (NomineeMetricsController, Prometheus text format).
+ *
+ * - per-endpoint latency: Spring Boot's http.server.requests (tagged by URI template), with histograms on
+ * - per-repository-method latency: spring.data.repository.invocations (repository + method tags), histograms on
+ * - transaction duration: nominee.transactions (NomineeTransactionMetrics)
+ * - upsert created vs updated: nominee.upserts (NomineeMetrics)
+ * - Hibernate statistics: nominee.hibernate.*, plus statements per request in nominee.http.db.statements
+ * - the nominee read cache: cache.* with cache=nominee
+ */
+@Configuration
+public class NomineeMetricsConfig {
+
+    // meters that get percentile histograms (so p99 can be aggregated across instances)
+    private static final Set<String> HISTOGRAM_METERS = Set.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            NomineeTransactionMetrics.METRIC,
+            NomineeMetrics.BATCH_CHUNKS,
+            NomineeStatementCountFilter.METRIC
+    );
+
+    @Bean
+    public MeterFilter nomineeHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HISTOGRAM_METERS.contains(id.getName())) {
+                    return config;
+                }
+                DistributionStatisticConfig.Builder histogram = DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true);
+                if (id.getType() == Meter.Type.TIMER) {
+                    histogram.minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                            .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos());
+                }
+                return histogram.build().merge(config);
+            }
+        };
+    }
+
+    @Bean
+    public NomineeTransactionMetrics nomineeTransactionMetrics(MeterRegistry registry) {
+        return new NomineeTransactionMetrics(registry);
+    }
+
+    @Bean
+    public NomineeStatementCountFilter nomineeStatementCountFilter(MeterRegistry registry) {
+        return new NomineeStatementCountFilter(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<NomineeStatementCountFilter> nomineeStatementCountFilterRegistration(
+            NomineeStatementCountFilter filter) {
+        FilterRegistrationBean<NomineeStatementCountFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/applications/*", "/api/nominees/*");
+        return registration;
+    }
+
+    /**
+     * Turns on Hibernate's statistics (off in Hibernate by default) unless nominee.metrics.hibernate-statistics=false.
+     * Statement counting per request doesn't depend on them and stays on either way.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer nomineeHibernateMetricsCustomizer(
+            NomineeStatementCountFilter statementCounter,
+            @Value("${nominee.metrics.hibernate-statistics:true}") boolean statistics
+    ) {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+        };
+    }
+
+    @Bean
+    public MeterBinder nomineeHibernateStatistics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            if (!stats.isStatisticsEnabled()) {
+                return;
+            }
+            hibernateCounter(registry, stats, "nominee.hibernate.statements", "JDBC statements prepared",
+                    Statistics::getPrepareStatementCount);
+            hibernateCounter(registry, stats, "nominee.hibernate.queries", "HQL/native queries executed",
+                    Statistics::getQueryExecutionCount);
+            hibernateCounter(registry, stats, "nominee.hibernate.entity.loads", "Entities loaded",
+                    Statistics::getEntityLoadCount);
+            hibernateCounter(registry, stats, "nominee.hibernate.entity.fetches", "Entities fetched lazily",
+                    Statistics::getEntityFetchCount);
+            hibernateCounter(registry, stats, "nominee.hibernate.flushes", "Session flushes",
+                    Statistics::getFlushCount);
+            hibernateCounter(registry, stats, "nominee.hibernate.sessions.opened", "Sessions opened",
+                    Statistics::getSessionOpenCount);
+            Gauge.builder("nominee.hibernate.query.max.time", stats, Statistics::getQueryExecutionMaxTime)
+                    .description("Slowest query so far")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    private static void hibernateCounter(MeterRegistry registry, Statistics stats, String name, String description,
+                                         ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, stats, count).description(description).register(registry);
+    }
+
+    @Bean
+    public MeterBinder nomineeCacheMetrics(NomineeDetailsService nomineeService) {
+        return registry -> {
+            String cache = "nominee";
+            FunctionCounter.builder("cache.gets", nomineeService, s -> s.getCacheStats().hitCount())
+                    .tags("cache", cache, "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", nomineeService, s -> s.getCacheStats().missCount())
+                    .tags("cache", cache, "result", "miss").register(registry);
+            // waited for another request's load: not a hit, but no DB read of its own either
+            FunctionCounter.builder("cache.gets", nomineeService, s -> s.getCacheStats().coalescedCount())
+                    .tags("cache", cache, "result", "coalesced").register(registry);
+            FunctionCounter.builder("cache.evictions", nomineeService, s -> s.getCacheStats().evictionCount())
+                    .tags("cache", cache).register(registry);
+            FunctionCounter.builder("cache.loads", nomineeService, s -> s.getCacheStats().loadSuccessCount())
+                    .tags("cache", cache, "result", "success").register(registry);
+            FunctionCounter.builder("cache.loads", nomineeService, s -> s.getCacheStats().loadFailureCount())
+                    .tags("cache", cache, "result", "failure").register(registry);
+            Gauge.builder("cache.size", nomineeService, s -> s.getCacheStats().size())
+                    .tags("cache", cache).register(registry);
+            FunctionTimer.builder("cache.load.duration", nomineeService,
+                            s -> loads(s.getCacheStats()), s -> s.getCacheStats().totalLoadTimeNanos(), TimeUnit.NANOSECONDS)
+                    .description("Time spent loading nominees into the cache (DB reads on a miss)")
+                    .tags("cache", cache).register(registry);
+        };
+    }
+
+    private static long loads(ReadThroughCache.CacheStats stats) {
+        return stats.loadSuccessCount() + stats.loadFailureCount();
+    }
+}
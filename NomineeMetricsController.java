@@ -0,0 +1,38 @@
+package com.loanorigination.controller;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Prometheus scrape endpoint, next to the other internal endpoints so it doesn't depend on
+ * which actuator endpoints a deployment happens to expose.
+ */
+@RestController
+@RequestMapping("/api/internal/metrics")
+public class NomineeMetricsController {
+
+    private final ObjectProvider<PrometheusMeterRegistry> prometheusRegistry;
+
+    public NomineeMetricsController(ObjectProvider<PrometheusMeterRegistry> prometheusRegistry) {
+        this.prometheusRegistry = prometheusRegistry;
+    }
+
+    @Operation(summary = "All service metrics in Prometheus text format")
+    @GetMapping
+    public ResponseEntity<String> scrape() {
+        PrometheusMeterRegistry registry = prometheusRegistry.getIfAvailable();
+        if (registry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, TextFormat.CONTENT_TYPE_004)
+                .body(registry.scrape());
+    }
+}
@@ -0,0 +1,190 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeChangeEvent;
+import com.loanorigination.repository.NomineeOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nominee change events, transactional outbox style: writers record() an event in the transaction of the change
+ * (nominee_outbox, db/migration/V6), and this relay drains the table in the background.
+ *
+ * Each pass, on one thread:
+ * 1. publish — number committed, unpublished rows in batches of nominee.outbox.batch-size (one instance at a time,
+ *    see NomineeOutboxRepository.publishPending);
+ * 2. fan out — read everything published since the last pass (by any instance) and hand it to
+ *    NomineeDuplicateCheckService (keeps its Bloom filters complete) and NomineeChangeSubscriptions, which pushes
+ *    it to this instance's SSE clients.
+ *
+ * A pass runs right after every local commit that recorded an event and otherwise every
+ * nominee.outbox.poll-interval, which is how events written by other instances get here. That poll is one
+ * indexed query per instance, however many clients are listening. Published rows are deleted after
+ * nominee.outbox.retention; a feed consumer that falls further behind than that misses events.
+ */
+@Service
+public class NomineeOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeOutboxRelay.class);
+
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+
+    private final NomineeOutboxRepository outbox;
+    private final NomineeChangeSubscriptions subscriptions;
+    private final NomineeDuplicateCheckService duplicateCheck;
+    private final NomineeMetrics metrics;
+    private final TransactionTemplate publishTx;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "nominee-outbox-relay");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean passQueued = new AtomicBoolean();
+
+    // only touched on the relay thread
+    private long lastDispatched = -1;
+    private long nextCleanup = System.nanoTime();
+
+    public NomineeOutboxRelay(
+            NomineeOutboxRepository outbox,
+            NomineeChangeSubscriptions subscriptions,
+            NomineeDuplicateCheckService duplicateCheck,
+            NomineeMetrics metrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${nominee.outbox.batch-size:500}") int batchSize,
+            @Value("${nominee.outbox.poll-interval:PT1S}") Duration pollInterval,
+            @Value("${nominee.outbox.retention:P7D}") Duration retention
+    ) {
+        this.outbox = outbox;
+        this.subscriptions = subscriptions;
+        this.duplicateCheck = duplicateCheck;
+        this.metrics = metrics;
+        this.publishTx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelaying() {
+        relay.scheduleWithFixedDelay(this::passQuietly, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        relay.shutdownNow();
+    }
+
+    /**
+     * Record that the application's nominee changed. Joins the caller's transaction (the event only exists if it
+     * commits) and triggers a relay pass after the commit.
+     */
+    public void record(Long applicationId, NomineeChangeEvent.Type type) {
+        outbox.append(applicationId, type);
+        passAfterCommit();
+    }
+
+    public void recordAll(List<Long> applicationIds, NomineeChangeEvent.Type type) {
+        if (applicationIds.isEmpty()) {
+            return;
+        }
+        outbox.appendAll(applicationIds, type);
+        passAfterCommit();
+    }
+
+    private void passAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    passSoon();
+                }
+            });
+        } else {
+            passSoon();
+        }
+    }
+
+    /**
+     * Run a pass now rather than at the next poll, e.g. after an event was committed outside record()
+     * (NomineeReactiveRepository writes its events in the same statement as the change).
+     */
+    public void passSoon() {
+        // a queued pass will see this commit too, no need for another one
+        if (passQueued.compareAndSet(false, true)) {
+            try {
+                relay.execute(this::passQuietly);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                passQueued.set(false);
+            }
+        }
+    }
+
+    private void passQuietly() {
+        passQueued.set(false);
+        try {
+            pass();
+        } catch (Exception e) {
+            // the events stay in the table, the next pass picks them up
+            log.warn("Nominee outbox relay pass failed: {}", e.getMessage());
+        }
+    }
+
+    private void pass() {
+        if (lastDispatched < 0) {
+            // this instance's clients only get what is published from now on (SSE replay covers reconnects)
+            lastDispatched = outbox.lastPublishedId();
+        }
+        int published;
+        do {
+            Integer n = publishTx.execute(status -> outbox.publishPending(batchSize));
+            published = n == null ? -1 : n;
+            if (published > 0) {
+                metrics.outboxPublished(published);
+            }
+        } while (published == batchSize);
+
+        List<NomineeChangeEvent> events;
+        do {
+            events = outbox.findPublishedAfter(lastDispatched, batchSize);
+            if (!events.isEmpty()) {
+                // first, so a failure here leaves the cursor where it was (SSE clients skip what they already got)
+                duplicateCheck.changed(events);
+                subscriptions.dispatch(events);
+                lastDispatched = events.get(events.size() - 1).id();
+            }
+        } while (events.size() == batchSize);
+        duplicateCheck.caughtUp();
+
+        long now = System.nanoTime();
+        if (now - nextCleanup >= 0) {
+            nextCleanup = now + CLEANUP_INTERVAL.toNanos();
+            int deleted = outbox.deletePublishedBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Deleted {} nominee outbox events older than {}", deleted, retention);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.loanorigination.repository;
+
+import com.loanorigination.dto.NomineeChangeEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * SQL for the nominee_outbox table (db/migration/V6). Plain JDBC on the application DataSource, so append joins
+ * whatever transaction the caller has open — the JPA one of NomineeDetailsService included.
+ */
+@Repository
+public class NomineeOutboxRepository {
+
+    // any constant works, it only has to be the same for every instance
+    private static final long PUBLISH_LOCK = 0x6e6f6d696e656531L;
+
+    private static final String APPEND_SQL = "INSERT INTO nominee_outbox (application_id, event_type) VALUES (?, ?)";
+
+    // the inner ORDER BY makes nextval number the rows in event_id order
+    private static final String PUBLISH_SQL = """
+            UPDATE nominee_outbox o SET published_seq = n.seq, published_at = now()
+            FROM (SELECT event_id, nextval('nominee_outbox_published_seq') AS seq
+                  FROM (SELECT event_id FROM nominee_outbox WHERE published_seq IS NULL
+                        ORDER BY event_id LIMIT ?) pending) n
+            WHERE o.event_id = n.event_id
+            """;
+
+    private static final String SELECT_PUBLISHED = "SELECT published_seq, application_id, event_type, created_at "
+            + "FROM nominee_outbox ";
+
+    private static final RowMapper<NomineeChangeEvent> EVENT = (rs, i) -> new NomineeChangeEvent(
+            rs.getLong(1),
+            rs.getLong(2),
+            NomineeChangeEvent.Type.valueOf(rs.getString(3)),
+            rs.getTimestamp(4).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NomineeOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(Long applicationId, NomineeChangeEvent.Type type) {
+        jdbcTemplate.update(APPEND_SQL, applicationId, type.name());
+    }
+
+    public void appendAll(List<Long> applicationIds, NomineeChangeEvent.Type type) {
+        jdbcTemplate.batchUpdate(APPEND_SQL, applicationIds, applicationIds.size(), (ps, applicationId) -> {
+            ps.setLong(1, applicationId);
+            ps.setString(2, type.name());
+        });
+    }
+
+    /**
+     * Number up to limit committed, unpublished events. Must run in a transaction: the advisory lock is held to its
+     * end, so no other instance publishes until these numbers are committed. Returns -1 if another instance holds
+     * the lock right now (it will publish these rows), otherwise how many rows were published.
+     */
+    public int publishPending(int limit) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, PUBLISH_LOCK);
+        if (!Boolean.TRUE.equals(locked)) {
+            return -1;
+        }
+        return jdbcTemplate.update(PUBLISH_SQL, limit);
+    }
+
+    public List<NomineeChangeEvent> findPublishedAfter(long after, int limit) {
+        return jdbcTemplate.query(SELECT_PUBLISHED + "WHERE published_seq > ? ORDER BY published_seq LIMIT ?",
+                EVENT, after, limit);
+    }
+
+    public List<NomineeChangeEvent> findPublishedAfter(Long applicationId, long after, int limit) {
+        return jdbcTemplate.query(SELECT_PUBLISHED
+                        + "WHERE application_id = ? AND published_seq > ? ORDER BY published_seq LIMIT ?",
+                EVENT, applicationId, after, limit);
+    }
+
+    public long lastPublishedId() {
+        Long last = jdbcTemplate.queryForObject("SELECT max(published_seq) FROM nominee_outbox", Long.class);
+        return last == null ? 0 : last;
+    }
+
+    public int deletePublishedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM nominee_outbox WHERE published_at < ?", Timestamp.from(cutoff));
+    }
+}
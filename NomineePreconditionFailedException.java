@@ -0,0 +1,16 @@
+package com.loanorigination.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * If-Match on a nominee write didn't match the current representation
+ * (someone else saved in between, or there is no nominee yet).
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class NomineePreconditionFailedException extends RuntimeException {
+
+    public NomineePreconditionFailedException(Long applicationId) {
+        super("Nominee for application " + applicationId + " was modified (If-Match failed)");
+    }
+}
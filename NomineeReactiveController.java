@@ -0,0 +1,137 @@
+package com.loanorigination.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.service.NomineeDetailsService;
+import com.loanorigination.service.NomineeETags;
+import com.loanorigination.service.NomineeIdempotencyService;
+import com.loanorigination.service.NomineeMergePatch;
+import com.loanorigination.service.NomineeReactiveService;
+import com.loanorigination.service.NomineeValidator;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive version of NomineeDetailsController (nominee.reactive.enabled=true replaces it): same URLs, headers,
+ * bodies and status codes, with GET / POST / DELETE served by NomineeReactiveService over R2DBC.
+ *
+ * This still runs on Spring MVC and Tomcat, not WebFlux. A handler returning Mono makes MVC finish the request
+ * asynchronously, so the Tomcat thread goes back to the pool while R2DBC talks to the database, and a handful of
+ * threads can keep many requests in flight. Reading and parsing the body, validation and writing the response are
+ * still blocking servlet I/O on Tomcat threads. Sticks to parameter and return types that Spring MVC and WebFlux
+ * both support.
+ *
+ * PATCH, and POST / DELETE with an Idempotency-Key, have no reactive implementation: they run the blocking JDBC
+ * service (through NomineeIdempotencyService for keyed requests, same as NomineeDetailsController) on Reactor's
+ * boundedElastic pool, which holds a worker thread for the whole call.
+ */
+@RestController
+@RequestMapping("/api/applications/{applicationId}/nominee")
+@CrossOrigin(origins = {"http://localhost:3000"}, allowCredentials = "true",
+        exposedHeaders = {HttpHeaders.ETAG, NomineeIdempotencyService.REPLAYED_HEADER})
+@ConditionalOnProperty(name = "nominee.reactive.enabled", havingValue = "true")
+public class NomineeReactiveController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final NomineeReactiveService nomineeService;
+    private final NomineeDetailsService blockingService;
+    private final NomineeValidator validator;
+    private final NomineeIdempotencyService idempotency;
+
+    public NomineeReactiveController(NomineeReactiveService nomineeService, NomineeDetailsService blockingService,
+                                     NomineeValidator validator, NomineeIdempotencyService idempotency) {
+        this.nomineeService = nomineeService;
+        this.blockingService = blockingService;
+        this.validator = validator;
+        this.idempotency = idempotency;
+    }
+
+    @Operation(summary = "Get nominee for an application")
+    @GetMapping
+    public Mono<ResponseEntity<NomineeView>> get(
+            @PathVariable Long applicationId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return nomineeService.getByApplicationId(applicationId)
+                .map(nominee -> {
+                    String etag = NomineeETags.of(nominee);
+                    if (ifNoneMatch != null && NomineeETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<NomineeView>build();
+                    }
+                    return ResponseEntity.ok().eTag(etag).body(nominee);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Create or update nominee for an application")
+    @PostMapping
+    public Mono<ResponseEntity<?>> upsert(
+            @PathVariable Long applicationId,
+            @RequestBody NomineeDetails request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        validator.requireValid(request);
+        if (idempotencyKey != null) {
+            // the key is stored in the write's JDBC transaction, which the R2DBC path can't join
+            return blocking(() -> idempotency.execute("POST", applicationId, idempotencyKey,
+                    Arrays.asList(request, ifMatch),
+                    () -> saved(blockingService.upsertNominee(applicationId, request, ifMatch))));
+        }
+        return nomineeService.upsertNominee(applicationId, request, ifMatch)
+                .map(NomineeReactiveController::saved);
+    }
+
+    @Operation(summary = "Partially update nominee for an application (JSON merge patch)")
+    @PatchMapping(consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<NomineeView>> patch(
+            @PathVariable Long applicationId,
+            @RequestBody JsonNode body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        NomineeMergePatch patch = NomineeMergePatch.parse(body);
+        validator.requireValid(patch.values());
+        return blocking(() -> blockingService.patchNominee(applicationId, patch, ifMatch))
+                .map(saved -> saved
+                        .map(NomineeReactiveController::saved)
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    private static ResponseEntity<NomineeView> saved(NomineeDetails saved) {
+        NomineeView view = NomineeView.of(saved);
+        return ResponseEntity.ok().eTag(NomineeETags.of(view)).body(view);
+    }
+
+    @Operation(summary = "Delete nominee for an application")
+    @DeleteMapping
+    public Mono<ResponseEntity<?>> delete(
+            @PathVariable Long applicationId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey != null) {
+            return blocking(() -> idempotency.execute("DELETE", applicationId, idempotencyKey, List.of(), () -> {
+                blockingService.deleteByApplicationId(applicationId);
+                return ResponseEntity.noContent().build();
+            }));
+        }
+        return nomineeService.deleteByApplicationId(applicationId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
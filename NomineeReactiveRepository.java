@@ -0,0 +1,240 @@
+package com.loanorigination.repository;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking nominee_details access over R2DBC, for the reactive API (nominee.reactive.enabled=true).
+ * Same SQL as the JPA path (NomineeUpsertRepositoryImpl etc.), PAN / Aadhaar encrypted and blind-indexed here
+ * since there are no JPA converters on this path.
+ *
+ * Owns its connection pool rather than exposing an R2DBC ConnectionFactory bean: Spring Boot backs off its JDBC
+ * DataSource (and with it JPA, which the rest of the service still uses) as soon as one exists. For the same
+ * reason the service excludes Boot's R2dbcAutoConfiguration.
+ *
+ * Connection settings default to the JDBC ones, so switching only needs the flag:
+ * nominee.reactive.r2dbc.url (default spring.datasource.url with jdbc: replaced by r2dbc:), .username / .password,
+ * nominee.reactive.pool.max-size, and .init-sql (default spring.datasource.hikari.connection-init-sql).
+ */
+@Repository
+@ConditionalOnProperty(name = "nominee.reactive.enabled", havingValue = "true")
+public class NomineeReactiveRepository {
+
+    private static final String VIEW_COLUMNS = "nominee_id, nominee_name, relationship, nominee_dob, nominee_address, "
+            + "nominee_phone, nominee_email, nominee_aadhaar, nominee_pan, version";
+
+    private static final String FIND_VIEW_SQL = "SELECT " + VIEW_COLUMNS
+            + " FROM nominee_details WHERE application_id = $1";
+
+    private static final String LOCK_VERSION_SQL = "SELECT version FROM nominee_details WHERE application_id = $1 FOR UPDATE";
+
+    // the change event (NomineeOutboxRelay) is written by the same statement, so it commits with the change
+    private static final String UPSERT_SQL = """
+            WITH saved AS (
+                INSERT INTO nominee_details (nominee_id, application_id, nominee_name, relationship, nominee_dob,
+                                             nominee_address, nominee_phone, nominee_email, nominee_aadhaar, nominee_pan,
+                                             nominee_aadhaar_bidx, nominee_pan_bidx)
+                VALUES ($1, $1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11)
+                ON CONFLICT (application_id) DO UPDATE SET
+                    nominee_name    = EXCLUDED.nominee_name,
+                    relationship    = EXCLUDED.relationship,
+                    nominee_dob     = EXCLUDED.nominee_dob,
+                    nominee_address = EXCLUDED.nominee_address,
+                    nominee_phone   = EXCLUDED.nominee_phone,
+                    nominee_email   = EXCLUDED.nominee_email,
+                    nominee_aadhaar = EXCLUDED.nominee_aadhaar,
+                    nominee_pan     = EXCLUDED.nominee_pan,
+                    nominee_aadhaar_bidx = EXCLUDED.nominee_aadhaar_bidx,
+                    nominee_pan_bidx     = EXCLUDED.nominee_pan_bidx,
+                    version              = nextval('nominee_details_version_seq')
+                RETURNING application_id, nominee_id, nominee_name, relationship, nominee_dob, nominee_address,
+                          nominee_phone, nominee_email, nominee_aadhaar, nominee_pan, version, (xmax = 0) AS created
+            ), event AS (
+                INSERT INTO nominee_outbox (application_id, event_type) SELECT application_id, 'UPSERTED' FROM saved
+            )
+            SELECT * FROM saved
+            """;
+
+    private static final String DELETE_SQL = """
+            WITH deleted AS (
+                DELETE FROM nominee_details WHERE application_id = $1 RETURNING application_id
+            ), event AS (
+                INSERT INTO nominee_outbox (application_id, event_type) SELECT application_id, 'DELETED' FROM deleted
+            )
+            SELECT count(*) AS deleted FROM deleted
+            """;
+
+    private final NomineeFieldEncryptor encryptor;
+    private final ConnectionPool pool;
+    private final DatabaseClient db;
+    private final TransactionalOperator tx;
+
+    public NomineeReactiveRepository(
+            NomineeFieldEncryptor encryptor,
+            @Value("${nominee.reactive.r2dbc.url:}") String url,
+            @Value("${spring.datasource.url:}") String jdbcUrl,
+            @Value("${nominee.reactive.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${nominee.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${nominee.reactive.pool.max-size:20}") int maxSize,
+            @Value("${nominee.reactive.pool.init-sql:${spring.datasource.hikari.connection-init-sql:}}") String initSql
+    ) {
+        this.encryptor = encryptor;
+        ConnectionFactoryOptions.Builder options = url.isEmpty() ? fromJdbcUrl(jdbcUrl)
+                : ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPoolConfiguration.Builder poolConfig = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("nominee-r2dbc")
+                .initialSize(Math.min(maxSize, 10))
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofSeconds(30));
+        if (!initSql.isEmpty()) {
+            poolConfig.postAllocate(connection -> Mono.from(connection.createStatement(initSql).execute())
+                    .flatMap(result -> Mono.from(result.getRowsUpdated()))
+                    .then());
+        }
+        this.pool = new ConnectionPool(poolConfig.build());
+        this.db = DatabaseClient.create(pool);
+        this.tx = TransactionalOperator.create(new R2dbcTransactionManager(pool));
+    }
+
+    /**
+     * jdbc:postgresql://host/db?user=..&x=.. as R2DBC options. R2DBC URLs can't carry user / password as query
+     * parameters, so those two become options; everything else is passed through.
+     */
+    static ConnectionFactoryOptions.Builder fromJdbcUrl(String jdbcUrl) {
+        String url = jdbcUrl.replaceFirst("^jdbc:", "r2dbc:");
+        int query = url.indexOf('?');
+        if (query < 0) {
+            return ConnectionFactoryOptions.parse(url).mutate();
+        }
+        StringBuilder kept = new StringBuilder(url.substring(0, query));
+        String user = null;
+        String password = null;
+        for (String param : url.substring(query + 1).split("&")) {
+            if (param.startsWith("user=")) {
+                user = param.substring("user=".length());
+            } else if (param.startsWith("password=")) {
+                password = param.substring("password=".length());
+            } else if (!param.isEmpty()) {
+                kept.append(kept.indexOf("?") < 0 ? '?' : '&').append(param);
+            }
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(kept.toString()).mutate();
+        if (user != null) {
+            options.option(ConnectionFactoryOptions.USER, user);
+        }
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return options;
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+
+    public Mono<NomineeView> findViewByApplicationId(Long applicationId) {
+        return db.sql(FIND_VIEW_SQL).bind(0, applicationId).map(this::toView).one();
+    }
+
+    /**
+     * Row-locks the nominee (FOR UPDATE) and returns its version, the ETag — only meaningful inside inTransaction.
+     */
+    public Mono<Long> lockVersionByApplicationId(Long applicationId) {
+        return db.sql(LOCK_VERSION_SQL).bind(0, applicationId).map(row -> row.get("version", Long.class)).one();
+    }
+
+    /**
+     * Same single-statement upsert as NomineeUpsertRepository.upsertByApplicationId, plus the UPSERTED change event.
+     * The blind indexes are passed in since the caller needs them too (duplicate filter).
+     */
+    public Mono<NomineeUpsertRepository.Upserted> upsertByApplicationId(Long applicationId, NomineeDetails n,
+                                                                       byte[] aadhaarBidx, byte[] panBidx) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql(UPSERT_SQL).bind(0, applicationId);
+        spec = bind(spec, 1, n.getNomineeName(), String.class);
+        spec = bind(spec, 2, n.getRelationship(), String.class);
+        spec = bind(spec, 3, n.getNomineeDob(), LocalDate.class);
+        spec = bind(spec, 4, n.getNomineeAddress(), String.class);
+        spec = bind(spec, 5, n.getNomineePhone(), String.class);
+        spec = bind(spec, 6, n.getNomineeEmail(), String.class);
+        spec = bind(spec, 7, encryptor.encrypt(Field.AADHAAR, n.getNomineeAadhaar()), String.class);
+        spec = bind(spec, 8, encryptor.encrypt(Field.PAN, n.getNomineePan()), String.class);
+        spec = bind(spec, 9, aadhaarBidx, byte[].class);
+        spec = bind(spec, 10, panBidx, byte[].class);
+        return spec.map(row -> new NomineeUpsertRepository.Upserted(toEntity(toView(row)), row.get("created", Boolean.class)))
+                .one();
+    }
+
+    /**
+     * Number of rows deleted (0 or 1); a DELETED change event is written if it was 1.
+     */
+    public Mono<Long> deleteByApplicationId(Long applicationId) {
+        return db.sql(DELETE_SQL).bind(0, applicationId).map(row -> row.get("deleted", Long.class)).one();
+    }
+
+    /**
+     * Run the statements of work in one transaction on one connection.
+     */
+    public <T> Mono<T> inTransaction(Mono<T> work) {
+        return tx.transactional(work);
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, int index,
+                                                              T value, Class<T> type) {
+        return value == null ? spec.bindNull(index, type) : spec.bind(index, value);
+    }
+
+    private NomineeView toView(Readable row) {
+        return new NomineeView(
+                row.get("nominee_id", Long.class),
+                row.get("nominee_name", String.class),
+                row.get("relationship", String.class),
+                row.get("nominee_dob", LocalDate.class),
+                row.get("nominee_address", String.class),
+                row.get("nominee_phone", String.class),
+                row.get("nominee_email", String.class),
+                encryptor.decrypt(Field.AADHAAR, row.get("nominee_aadhaar", String.class)),
+                encryptor.decrypt(Field.PAN, row.get("nominee_pan", String.class)),
+                row.get("version", Long.class));
+    }
+
+    private static NomineeDetails toEntity(NomineeView v) {
+        NomineeDetails n = new NomineeDetails();
+        n.setNomineeId(v.nomineeId());
+        n.setNomineeName(v.nomineeName());
+        n.setRelationship(v.relationship());
+        n.setNomineeDob(v.nomineeDob());
+        n.setNomineeAddress(v.nomineeAddress());
+        n.setNomineePhone(v.nomineePhone());
+        n.setNomineeEmail(v.nomineeEmail());
+        n.setNomineeAadhaar(v.nomineeAadhaar());
+        n.setNomineePan(v.nomineePan());
+        n.setVersion(v.version());
+        return n;
+    }
+}
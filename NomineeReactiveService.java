@@ -0,0 +1,96 @@
+package com.loanorigination.service;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineePreconditionFailedException;
+import com.loanorigination.repository.NomineeReactiveRepository;
+import com.loanorigination.repository.NomineeUpsertRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of NomineeDetailsService for get / upsert / delete (nominee.reactive.enabled=true):
+ * same semantics, over R2DBC (NomineeReactiveRepository). No thread waits on the database; what follows a query
+ * runs on R2DBC's I/O threads, so nothing here may block.
+ *
+ * Differences from the blocking service:
+ * - no read-through cache: every GET reads the DB (ReadThroughCache makes concurrent misses wait on one load,
+ *   which would block an R2DBC I/O thread);
+ * - reads go to the primary, never the read replica;
+ * - saves are never coalesced (NomineeUpsertCoalescer).
+ */
+@Service
+@ConditionalOnProperty(name = "nominee.reactive.enabled", havingValue = "true")
+public class NomineeReactiveService {
+
+    private final NomineeReactiveRepository nomineeRepo;
+    private final NomineeFieldEncryptor encryptor;
+    private final NomineeMetrics metrics;
+    private final NomineeDuplicateCheckService duplicateCheck;
+    private final NomineeOutboxRelay outbox;
+
+    public NomineeReactiveService(
+            NomineeReactiveRepository nomineeRepo,
+            NomineeFieldEncryptor encryptor,
+            NomineeMetrics metrics,
+            NomineeDuplicateCheckService duplicateCheck,
+            NomineeOutboxRelay outbox
+    ) {
+        this.nomineeRepo = nomineeRepo;
+        this.encryptor = encryptor;
+        this.metrics = metrics;
+        this.duplicateCheck = duplicateCheck;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Empty if the application has no nominee.
+     */
+    public Mono<NomineeView> getByApplicationId(Long applicationId) {
+        return nomineeRepo.findViewByApplicationId(applicationId);
+    }
+
+    /**
+     * Same contract as NomineeDetailsService.upsertNominee(applicationId, req, ifMatch): with ifMatch set the row is
+     * locked and its ETag compared in the same transaction as the write, and a mismatch fails with
+     * NomineePreconditionFailedException.
+     */
+    public Mono<NomineeDetails> upsertNominee(Long applicationId, NomineeDetails req, String ifMatch) {
+        byte[] panIndex = encryptor.blindIndex(Field.PAN, req.getNomineePan());
+        byte[] aadhaarIndex = encryptor.blindIndex(Field.AADHAAR, req.getNomineeAadhaar());
+        Mono<NomineeUpsertRepository.Upserted> upsert = Mono.defer(() -> {
+            // before the write as well as after, see NomineeDuplicateCheckService.remember
+            duplicateCheck.rememberIndexes(panIndex, aadhaarIndex);
+            return nomineeRepo.upsertByApplicationId(applicationId, req, aadhaarIndex, panIndex);
+        });
+        Mono<NomineeUpsertRepository.Upserted> write = ifMatch == null ? upsert
+                : nomineeRepo.inTransaction(nomineeRepo.lockVersionByApplicationId(applicationId)
+                        .map(NomineeETags::of)
+                        .defaultIfEmpty("")
+                        .flatMap(current -> NomineeETags.matchesIfMatch(ifMatch, current.isEmpty() ? null : current)
+                                ? upsert
+                                : Mono.error(new NomineePreconditionFailedException(applicationId))));
+        return write.map(saved -> {
+            metrics.upserted(saved.created());
+            duplicateCheck.rememberIndexes(panIndex, aadhaarIndex);
+            // committed, event included (NomineeReactiveRepository writes it in the same statement)
+            outbox.passSoon();
+            return saved.nominee();
+        });
+    }
+
+    /**
+     * Number of rows removed (0 or 1).
+     */
+    public Mono<Long> deleteByApplicationId(Long applicationId) {
+        return nomineeRepo.deleteByApplicationId(applicationId).doOnNext(deleted -> {
+            if (deleted > 0) {
+                outbox.passSoon();
+                duplicateCheck.forgotten();
+            }
+        });
+    }
+}
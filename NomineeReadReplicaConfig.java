@@ -0,0 +1,64 @@
+package com.loanorigination.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a read replica. Only active when nominee.replica.url is set; otherwise
+ * Spring Boot's single DataSource is used as before.
+ *
+ * The application DataSource becomes a LazyConnectionDataSourceProxy over the primary pool (spring.datasource.*,
+ * as before) with the replica pool as its read-only target. The proxy only fetches a real connection at the first
+ * statement, after the transaction manager has marked it read-only or not, so @Transactional(readOnly = true) /
+ * read-only TransactionTemplates go to the replica and everything else to the primary.
+ * Reads that must see a just-committed write are kept on the primary by NomineeReadRouting.
+ *
+ * Replica settings: nominee.replica.url, .username / .password (default: the primary's), .max-pool-size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "nominee.replica.url")
+public class NomineeReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties primary,
+            @Value("${nominee.replica.url}") String url,
+            @Value("${nominee.replica.username:}") String username,
+            @Value("${nominee.replica.password:}") String password,
+            @Value("${nominee.replica.max-pool-size:10}") int maxPoolSize
+    ) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("nominee-replica");
+        replica.setJdbcUrl(url);
+        replica.setUsername(username.isEmpty() ? primary.determineUsername() : username);
+        replica.setPassword(password.isEmpty() ? primary.determinePassword() : password);
+        replica.setMaximumPoolSize(maxPoolSize);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaDataSource);
+        return routing;
+    }
+}
@@ -0,0 +1,85 @@
+package com.loanorigination.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the transaction for a nominee read, so reads go to the read replica without ever showing a user
+ * an older version of what they just saved.
+ *
+ * Read-only transactions are sent to the replica by NomineeReadReplicaConfig (when nominee.replica.url is set).
+ * For nominee.replica.read-your-writes-window after a write of an application (set it comfortably above the
+ * replica's usual lag), reads of that application run in a normal transaction instead, which stays on the primary.
+ *
+ * The window is per instance: a read served by another instance than the write can still see the replica's
+ * older state until it catches up. Without a replica configured everything here is a plain read-only transaction.
+ */
+@Component
+public class NomineeReadRouting {
+
+    // past this many tracked applications, expired entries are swept on the next write
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final TransactionTemplate replicaTx;
+    private final TransactionTemplate primaryTx;
+    private final boolean replicaConfigured;
+    private final long windowNanos;
+    // applicationId -> System.nanoTime() until which its reads stay on the primary
+    private final ConcurrentHashMap<Long, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public NomineeReadRouting(
+            PlatformTransactionManager transactionManager,
+            @Value("${nominee.replica.url:}") String replicaUrl,
+            @Value("${nominee.replica.read-your-writes-window:PT5S}") Duration window
+    ) {
+        this.replicaTx = new TransactionTemplate(transactionManager);
+        this.replicaTx.setReadOnly(true);
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.replicaConfigured = !replicaUrl.isBlank();
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Run a read of this application's data: read-only (replica), or on the primary if it was written
+     * within the window.
+     */
+    public <T> T read(Long applicationId, TransactionCallback<T> action) {
+        return (recentlyWritten(applicationId) ? primaryTx : replicaTx).execute(action);
+    }
+
+    /**
+     * Call on every write of an application's nominee data, and again after commit (the window has to
+     * cover the replica catching up with the commit, not with the start of the write).
+     */
+    public void written(Long applicationId) {
+        if (!replicaConfigured) {
+            return;
+        }
+        long now = System.nanoTime();
+        primaryUntil.put(applicationId, now + windowNanos);
+        if (primaryUntil.size() > SWEEP_THRESHOLD) {
+            primaryUntil.values().removeIf(until -> until - now < 0);
+        }
+    }
+
+    public boolean recentlyWritten(Long applicationId) {
+        if (!replicaConfigured) {
+            return false;
+        }
+        Long until = primaryUntil.get(applicationId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        primaryUntil.remove(applicationId, until);
+        return false;
+    }
+}
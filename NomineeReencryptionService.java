@@ -0,0 +1,243 @@
+package com.loanorigination.service;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import com.loanorigination.dto.NomineeChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Brings stored nominee PAN / Aadhaar up to the current encryption settings, in the background:
+ * plaintext rows get encrypted (or encrypted rows decrypted, with encryption switched off), rows under an old key
+ * are re-encrypted under the active one, and missing blind indexes are filled in (or, without a blind index key,
+ * left-over ones cleared).
+ *
+ * Runs once the app is ready (nominee.encryption.reencrypt-on-startup) and on demand via
+ * POST /api/internal/encryption/reencryption. all=true rewrites every row regardless — needed after changing
+ * nominee.encryption.blind-index-key, which can't be detected from the stored values.
+ *
+ * Walks the table by nominee_id in batches of nominee.encryption.reencrypt-batch-size, one transaction each.
+ * Each UPDATE only applies if the row still holds the values that were read, so a concurrent upsert
+ * (which already writes the current form) is never overwritten with older data; such rows are counted as skipped.
+ * Rows whose blind index changed get an UPSERTED change event in the same transaction: that is how the other
+ * instances' duplicate filters (NomineeDuplicateCheckService) learn the new index.
+ */
+@Service
+public class NomineeReencryptionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeReencryptionService.class);
+
+    private static final String SELECT_ALL_SQL = """
+            SELECT nominee_id, application_id, nominee_pan, nominee_aadhaar, nominee_pan_bidx, nominee_aadhaar_bidx
+            FROM nominee_details
+            WHERE nominee_id > ? AND (nominee_pan IS NOT NULL OR nominee_aadhaar IS NOT NULL)
+            ORDER BY nominee_id LIMIT ?
+            """;
+
+    // not current: blind index missing (or present without a blind index key), or the "is encrypted under the
+    // active key" test doesn't give the expected answer
+    private static final String SELECT_STALE_SQL = """
+            SELECT nominee_id, application_id, nominee_pan, nominee_aadhaar, nominee_pan_bidx, nominee_aadhaar_bidx
+            FROM nominee_details
+            WHERE nominee_id > ? AND (
+                (nominee_pan IS NOT NULL AND ((nominee_pan_bidx IS NULL) = ? OR starts_with(nominee_pan, ?) <> ?))
+                OR (nominee_aadhaar IS NOT NULL AND ((nominee_aadhaar_bidx IS NULL) = ? OR starts_with(nominee_aadhaar, ?) <> ?)))
+            ORDER BY nominee_id LIMIT ?
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE nominee_details
+            SET nominee_pan = ?, nominee_aadhaar = ?, nominee_pan_bidx = ?, nominee_aadhaar_bidx = ?
+            WHERE nominee_id = ? AND nominee_pan IS NOT DISTINCT FROM ? AND nominee_aadhaar IS NOT DISTINCT FROM ?
+            """;
+
+    public record Progress(boolean running, boolean all, long scanned, long rewritten, long skipped, long failed,
+                           Instant startedAt, Instant finishedAt) {
+    }
+
+    private record Rewrite(long nomineeId, Long applicationId, String oldPan, String oldAadhaar, String pan,
+                           String aadhaar, byte[] panIndex, byte[] aadhaarIndex, boolean indexChanged) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final NomineeFieldEncryptor encryptor;
+    private final NomineeDuplicateCheckService duplicateCheck;
+    private final NomineeOutboxRelay outboxRelay;
+    private final boolean onStartup;
+    private final int batchSize;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "nominee-reencryption");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Progress progress = new Progress(false, false, 0, 0, 0, 0, null, null);
+
+    public NomineeReencryptionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NomineeFieldEncryptor encryptor,
+            NomineeDuplicateCheckService duplicateCheck,
+            NomineeOutboxRelay outboxRelay,
+            @Value("${nominee.encryption.reencrypt-on-startup:true}") boolean onStartup,
+            @Value("${nominee.encryption.reencrypt-batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.encryptor = encryptor;
+        this.duplicateCheck = duplicateCheck;
+        this.outboxRelay = outboxRelay;
+        this.onStartup = onStartup;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (onStartup) {
+            start(false);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Start a pass in the background. false if one is already running.
+     */
+    public boolean start(boolean all) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        progress = new Progress(true, all, 0, 0, 0, 0, Instant.now(), null);
+        worker.execute(() -> {
+            try {
+                run(all);
+            } catch (RuntimeException e) {
+                log.warn("Nominee re-encryption stopped: {}", e.getMessage());
+            } finally {
+                Progress p = progress;
+                progress = new Progress(false, all, p.scanned(), p.rewritten(), p.skipped(), p.failed(),
+                        p.startedAt(), Instant.now());
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public Progress progress() {
+        return progress;
+    }
+
+    private void run(boolean all) {
+        // with encryption on, current = starts with the active key's prefix; off, current = not encrypted at all
+        String prefix = encryptor.isEnabled() ? "enc1:" + encryptor.activeKeyId() + ":" : "enc1:";
+        boolean expected = encryptor.isEnabled();
+        boolean indexed = encryptor.hasBlindIndexKey();
+        long lastId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Rewrite> batch = new ArrayList<>(batchSize);
+            long[] failed = new long[1];
+            List<Long> ids = all
+                    ? jdbcTemplate.query(SELECT_ALL_SQL, (rs, i) -> collect(rs, batch, failed), lastId, batchSize)
+                    : jdbcTemplate.query(SELECT_STALE_SQL, (rs, i) -> collect(rs, batch, failed),
+                    lastId, indexed, prefix, expected, indexed, prefix, expected, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+            int rewritten = write(batch);
+            for (Rewrite r : batch) {
+                duplicateCheck.rememberIndexes(r.panIndex(), r.aadhaarIndex());
+            }
+            Progress p = progress;
+            progress = new Progress(true, all, p.scanned() + ids.size(), p.rewritten() + rewritten,
+                    p.skipped() + batch.size() - rewritten, p.failed() + failed[0], p.startedAt(), null);
+        }
+        Progress p = progress;
+        if (p.scanned() > 0) {
+            log.info("Nominee re-encryption done: {} rows scanned, {} rewritten, {} changed concurrently, {} failed",
+                    p.scanned(), p.rewritten(), p.skipped(), p.failed());
+        }
+        if (all && p.rewritten() > 0) {
+            // the filter still holds the blind indexes from before, drop them
+            duplicateCheck.rebuildSoon();
+        }
+    }
+
+    private long collect(ResultSet rs, List<Rewrite> batch, long[] failed) throws SQLException {
+        long nomineeId = rs.getLong(1);
+        String pan = rs.getString(3);
+        String aadhaar = rs.getString(4);
+        try {
+            String plainPan = encryptor.decrypt(Field.PAN, pan);
+            String plainAadhaar = encryptor.decrypt(Field.AADHAAR, aadhaar);
+            byte[] panIndex = encryptor.blindIndex(Field.PAN, plainPan);
+            byte[] aadhaarIndex = encryptor.blindIndex(Field.AADHAAR, plainAadhaar);
+            boolean indexChanged = !Arrays.equals(panIndex, rs.getBytes(5)) || !Arrays.equals(aadhaarIndex, rs.getBytes(6));
+            batch.add(new Rewrite(nomineeId, rs.getObject(2, Long.class), pan, aadhaar,
+                    encryptor.encrypt(Field.PAN, plainPan), encryptor.encrypt(Field.AADHAAR, plainAadhaar),
+                    panIndex, aadhaarIndex, indexChanged));
+        } catch (RuntimeException e) {
+            // e.g. written under a key that is no longer configured; leave the row alone
+            log.warn("Cannot re-encrypt nominee {}: {}", nomineeId, e.getMessage());
+            failed[0]++;
+        }
+        return nomineeId;
+    }
+
+    private int write(List<Rewrite> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Integer updated = txTemplate.execute(status -> {
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, r) -> {
+                ps.setString(1, r.pan());
+                ps.setString(2, r.aadhaar());
+                ps.setBytes(3, r.panIndex());
+                ps.setBytes(4, r.aadhaarIndex());
+                ps.setLong(5, r.nomineeId());
+                ps.setString(6, r.oldPan());
+                ps.setString(7, r.oldAadhaar());
+            });
+            int applied = 0;
+            List<Long> reindexed = new ArrayList<>();
+            int i = 0;
+            for (int[] chunk : counts) {
+                for (int c : chunk) {
+                    Rewrite r = batch.get(i++);
+                    if (c > 0) {
+                        applied += c;
+                        if (r.indexChanged() && r.applicationId() != null) {
+                            reindexed.add(r.applicationId());
+                        }
+                    }
+                }
+            }
+            outboxRelay.recordAll(reindexed, NomineeChangeEvent.Type.UPSERTED);
+            return applied;
+        });
+        return updated == null ? 0 : updated;
+    }
+}
@@ -0,0 +1,17 @@
+package com.loanorigination.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Filters of GET /api/nominees/search; any combination, null means not filtered.
+ * relationship matches ignoring case; the DOB range includes both ends, the creation range is [createdFrom, createdTo).
+ */
+public record NomineeSearchFilter(
+        String relationship,
+        LocalDate dobFrom,
+        LocalDate dobTo,
+        Instant createdFrom,
+        Instant createdTo
+) {
+}
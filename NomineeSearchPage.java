@@ -0,0 +1,24 @@
+package com.loanorigination.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One page of a nominee search, in nomineeId order. nextCursor fetches the page after this one
+ * (same filters); null on the last page.
+ *
+ * Items carry no PAN / Aadhaar: the list is for finding a nominee, the per-application GET shows the details.
+ */
+public record NomineeSearchPage(List<Item> items, String nextCursor) {
+
+    public record Item(
+            Long applicationId,
+            Long nomineeId,
+            String nomineeName,
+            String relationship,
+            LocalDate nomineeDob,
+            Instant createdAt
+    ) {
+    }
+}
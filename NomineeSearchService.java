@@ -0,0 +1,126 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.dto.NomineeSearchFilter;
+import com.loanorigination.dto.NomineeSearchPage;
+import com.loanorigination.exception.NomineeValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Back-office listing of nominees: combinable filters, keyset pagination on nominee_id.
+ *
+ * A page is "WHERE filters AND nominee_id > last id of the previous page ORDER BY nominee_id LIMIT n", so it costs
+ * the same at page 1 and page 10 000 — unlike OFFSET, nothing before the cursor is read and thrown away.
+ * Each filter has a (column, nominee_id) index (db/migration/V5). The cursor is opaque to clients (it happens to be
+ * the last nomineeId, encoded) and stays valid however the table changes: rows inserted or deleted behind it
+ * don't shift later pages.
+ *
+ * Read-only transaction, so it's served by the read replica when one is configured.
+ */
+@Service
+@Transactional(readOnly = true)
+public class NomineeSearchService {
+
+    private static final String CURSOR_PREFIX = "n1:";
+    private static final String SELECT_SQL = "SELECT application_id, nominee_id, nominee_name, relationship, "
+            + "nominee_dob, created_at FROM nominee_details WHERE nominee_id > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public NomineeSearchService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${nominee.search.default-page-size:50}") int defaultPageSize,
+            @Value("${nominee.search.max-page-size:500}") int maxPageSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * cursor: nextCursor of the previous page, or null for the first page. limit: null for the default page size.
+     * Throws NomineeValidationException (400) for a malformed cursor or a limit out of range.
+     */
+    public NomineeSearchPage search(NomineeSearchFilter filter, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new NomineeValidationException(List.of(new NomineeFieldError("limit", "out_of_range",
+                    "must be between 1 and " + maxPageSize)));
+        }
+        long after = cursor == null ? 0 : decodeCursor(cursor);
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>(7);
+        args.add(after);
+        if (filter.relationship() != null) {
+            sql.append(" AND lower(relationship) = lower(?)");
+            args.add(filter.relationship());
+        }
+        if (filter.dobFrom() != null) {
+            sql.append(" AND nominee_dob >= ?");
+            args.add(Date.valueOf(filter.dobFrom()));
+        }
+        if (filter.dobTo() != null) {
+            sql.append(" AND nominee_dob <= ?");
+            args.add(Date.valueOf(filter.dobTo()));
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.from(filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.from(filter.createdTo()));
+        }
+        // one extra row tells whether there is a next page
+        sql.append(" ORDER BY nominee_id LIMIT ?");
+        args.add(pageSize + 1);
+
+        List<NomineeSearchPage.Item> items = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Date dob = rs.getDate(5);
+            return new NomineeSearchPage.Item(
+                    rs.getLong(1),
+                    rs.getLong(2),
+                    rs.getString(3),
+                    rs.getString(4),
+                    dob == null ? null : dob.toLocalDate(),
+                    rs.getTimestamp(6).toInstant());
+        }, args.toArray());
+
+        if (items.size() <= pageSize) {
+            return new NomineeSearchPage(items, null);
+        }
+        List<NomineeSearchPage.Item> page = items.subList(0, pageSize);
+        return new NomineeSearchPage(List.copyOf(page), encodeCursor(page.get(pageSize - 1).nomineeId()));
+    }
+
+    static String encodeCursor(long nomineeId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + nomineeId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // not base64 / not a number: same answer as a wrong prefix
+        }
+        throw new NomineeValidationException(List.of(new NomineeFieldError("cursor", "invalid_format",
+                "not a cursor returned by this search")));
+    }
+}
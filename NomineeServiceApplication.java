@@ -0,0 +1,22 @@
+package com.loanorigination;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+
+/**
+ * Boots the nominee service (built by service/pom.xml).
+ *
+ * R2DBC auto-configuration is off: only the reactive API uses R2DBC, through its own pool (see
+ * NomineeReactiveRepository), and a ConnectionFactory bean would make Spring Boot back off the JDBC DataSource.
+ *
+ * For the fast-startup mode (AOT, CDS archive, lazy beans) see the fast-startup profile in service/pom.xml
+ * and NomineeStartupConfig.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+public class NomineeServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(NomineeServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,27 @@
+package com.loanorigination.config;
+
+import com.loanorigination.controller.NomineeDetailsController;
+import com.loanorigination.controller.NomineeReactiveController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The fast-startup profile (application-fast-startup.properties) turns on spring.main.lazy-initialization:
+ * beans are created when first used instead of while the service starts. That's meant for what isn't on the
+ * nominee request path (export / import, attachments, search, encryption admin, springdoc, actuator
+ * endpoints, ...), so the nominee API is kept eager here: its controller, and with it the service, repositories,
+ * EntityManagerFactory and outbox, are still ready before the port opens. Otherwise the first
+ * GET /api/applications/{id}/nominee would pay for all of them.
+ *
+ * Without lazy initialization this filter does nothing.
+ */
+@Configuration
+public class NomineeStartupConfig {
+
+    // static: read by Spring Boot's lazy-init post-processor before this class's instance exists
+    @Bean
+    static LazyInitializationExcludeFilter nomineeApiEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(NomineeDetailsController.class, NomineeReactiveController.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.loanorigination.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Queries per request": counts the SQL statements Hibernate prepares while a request is being handled and
+ * records them as nominee.http.db.statements, tagged with method and URI template (never the raw path).
+ *
+ * Hibernate calls inspect() for every statement it prepares, on the request's own thread, so a thread-local
+ * counter is exact even under concurrency. Plain JdbcTemplate statements (NomineeBatchWriter) are not seen.
+ */
+public class NomineeStatementCountFilter extends OncePerRequestFilter implements StatementInspector {
+
+    public static final String METRIC = "nominee.http.db.statements";
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    // one summary per method / URI template, built on first use instead of looked up on every request
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public NomineeStatementCountFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int[] count = new int[1];
+        CURRENT.set(count);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            summary(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN").record(count[0]);
+        }
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return summaries.computeIfAbsent(method + ' ' + uri, key -> DistributionSummary.builder(METRIC)
+                .description("SQL statements issued through Hibernate per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry));
+    }
+}
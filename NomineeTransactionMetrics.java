@@ -0,0 +1,78 @@
+package com.loanorigination.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every physical transaction from begin to commit / rollback as nominee.transactions.
+ * Spring Boot registers TransactionExecutionListener beans with the auto-configured transaction manager.
+ *
+ * The name tag is the transactional method as Class.method (a fixed set), or "programmatic" for
+ * TransactionTemplate transactions, which have no name.
+ */
+public class NomineeTransactionMetrics implements TransactionExecutionListener {
+
+    public static final String METRIC = "nominee.transactions";
+
+    private final MeterRegistry registry;
+    // keyed by the transaction status object, which is the same instance from begin to completion
+    private final Map<TransactionExecution, Long> startedAt = new ConcurrentHashMap<>();
+    // one Timer per name / read_only / outcome, built on first use instead of looked up on every transaction
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public NomineeTransactionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null) {
+            startedAt.put(transaction, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        record(transaction, commitFailure == null ? "commit" : "commit_failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        record(transaction, "rollback");
+    }
+
+    private void record(TransactionExecution transaction, String outcome) {
+        Long start = startedAt.remove(transaction);
+        if (start == null) {
+            return;
+        }
+        timer(name(transaction), transaction.isReadOnly(), outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, boolean readOnly, String outcome) {
+        return timers.computeIfAbsent(name + ' ' + readOnly + ' ' + outcome, key -> Timer.builder(METRIC)
+                .description("Duration of database transactions, begin to commit/rollback")
+                .tag("name", name)
+                .tag("read_only", Boolean.toString(readOnly))
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    private static String name(TransactionExecution transaction) {
+        String name = transaction.getTransactionName();
+        if (name == null || name.isEmpty()) {
+            return "programmatic";
+        }
+        // com.loanorigination.service.NomineeDetailsService.upsertNominee -> NomineeDetailsService.upsertNominee
+        int method = name.lastIndexOf('.');
+        int type = method > 0 ? name.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? name.substring(type + 1) : name;
+    }
+}
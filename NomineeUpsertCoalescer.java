@@ -0,0 +1,133 @@
+package com.loanorigination.service;
+
+import com.loanorigination.entity.NomineeDetails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in (nominee.coalescing.enabled) merging of rapid repeated saves of the same application's nominee —
+ * "Save" then "Save & Next", double clicks — into one upsert.
+ *
+ * The first save for an applicationId opens a slot and waits nominee.coalescing.window; saves arriving meanwhile
+ * just replace the slot's payload (last writer wins, by arrival). Then the slot is closed and its last payload
+ * written with one upsertNominee; every caller of the slot gets that saved row back (or its exception).
+ * Saves arriving while a slot is being written open the next slot, which writes only after the previous
+ * write has finished, so the last arrival's payload is also the last one committed.
+ *
+ * Coordination is per key: ConcurrentHashMap.compute only locks the map bin of that applicationId, nothing is
+ * held during the wait or the DB write, and slots are removed once written.
+ *
+ * Costs up to one window of extra latency per save. Conditional saves (If-Match) are never merged.
+ */
+@Component
+public class NomineeUpsertCoalescer {
+
+    /**
+     * Saves for one applicationId that will be written together. Fields other than result are only
+     * touched inside pending.compute* for this key.
+     */
+    private static final class Slot {
+        final CompletableFuture<NomineeDetails> result = new CompletableFuture<>();
+        // write still running when this slot was opened, or null
+        final Slot previous;
+        NomineeDetails latest;
+        int callers = 1;
+        boolean writing;
+
+        Slot(NomineeDetails payload, Slot previous) {
+            this.latest = payload;
+            this.previous = previous;
+        }
+    }
+
+    private final NomineeDetailsService nomineeService;
+    private final NomineeMetrics metrics;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final ConcurrentHashMap<Long, Slot> pending = new ConcurrentHashMap<>();
+
+    public NomineeUpsertCoalescer(
+            NomineeDetailsService nomineeService,
+            NomineeMetrics metrics,
+            @Value("${nominee.coalescing.enabled:false}") boolean enabled,
+            @Value("${nominee.coalescing.window:PT0.2S}") Duration window
+    ) {
+        this.nomineeService = nomineeService;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Same contract as NomineeDetailsService.upsertNominee(applicationId, req, ifMatch), except that the returned
+     * row may hold a later save's payload when several were merged.
+     */
+    public NomineeDetails upsert(Long applicationId, NomineeDetails req, String ifMatch) {
+        if (!enabled || ifMatch != null) {
+            return nomineeService.upsertNominee(applicationId, req, ifMatch);
+        }
+        boolean[] leader = new boolean[1];
+        Slot slot = pending.compute(applicationId, (id, open) -> {
+            if (open != null && !open.writing) {
+                open.latest = req;
+                open.callers++;
+                return open;
+            }
+            leader[0] = true;
+            return new Slot(req, open);
+        });
+        if (leader[0]) {
+            write(applicationId, slot);
+        }
+        try {
+            return slot.result.join();
+        } catch (CompletionException e) {
+            // same exception the caller would have got from its own write
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void write(Long applicationId, Slot slot) {
+        try {
+            waitWindow();
+            if (slot.previous != null) {
+                // its outcome is its callers' business, we only need it out of the way
+                slot.previous.result.exceptionally(e -> null).join();
+            }
+            pending.computeIfPresent(applicationId, (id, current) -> {
+                slot.writing = true;
+                return current;
+            });
+            // visible here: written under the same bin lock as every update of latest / callers
+            metrics.upsertsCoalesced(slot.callers - 1);
+            slot.result.complete(nomineeService.upsertNominee(applicationId, slot.latest, null));
+        } catch (Throwable e) {
+            slot.result.completeExceptionally(e);
+        } finally {
+            pending.remove(applicationId, slot);
+        }
+    }
+
+    private void waitWindow() {
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                // others are waiting on this write, so do it now rather than give up
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.loanorigination.repository;
+
+import com.loanorigination.entity.NomineeDetails;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Custom fragment of NomineeDetailsRepository for the native nominee writes: single-statement upsert and
+ * partial update (see NomineeUpsertRepositoryImpl).
+ */
+public interface NomineeUpsertRepository {
+
+    /**
+     * Create or update the nominee for an application in one statement (PostgreSQL INSERT .. ON CONFLICT).
+     * Conflict target is the unique index on application_id (db/migration/V1); new rows get
+     * nominee_id = applicationId, same 1:1 convention the service always used.
+     * Hands back the saved row and whether it was inserted, so no follow-up SELECT is needed.
+     */
+    Upserted upsertByApplicationId(Long applicationId, NomineeDetails n);
+
+    /**
+     * UPDATE of just the given columns (values taken from n), leaving the others untouched — smaller row
+     * versions and WAL than the upsert, which rewrites every column. Only if the row is still at expectedVersion:
+     * empty if the application has no nominee or another write got there first.
+     */
+    Optional<NomineeDetails> updateColumns(Long applicationId, NomineeDetails n, Set<NomineeColumn> columns,
+                                           long expectedVersion);
+
+    record Upserted(NomineeDetails nominee, boolean created) {
+    }
+}
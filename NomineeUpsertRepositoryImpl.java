@@ -0,0 +1,111 @@
+package com.loanorigination.repository;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import com.loanorigination.entity.NomineeDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Native upsert through Hibernate's NativeQuery, because it returns two things at once: the saved row
+ * mapped as the entity, plus PostgreSQL's "was this an insert" flag (xmax is 0 only on a freshly inserted row;
+ * the ON CONFLICT update path sets it). Spring Data's @Query can't map an entity and a scalar together.
+ *
+ * Native SQL bypasses the PAN / Aadhaar converters, so they are encrypted (and blind-indexed) here; the returned
+ * entity is mapped through them and comes back in plaintext.
+ */
+public class NomineeUpsertRepositoryImpl implements NomineeUpsertRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO nominee_details (nominee_id, application_id, nominee_name, relationship, nominee_dob,
+                                         nominee_address, nominee_phone, nominee_email, nominee_aadhaar, nominee_pan,
+                                         nominee_aadhaar_bidx, nominee_pan_bidx)
+            VALUES (:applicationId, :applicationId, :nomineeName, :relationship, :nomineeDob,
+                    :nomineeAddress, :nomineePhone, :nomineeEmail, :nomineeAadhaar, :nomineePan,
+                    :nomineeAadhaarBidx, :nomineePanBidx)
+            ON CONFLICT (application_id) DO UPDATE SET
+                nominee_name    = EXCLUDED.nominee_name,
+                relationship    = EXCLUDED.relationship,
+                nominee_dob     = EXCLUDED.nominee_dob,
+                nominee_address = EXCLUDED.nominee_address,
+                nominee_phone   = EXCLUDED.nominee_phone,
+                nominee_email   = EXCLUDED.nominee_email,
+                nominee_aadhaar = EXCLUDED.nominee_aadhaar,
+                nominee_pan     = EXCLUDED.nominee_pan,
+                nominee_aadhaar_bidx = EXCLUDED.nominee_aadhaar_bidx,
+                nominee_pan_bidx     = EXCLUDED.nominee_pan_bidx,
+                version              = nextval('nominee_details_version_seq')
+            RETURNING *, (xmax = 0) AS created
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final NomineeFieldEncryptor encryptor;
+
+    public NomineeUpsertRepositoryImpl(NomineeFieldEncryptor encryptor) {
+        this.encryptor = encryptor;
+    }
+
+    @Override
+    public Upserted upsertByApplicationId(Long applicationId, NomineeDetails n) {
+        Object[] row = em.unwrap(Session.class)
+                .createNativeQuery(UPSERT_SQL, Object[].class)
+                .addEntity("nd", NomineeDetails.class)
+                .addScalar("created", StandardBasicTypes.BOOLEAN)
+                .setParameter("applicationId", applicationId)
+                .setParameter("nomineeName", n.getNomineeName(), String.class)
+                .setParameter("relationship", n.getRelationship(), String.class)
+                .setParameter("nomineeDob", n.getNomineeDob(), LocalDate.class)
+                .setParameter("nomineeAddress", n.getNomineeAddress(), String.class)
+                .setParameter("nomineePhone", n.getNomineePhone(), String.class)
+                .setParameter("nomineeEmail", n.getNomineeEmail(), String.class)
+                .setParameter("nomineeAadhaar", encryptor.encrypt(Field.AADHAAR, n.getNomineeAadhaar()), String.class)
+                .setParameter("nomineePan", encryptor.encrypt(Field.PAN, n.getNomineePan()), String.class)
+                .setParameter("nomineeAadhaarBidx", encryptor.blindIndex(Field.AADHAAR, n.getNomineeAadhaar()), byte[].class)
+                .setParameter("nomineePanBidx", encryptor.blindIndex(Field.PAN, n.getNomineePan()), byte[].class)
+                .getSingleResult();
+        return new Upserted((NomineeDetails) row[0], (Boolean) row[1]);
+    }
+
+    @Override
+    public Optional<NomineeDetails> updateColumns(Long applicationId, NomineeDetails n, Set<NomineeColumn> columns,
+                                                  long expectedVersion) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No columns to update");
+        }
+        StringBuilder sql = new StringBuilder("UPDATE nominee_details SET ");
+        for (NomineeColumn c : columns) {
+            sql.append(c.column()).append(" = :").append(c.property()).append(", ");
+            if (c.encrypted() != null) {
+                sql.append(c.column()).append("_bidx = :").append(c.property()).append("Bidx, ");
+            }
+        }
+        sql.append("version = nextval('nominee_details_version_seq')");
+        sql.append(" WHERE application_id = :applicationId AND version = :expectedVersion RETURNING *");
+
+        NativeQuery<NomineeDetails> query = em.unwrap(Session.class)
+                .createNativeQuery(sql.toString(), NomineeDetails.class)
+                .setParameter("applicationId", applicationId)
+                .setParameter("expectedVersion", expectedVersion);
+        for (NomineeColumn c : columns) {
+            Object value = c.get(n);
+            if (c == NomineeColumn.DOB) {
+                query.setParameter(c.property(), (LocalDate) value, LocalDate.class);
+            } else if (c.encrypted() != null) {
+                query.setParameter(c.property(), encryptor.encrypt(c.encrypted(), (String) value), String.class);
+                query.setParameter(c.property() + "Bidx", encryptor.blindIndex(c.encrypted(), (String) value), byte[].class);
+            } else {
+                query.setParameter(c.property(), (String) value, String.class);
+            }
+        }
+        return query.uniqueResultOptional();
+    }
+}
@@ -0,0 +1,34 @@
+package com.loanorigination.exception;
+
+import com.loanorigination.dto.NomineeFieldError;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Nominee payload failed NomineeValidator. Rendered as a 400 with the field errors
+ * by NomineeExceptionHandler.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class NomineeValidationException extends RuntimeException {
+
+    private final transient List<NomineeFieldError> errors;
+
+    public NomineeValidationException(List<NomineeFieldError> errors) {
+        super(summary(errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<NomineeFieldError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * "nomineePan: ...; nomineePhone: ..." — for places that can only carry one string (batch / import results).
+     */
+    public static String summary(List<NomineeFieldError> errors) {
+        return errors.stream().map(e -> e.field() + ": " + e.message()).collect(Collectors.joining("; "));
+    }
+}
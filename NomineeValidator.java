@@ -0,0 +1,295 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineeValidationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Format checks for nominee payloads, run before anything touches the DB.
+ *
+ * All fields are optional (the UI saves partial drafts); what is present must be well-formed:
+ * PAN AAAAA9999A, Aadhaar 12 digits with a valid Verhoeff check digit, Indian mobile number,
+ * plain email syntax, DOB between 1900-01-01 and today, text no longer than the 255-char columns.
+ *
+ * The checks are single passes over the characters (no regex, so nothing can backtrack) and a valid payload
+ * allocates nothing — the error list is only created once something fails.
+ */
+@Component
+public class NomineeValidator {
+
+    static final int MAX_TEXT_LENGTH = 255;
+    private static final long MIN_DOB_EPOCH_DAY = LocalDate.of(1900, 1, 1).toEpochDay();
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    // Verhoeff: multiplication table of the dihedral group D5 and the position permutation
+    private static final byte[][] VERHOEFF_D = {
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9},
+            {1, 2, 3, 4, 0, 6, 7, 8, 9, 5},
+            {2, 3, 4, 0, 1, 7, 8, 9, 5, 6},
+            {3, 4, 0, 1, 2, 8, 9, 5, 6, 7},
+            {4, 0, 1, 2, 3, 9, 5, 6, 7, 8},
+            {5, 9, 8, 7, 6, 0, 4, 3, 2, 1},
+            {6, 5, 9, 8, 7, 1, 0, 4, 3, 2},
+            {7, 6, 5, 9, 8, 2, 1, 0, 4, 3},
+            {8, 7, 6, 5, 9, 3, 2, 1, 0, 4},
+            {9, 8, 7, 6, 5, 4, 3, 2, 1, 0}
+    };
+    private static final byte[][] VERHOEFF_P = {
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9},
+            {1, 5, 7, 6, 2, 8, 3, 0, 9, 4},
+            {5, 8, 0, 3, 7, 9, 6, 1, 4, 2},
+            {8, 9, 1, 6, 0, 4, 3, 5, 2, 7},
+            {9, 4, 5, 3, 1, 2, 6, 8, 7, 0},
+            {4, 2, 8, 6, 5, 7, 3, 9, 0, 1},
+            {2, 7, 9, 3, 8, 0, 6, 4, 1, 5},
+            {7, 0, 4, 6, 9, 1, 3, 2, 5, 8}
+    };
+
+    private final Clock clock;
+
+    public NomineeValidator() {
+        this(Clock.systemUTC());
+    }
+
+    NomineeValidator(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Field errors of the nominee, empty (the shared List.of()) if it's valid.
+     */
+    public List<NomineeFieldError> validate(NomineeDetails n) {
+        List<NomineeFieldError> errors = List.of();
+        errors = checkLength(errors, "nomineeName", n.getNomineeName());
+        errors = checkLength(errors, "relationship", n.getRelationship());
+        errors = checkLength(errors, "nomineeAddress", n.getNomineeAddress());
+
+        String pan = n.getNomineePan();
+        if (pan != null && !isValidPan(pan)) {
+            errors = add(errors, "nomineePan", "invalid_format", "must be 5 letters, 4 digits and a letter (e.g. ABCPE1234F)");
+        }
+        String aadhaar = n.getNomineeAadhaar();
+        if (aadhaar != null) {
+            int digits = aadhaarDigitCount(aadhaar);
+            if (digits != 12 || aadhaar.charAt(firstNonSeparator(aadhaar)) < '2') {
+                errors = add(errors, "nomineeAadhaar", "invalid_format", "must be 12 digits, not starting with 0 or 1");
+            } else if (!verhoeffValid(aadhaar)) {
+                errors = add(errors, "nomineeAadhaar", "invalid_checksum", "is not a valid Aadhaar number (check digit mismatch)");
+            }
+        }
+        String phone = n.getNomineePhone();
+        if (phone != null && !isValidMobile(phone)) {
+            errors = add(errors, "nomineePhone", "invalid_format", "must be a 10-digit Indian mobile number, optionally prefixed with +91 or 0");
+        }
+        String email = n.getNomineeEmail();
+        if (email != null && !isValidEmail(email)) {
+            errors = add(errors, "nomineeEmail", "invalid_format", "is not a valid email address");
+        }
+        LocalDate dob = n.getNomineeDob();
+        if (dob != null) {
+            long day = dob.toEpochDay();
+            // +1: clients east of UTC (IST) are already on the next day for part of ours
+            long today = Math.floorDiv(clock.millis(), MILLIS_PER_DAY) + 1;
+            if (day < MIN_DOB_EPOCH_DAY || day > today) {
+                errors = add(errors, "nomineeDob", "out_of_range", "must be between 1900-01-01 and today");
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Throws NomineeValidationException (400) if the nominee has any field errors.
+     */
+    public void requireValid(NomineeDetails n) {
+        List<NomineeFieldError> errors = validate(n);
+        if (!errors.isEmpty()) {
+            throw new NomineeValidationException(errors);
+        }
+    }
+
+    private static List<NomineeFieldError> checkLength(List<NomineeFieldError> errors, String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            return add(errors, field, "too_long", "must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        return errors;
+    }
+
+    private static List<NomineeFieldError> add(List<NomineeFieldError> errors, String field, String code, String message) {
+        List<NomineeFieldError> list = errors.isEmpty() ? new ArrayList<>(4) : errors;
+        list.add(new NomineeFieldError(field, code, message));
+        return list;
+    }
+
+    // ---- field checks ----
+
+    /**
+     * AAAAA9999A, letters in either case.
+     */
+    private static boolean isValidPan(String s) {
+        if (s.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            char c = s.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            boolean letter = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+            if ((i >= 5 && i <= 8) ? !digit : !letter) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAadhaarSeparator(char c) {
+        return c == ' ' || c == '-';
+    }
+
+    /**
+     * Number of digits, or -1 if there is anything besides digits, spaces and hyphens.
+     */
+    private static int aadhaarDigitCount(String s) {
+        int digits = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (!isAadhaarSeparator(c)) {
+                return -1;
+            }
+        }
+        return digits;
+    }
+
+    private static int firstNonSeparator(String s) {
+        int i = 0;
+        while (isAadhaarSeparator(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Verhoeff check over the digits (separators skipped), processed right to left; valid when it ends at 0.
+     */
+    private static boolean verhoeffValid(String s) {
+        int c = 0;
+        int position = 0;
+        for (int i = s.length() - 1; i >= 0; i--) {
+            char ch = s.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                c = VERHOEFF_D[c][VERHOEFF_P[position & 7][ch - '0']];
+                position++;
+            }
+        }
+        return c == 0;
+    }
+
+    /**
+     * 10 digits starting with 6-9, optionally after +91 / 91 / 0; spaces and hyphens between digits are ignored.
+     */
+    private static boolean isValidMobile(String s) {
+        int i = 0;
+        int end = s.length();
+        if (end > 0 && s.charAt(0) == '+') {
+            i = 1;
+        }
+        int digits = 0;
+        char first = 0;
+        char second = 0;
+        char third = 0;
+        for (int j = i; j < end; j++) {
+            char c = s.charAt(j);
+            if (c >= '0' && c <= '9') {
+                if (digits == 0) {
+                    first = c;
+                } else if (digits == 1) {
+                    second = c;
+                } else if (digits == 2) {
+                    third = c;
+                }
+                digits++;
+            } else if (c != ' ' && c != '-') {
+                return false;
+            }
+        }
+        boolean plus = i == 1;
+        if (digits == 10 && !plus) {
+            return first >= '6';
+        }
+        if (digits == 12 && first == '9' && second == '1') {
+            return third >= '6';
+        }
+        if (digits == 11 && !plus && first == '0') {
+            return second >= '6';
+        }
+        return false;
+    }
+
+    /**
+     * local@domain.tld: local part of letters, digits and !#$%&'*+/=?^_`{|}~.- (no leading, trailing or double dot),
+     * domain of dot-separated labels of letters, digits and inner hyphens, last label at least 2 letters.
+     */
+    private static boolean isValidEmail(String s) {
+        int length = s.length();
+        int at = s.indexOf('@');
+        if (length > 254 || at <= 0 || at > 64 || at == length - 1) {
+            return false;
+        }
+        char previous = '.';
+        for (int i = 0; i < at; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (previous == '.') {
+                    return false;
+                }
+            } else if (!isLocalPartChar(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        if (previous == '.') {
+            return false;
+        }
+
+        int labelStart = at + 1;
+        int labels = 0;
+        boolean labelAlpha = true;
+        for (int i = labelStart; i <= length; i++) {
+            // the end of the string closes the last label like a dot would
+            char c = i < length ? s.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > 63
+                        || s.charAt(labelStart) == '-' || s.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i == length) {
+                    // top-level domain: letters only, at least two
+                    return labels >= 2 && labelAlpha && labelLength >= 2;
+                }
+                labelStart = i + 1;
+                labelAlpha = true;
+            } else if ((c >= '0' && c <= '9') || c == '-') {
+                labelAlpha = false;
+            } else if (!isLetter(c)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLocalPartChar(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9') || "!#$%&'*+/=?^_`{|}~-".indexOf(c) >= 0;
+    }
+}
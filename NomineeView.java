@@ -0,0 +1,42 @@
+package com.loanorigination.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.loanorigination.entity.NomineeDetails;
+
+import java.time.LocalDate;
+
+/**
+ * Read model for the nominee resource — just the nominee columns, no LoanApplication association.
+ * Field names match the entity's JSON, which is what the React NomineeDetails page reads.
+ *
+ * version is the row version behind the ETag (NomineeETags); clients get it in that header, so, as on the entity,
+ * it is not part of the body.
+ */
+public record NomineeView(
+        Long nomineeId,
+        String nomineeName,
+        String relationship,
+        LocalDate nomineeDob,
+        String nomineeAddress,
+        String nomineePhone,
+        String nomineeEmail,
+        String nomineeAadhaar,
+        String nomineePan,
+        @JsonIgnore Long version
+) {
+
+    public static NomineeView of(NomineeDetails n) {
+        return new NomineeView(
+                n.getNomineeId(),
+                n.getNomineeName(),
+                n.getRelationship(),
+                n.getNomineeDob(),
+                n.getNomineeAddress(),
+                n.getNomineePhone(),
+                n.getNomineeEmail(),
+                n.getNomineeAadhaar(),
+                n.getNomineePan(),
+                n.getVersion()
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.loanorigination.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in (nominee.virtual-threads.enabled=true): serve requests on virtual threads instead of Tomcat's
+ * platform-thread pool. Needs Java 21.
+ *
+ * With virtual threads nothing caps request concurrency any more, so thousands of requests would just queue
+ * inside Hikari's getConnection() until they time out. NomineeConcurrencyLimitFilter puts the cap back in front
+ * of the nominee endpoints, sized to the connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "nominee.virtual-threads.enabled", havingValue = "true")
+public class NomineeVirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(NomineeVirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public FilterRegistrationBean<NomineeConcurrencyLimitFilter> nomineeConcurrencyLimitFilter(
+            DataSource dataSource,
+            @Value("${nominee.virtual-threads.max-concurrency:0}") int maxConcurrency,
+            @Value("${nominee.virtual-threads.acquire-timeout:PT2S}") Duration acquireTimeout,
+            // Hikari's default
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int configuredPoolSize
+    ) {
+        int permits = maxConcurrency > 0 ? maxConcurrency : poolSize(dataSource, configuredPoolSize);
+        log.info("Nominee API on virtual threads, concurrency limited to {} (acquire timeout {})", permits, acquireTimeout);
+
+        FilterRegistrationBean<NomineeConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new NomineeConcurrencyLimitFilter(permits, acquireTimeout));
+        registration.addUrlPatterns("/api/applications/*", "/api/nominees/*");
+        return registration;
+    }
+
+    /**
+     * The writable pool's size. The DataSource bean is the Hikari pool itself, or wraps it
+     * (NomineeReadReplicaConfig's LazyConnectionDataSourceProxy), so unwrap rather than instanceof.
+     * Hikari reports -1 for an unset size until the pool has started.
+     */
+    private static int poolSize(DataSource dataSource, int configuredPoolSize) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return size > 0 ? size : configuredPoolSize;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not unwrap the DataSource, using spring.datasource.hikari.maximum-pool-size", e);
+        }
+        return configuredPoolSize;
+    }
+}
@@ -0,0 +1,221 @@
+package com.loanorigination.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small bounded read-through cache used in front of single-row lookups.
+ *
+ * - entries expire after a TTL (empty results can use a shorter TTL, so "no row yet" is cached too)
+ * - when the cache grows past maxSize the oldest entries are evicted first (FIFO)
+ * - concurrent misses for the same key share one in-flight load instead of all hitting the DB; those waiting on
+ *   someone else's load are counted as coalesced, not as hits (they did wait for the DB)
+ *
+ * Values are wrapped in Optional so negative results are cached like any other value.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger staleQueued = new AtomicInteger();
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReadThroughCache(int maxSize, Duration ttl, Duration negativeTtl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    /**
+     * Return the cached value for key, or load it with the given loader.
+     * Only one caller runs the loader for a key at a time; the others wait for its result.
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        Objects.requireNonNull(key, "key");
+        for (;;) {
+            Entry<K, V> existing = entries.get(key);
+            if (existing != null) {
+                if (!existing.isExpired(System.nanoTime())) {
+                    (existing.future.isDone() ? hits : coalesced).increment();
+                    return await(existing);
+                }
+                if (entries.remove(key, existing)) {
+                    staleQueued.incrementAndGet();
+                }
+                continue;
+            }
+
+            Entry<K, V> fresh = new Entry<>(key);
+            if (entries.putIfAbsent(key, fresh) != null) {
+                // someone else started loading this key, go round and wait on theirs
+                continue;
+            }
+            misses.increment();
+            insertionOrder.offer(fresh);
+            evictIfNeeded();
+            return load(fresh, loader);
+        }
+    }
+
+    /**
+     * Drop the entry for key, including a load that is still in flight.
+     * Callers that are already waiting on that load still get its result, but it is not kept.
+     */
+    public void invalidate(K key) {
+        if (entries.remove(key) != null) {
+            staleQueued.incrementAndGet();
+            purgeStaleIfNeeded();
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        insertionOrder.clear();
+        staleQueued.set(0);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(
+                hits.sum(),
+                misses.sum(),
+                coalesced.sum(),
+                loadSuccesses.sum(),
+                loadFailures.sum(),
+                totalLoadNanos.sum(),
+                evictions.sum(),
+                entries.size(),
+                maxSize
+        );
+    }
+
+    private Optional<V> load(Entry<K, V> entry, Function<K, Optional<V>> loader) {
+        long start = System.nanoTime();
+        Optional<V> value;
+        try {
+            value = Objects.requireNonNull(loader.apply(entry.key), "loader returned null");
+        } catch (RuntimeException | Error e) {
+            totalLoadNanos.add(System.nanoTime() - start);
+            loadFailures.increment();
+            // don't cache failures; waiters see the same exception
+            if (entries.remove(entry.key, entry)) {
+                staleQueued.incrementAndGet();
+            }
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+        long end = System.nanoTime();
+        totalLoadNanos.add(end - start);
+        loadSuccesses.increment();
+        entry.expiresAtNanos = end + (value.isPresent() ? ttlNanos : negativeTtlNanos);
+        entry.future.complete(value);
+        return value;
+    }
+
+    private Optional<V> await(Entry<K, V> entry) {
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (entries.size() > maxSize) {
+            Entry<K, V> oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (entries.remove(oldest.key, oldest)) {
+                evictions.increment();
+            } else {
+                staleQueued.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Invalidated entries stay in the insertion queue until they reach the head.
+     * If writes keep replacing the same few keys that queue would grow without bound, so sweep it occasionally.
+     */
+    private void purgeStaleIfNeeded() {
+        if (staleQueued.get() > maxSize) {
+            staleQueued.set(0);
+            insertionOrder.removeIf(e -> entries.get(e.key) != e);
+        }
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final CompletableFuture<Optional<V>> future = new CompletableFuture<>();
+        // only meaningful once the future is done; set before completing it
+        volatile long expiresAtNanos;
+
+        Entry(K key) {
+            this.key = key;
+        }
+
+        boolean isExpired(long now) {
+            // an entry that is still loading never expires, waiters keep piling onto it
+            return future.isDone() && now - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Point-in-time counters, handy for sizing maxSize / TTL.
+     * missCount: gets that ran the loader; coalescedCount: gets that waited for another get's load.
+     */
+    public record CacheStats(
+            long hitCount,
+            long missCount,
+            long coalescedCount,
+            long loadSuccessCount,
+            long loadFailureCount,
+            long totalLoadTimeNanos,
+            long evictionCount,
+            int size,
+            int maxSize
+    ) {
+        public double hitRate() {
+            long requests = hitCount + missCount + coalescedCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+        public double averageLoadPenaltyMillis() {
+            long loads = loadSuccessCount + loadFailureCount;
+            return loads == 0 ? 0.0 : totalLoadTimeNanos / 1_000_000.0 / loads;
+        }
+    }
+}
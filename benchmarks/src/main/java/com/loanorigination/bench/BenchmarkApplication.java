@@ -0,0 +1,221 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.NomineeServiceApplication;
+import com.loanorigination.service.NomineeDuplicateCheckService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The service's Spring context (NomineeServiceApplication, no web server) on top of a throw-away embedded PostgreSQL.
+ *
+ * Schema comes from Hibernate (ddl-auto=create), then the service's db/migration scripts are applied on top
+ * (unique index for the upsert, lookup columns, ...); the pom packages them on the classpath.
+ * FK triggers are switched off per connection (session_replication_role = replica) so benchmarks
+ * can write nominees without seeding LoanApplication rows.
+ *
+ * bench.db-latency (a duration, e.g. 5ms) puts a LatencyProxy between the service and the database, adding that
+ * round-trip time to every exchange with it, as if it were across a network.
+ *
+ * {@link #startWithReplica} adds a second embedded PostgreSQL as read replica (nominee.replica.url), fed from the
+ * first one by logical replication.
+ */
+public final class BenchmarkApplication {
+
+    private final EmbeddedPostgres postgres;
+    // null unless started with a replica
+    private final EmbeddedPostgres replica;
+    // null unless bench.db-latency is set
+    private final LatencyProxy latencyProxy;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(EmbeddedPostgres postgres, EmbeddedPostgres replica, LatencyProxy latencyProxy,
+                                 ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.replica = replica;
+        this.latencyProxy = latencyProxy;
+        this.context = context;
+    }
+
+    public static BenchmarkApplication start(Map<String, Object> extraProperties) {
+        return start(extraProperties, WebApplicationType.NONE);
+    }
+
+    /**
+     * Same context with the embedded Tomcat on a random port, for end-to-end load tests. See {@link #port()}.
+     */
+    public static BenchmarkApplication startWeb(Map<String, Object> extraProperties) {
+        Map<String, Object> props = new HashMap<>(extraProperties);
+        props.putIfAbsent("server.port", 0);
+        return start(props, WebApplicationType.SERVLET);
+    }
+
+    /**
+     * Web context (as startWeb) with a read replica: a second embedded PostgreSQL subscribed to all tables of
+     * the first. Replication is asynchronous, like a real replica, so reads may briefly lag writes.
+     * See {@link #replicaJdbcUrl()} to look at or write to the replica directly.
+     */
+    public static BenchmarkApplication startWithReplica(Map<String, Object> extraProperties) {
+        EmbeddedPostgres primary = startPostgres(true);
+        EmbeddedPostgres replica = startPostgres(false);
+        Map<String, Object> props = new HashMap<>(extraProperties);
+        props.putIfAbsent("server.port", 0);
+        props.put("nominee.replica.url", replica.getJdbcUrl("postgres", "postgres"));
+        props.put("nominee.replica.username", "postgres");
+        BenchmarkApplication app = start(props, WebApplicationType.SERVLET, primary, replica);
+        try {
+            replicate(app.bean(DataSource.class), primary.getPort(), replica.getPostgresDatabase());
+        } catch (SQLException e) {
+            app.stop();
+            throw new IllegalStateException("Could not set up replication", e);
+        }
+        // its first scan ran before the replica had the schema; the scan reads the primary anyway,
+        // this just doesn't leave the filter missing until the next scheduled rebuild
+        app.bean(NomineeDuplicateCheckService.class).rebuildSoon();
+        return app;
+    }
+
+    private static EmbeddedPostgres startPostgres(boolean publisher) {
+        try {
+            EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder();
+            if (publisher) {
+                builder.setServerConfig("wal_level", "logical");
+            }
+            return builder.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+
+    /**
+     * Copy the public tables (columns and primary keys; logical replication needs a key to apply updates and
+     * deletes) from the primary to the replica, then subscribe the replica to all of them.
+     */
+    private static void replicate(DataSource primary, int primaryPort, DataSource replica) throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Connection c = primary.getConnection();
+             Statement st = c.createStatement()) {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery("SELECT tablename FROM pg_tables WHERE schemaname = 'public'")) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+            for (String table : tables) {
+                List<String> columns = new ArrayList<>();
+                try (ResultSet rs = st.executeQuery("SELECT quote_ident(attname) || ' ' || format_type(atttypid, atttypmod) "
+                        + "FROM pg_attribute WHERE attrelid = 'public." + table + "'::regclass "
+                        + "AND attnum > 0 AND NOT attisdropped ORDER BY attnum")) {
+                    while (rs.next()) {
+                        columns.add(rs.getString(1));
+                    }
+                }
+                try (ResultSet rs = st.executeQuery("SELECT pg_get_constraintdef(oid) FROM pg_constraint "
+                        + "WHERE conrelid = 'public." + table + "'::regclass AND contype = 'p'")) {
+                    while (rs.next()) {
+                        columns.add(rs.getString(1));
+                    }
+                }
+                ddl.add("CREATE TABLE " + table + " (" + String.join(", ", columns) + ")");
+            }
+            st.execute("CREATE PUBLICATION bench_pub FOR ALL TABLES");
+        }
+        try (Connection c = replica.getConnection();
+             Statement st = c.createStatement()) {
+            for (String statement : ddl) {
+                st.execute(statement);
+            }
+            st.execute("CREATE SUBSCRIPTION bench_sub CONNECTION 'host=localhost port=" + primaryPort
+                    + " user=postgres dbname=postgres' PUBLICATION bench_pub");
+        }
+    }
+
+    private static BenchmarkApplication start(Map<String, Object> extraProperties, WebApplicationType webType) {
+        return start(extraProperties, webType, startPostgres(false), null);
+    }
+
+    private static BenchmarkApplication start(Map<String, Object> extraProperties, WebApplicationType webType,
+                                              EmbeddedPostgres postgres, EmbeddedPostgres replica) {
+        LatencyProxy latencyProxy = null;
+        Object latency = extraProperties.get("bench.db-latency");
+        String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        if (latency != null) {
+            try {
+                latencyProxy = new LatencyProxy(postgres.getPort(), DurationStyle.detectAndParse(latency.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the latency proxy", e);
+            }
+            jdbcUrl = jdbcUrl.replace(":" + postgres.getPort() + "/", ":" + latencyProxy.port() + "/");
+        }
+        Map<String, Object> props = new HashMap<>(Map.of(
+                "spring.datasource.url", jdbcUrl,
+                "spring.datasource.username", "postgres",
+                "spring.datasource.hikari.connection-init-sql", "SET session_replication_role = replica",
+                "spring.jpa.hibernate.ddl-auto", "create",
+                "spring.jpa.defer-datasource-initialization", "true",
+                "spring.sql.init.mode", "always",
+                "spring.sql.init.schema-locations", "classpath:db/migration/V*.sql",
+                "spring.jpa.open-in-view", "false",
+                "logging.level.root", "WARN",
+                // ddl-auto=create logs a warning for every table it tries to drop first
+                "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper", "ERROR"
+        ));
+        // a fixed key, so blind indexes are written and duplicate checks run as they do in production
+        props.put("nominee.encryption.blind-index-key", "AQIDBAUGBwgJCgsMDQ4PEBESExQVFhcYGRobHB0eHyA=");
+        props.putAll(extraProperties);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NomineeServiceApplication.class)
+                .web(webType)
+                .properties(props)
+                .run();
+        return new BenchmarkApplication(postgres, replica, latencyProxy, context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    /**
+     * The embedded PostgreSQL itself (user postgres, no password), bypassing bench.db-latency.
+     */
+    public String jdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    public String replicaJdbcUrl() {
+        return replica.getJdbcUrl("postgres", "postgres");
+    }
+
+    public void stop() {
+        context.close();
+        try {
+            if (latencyProxy != null) {
+                latencyProxy.close();
+            }
+            postgres.close();
+            if (replica != null) {
+                replica.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
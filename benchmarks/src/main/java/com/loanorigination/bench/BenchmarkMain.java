@@ -0,0 +1,31 @@
+package com.loanorigination.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of nominee-benchmarks.jar. Takes the usual JMH command line, but always adds the gc profiler
+ * (gc.alloc.rate.norm = bytes allocated per operation) and writes machine-readable results to
+ * target/jmh-result.json so runs can be diffed.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli);
+        options.addProfiler(GCProfiler.class);
+        if (cli.getResult().hasValue() || cli.getResultFormat().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+        options.resultFormat(ResultFormatType.JSON);
+        options.result("target/jmh-result.json");
+        new Runner(options.build()).run();
+    }
+}
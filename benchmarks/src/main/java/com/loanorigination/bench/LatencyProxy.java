@@ -0,0 +1,113 @@
+package com.loanorigination.bench;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TCP proxy in front of the embedded PostgreSQL that delays every byte by half the given round-trip time in each
+ * direction, so the service sees a database across a network instead of on the same box. Bytes are delayed, not
+ * throttled: data keeps streaming, each chunk just arrives later.
+ */
+final class LatencyProxy implements Closeable {
+
+    private record Chunk(long deliverAt, byte[] bytes) {
+    }
+
+    private static final Chunk EOF = new Chunk(0, new byte[0]);
+
+    private final ServerSocket server;
+    private final int targetPort;
+    private final long oneWayNanos;
+
+    LatencyProxy(int targetPort, Duration roundTrip) throws IOException {
+        this.server = new ServerSocket(0, 256, InetAddress.getLoopbackAddress());
+        this.targetPort = targetPort;
+        this.oneWayNanos = roundTrip.toNanos() / 2;
+        daemon("latency-proxy-accept", this::accept);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                client.setTcpNoDelay(true);
+                Socket upstream = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+                upstream.setTcpNoDelay(true);
+                pipe(client, upstream);
+                pipe(upstream, client);
+            } catch (IOException e) {
+                // closed, or one connection failed: keep serving the others
+            }
+        }
+    }
+
+    /**
+     * One thread reads and timestamps, one writes each chunk once its time has come.
+     */
+    private void pipe(Socket from, Socket to) throws IOException {
+        InputStream in = from.getInputStream();
+        OutputStream out = to.getOutputStream();
+        BlockingQueue<Chunk> queue = new LinkedBlockingQueue<>();
+        daemon("latency-proxy-read", () -> {
+            byte[] buffer = new byte[64 * 1024];
+            try {
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    queue.add(new Chunk(System.nanoTime() + oneWayNanos, Arrays.copyOf(buffer, n)));
+                }
+            } catch (IOException e) {
+                // connection closed
+            }
+            queue.add(EOF);
+        });
+        daemon("latency-proxy-write", () -> {
+            try {
+                for (Chunk chunk = queue.take(); chunk != EOF; chunk = queue.take()) {
+                    long wait = chunk.deliverAt() - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    out.write(chunk.bytes());
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // connection closed
+            }
+            closeQuietly(from);
+            closeQuietly(to);
+        });
+    }
+
+    private static void daemon(String name, Runnable task) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+}
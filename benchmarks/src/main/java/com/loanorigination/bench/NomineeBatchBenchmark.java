@@ -0,0 +1,103 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeBatchResult;
+import com.loanorigination.service.NomineeDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The same ROWS nominees written through the batch endpoint's path (NomineeDetailsService.upsertNominees, one JDBC
+ * batch and transaction per chunk) and through ROWS single upserts (upsertNominee, one transaction each), against
+ * the same embedded PostgreSQL. Time per operation is per ROWS rows either way, so batch and single compare directly.
+ *
+ *   rows     create: new applicationIds every operation; update: the same ROWS existing rows every time
+ *   rewrite  the driver's reWriteBatchedInserts, which sends a batch of the INSERT .. ON CONFLICT as multi-row
+ *            INSERTs; it only affects batch
+ *   dbLatency  round-trip time added in front of PostgreSQL (bench.db-latency). Embedded PostgreSQL on a local
+ *            socket answers in microseconds, a database across a network doesn't; single pays the round trips
+ *            of a transaction per row, batch a few per chunk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NomineeBatchBenchmark {
+
+    // nominee.batch.chunk-size, so a batch operation is one chunk
+    static final int ROWS = 500;
+
+    @Param({"create", "update"})
+    public String rows;
+
+    @Param({"false", "true"})
+    public boolean rewrite;
+
+    @Param({"0ms", "1ms"})
+    public String dbLatency;
+
+    private BenchmarkApplication app;
+    private NomineeDetailsService service;
+    private final AtomicLong nextNewId = new AtomicLong(10_000_000);
+    private List<NomineeBatchItem> existing;
+
+    @Setup(Level.Trial)
+    public void start() {
+        Map<String, Object> properties = new HashMap<>(Map.of(
+                "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", rewrite,
+                "nominee.batch.chunk-size", ROWS
+        ));
+        // no proxy at all for 0, rather than one that adds nothing but a hop
+        if (!dbLatency.equals("0ms")) {
+            properties.put("bench.db-latency", dbLatency);
+        }
+        app = BenchmarkApplication.start(properties);
+        service = app.bean(NomineeDetailsService.class);
+        existing = items(1);
+        service.upsertNominees(existing);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.stop();
+    }
+
+    private List<NomineeBatchItem> nextItems() {
+        return rows.equals("create") ? items(nextNewId.getAndAdd(ROWS)) : existing;
+    }
+
+    private static List<NomineeBatchItem> items(long firstId) {
+        List<NomineeBatchItem> items = new ArrayList<>(ROWS);
+        for (long id = firstId; id < firstId + ROWS; id++) {
+            items.add(new NomineeBatchItem(id, NomineeFixtures.nominee(id)));
+        }
+        return items;
+    }
+
+    @Benchmark
+    public NomineeBatchResult batch() {
+        NomineeBatchResult result = service.upsertNominees(nextItems());
+        if (result.failed() > 0) {
+            throw new IllegalStateException(result.failed() + " rows failed: " + result.items().get(0).error());
+        }
+        return result;
+    }
+
+    // an operation is 500 calls of a long path, and after 3 warmup iterations they were still getting faster
+    @Benchmark
+    @Warmup(iterations = 12, time = 5)
+    public void single(Blackhole bh) {
+        for (NomineeBatchItem item : nextItems()) {
+            bh.consume(service.upsertNominee(item.applicationId(), item.nominee()));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.service.NomineeDetailsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of PAN / Aadhaar encryption on the service paths: uncached GET (decrypt both columns) and upsert of an
+ * existing row (encrypt + blind-index both), with nominee.encryption.enabled off and on. The cache TTL is 0,
+ * so every GET reads and decrypts.
+ *
+ * roundTrip isolates the crypto itself: encrypt + decrypt of one PAN through the pooled ciphers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NomineeEncryptionBenchmark {
+
+    static final int SEEDED = 1_000;
+
+    @Param({"false", "true"})
+    public boolean encryption;
+
+    private BenchmarkApplication app;
+    private NomineeDetailsService service;
+    private NomineeFieldEncryptor encryptor;
+
+    @Setup(Level.Trial)
+    public void start() {
+        app = BenchmarkApplication.start(Map.of(
+                "nominee.encryption.enabled", encryption,
+                "nominee.encryption.keys", "bench:" + randomKey(),
+                "nominee.encryption.active-key", "bench",
+                "nominee.encryption.blind-index-key", randomKey(),
+                "nominee.cache.ttl", "PT0S",
+                "nominee.cache.negative-ttl", "PT0S"
+        ));
+        service = app.bean(NomineeDetailsService.class);
+        encryptor = app.bean(NomineeFieldEncryptor.class);
+
+        List<NomineeBatchItem> seed = new ArrayList<>(SEEDED);
+        for (long id = 1; id <= SEEDED; id++) {
+            seed.add(new NomineeBatchItem(id, NomineeFixtures.nominee(id)));
+        }
+        service.upsertNominees(seed);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.stop();
+    }
+
+    private static String randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        final NomineeDetails nominee = NomineeFixtures.nominee(42);
+        private long i;
+
+        long next() {
+            return (i++ % SEEDED) + 1;
+        }
+    }
+
+    // the service paths were still getting faster after 3 warmup iterations
+    @Benchmark
+    @Warmup(iterations = 12, time = 5)
+    public Optional<NomineeView> get(Keys keys) {
+        return service.getByApplicationId(keys.next());
+    }
+
+    @Benchmark
+    @Warmup(iterations = 12, time = 5)
+    public NomineeDetails upsertUpdate(Keys keys) {
+        return service.upsertNominee(keys.next(), keys.nominee);
+    }
+
+    @Benchmark
+    public String roundTrip() {
+        String stored = encryptor.encrypt(NomineeFieldEncryptor.Field.PAN, "ABCPS1234K");
+        return encryptor.decrypt(NomineeFieldEncryptor.Field.PAN, stored);
+    }
+}
@@ -0,0 +1,33 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.entity.NomineeDetails;
+
+import java.time.LocalDate;
+
+/**
+ * A realistic nominee payload, as the React page posts it.
+ */
+public final class NomineeFixtures {
+
+    static final String JSON = """
+            {"nomineeName":"Priya Sharma","relationship":"Spouse","nomineeDob":"1991-04-17",\
+            "nomineeAddress":"Flat 12B, Green Park Apartments, MG Road, Bengaluru 560001",\
+            "nomineePhone":"9876543210","nomineeEmail":"priya.sharma@example.com",\
+            "nomineeAadhaar":"234123412346","nomineePan":"ABCPS1234K"}""";
+
+    private NomineeFixtures() {
+    }
+
+    public static NomineeDetails nominee(long seed) {
+        NomineeDetails n = new NomineeDetails();
+        n.setNomineeName("Priya Sharma " + seed);
+        n.setRelationship("Spouse");
+        n.setNomineeDob(LocalDate.of(1991, 4, 17));
+        n.setNomineeAddress("Flat 12B, Green Park Apartments, MG Road, Bengaluru 560001");
+        n.setNomineePhone("9876543210");
+        n.setNomineeEmail("priya.sharma@example.com");
+        n.setNomineeAadhaar("234123412346");
+        n.setNomineePan("ABCPS1234K");
+        return n;
+    }
+}
@@ -0,0 +1,57 @@
+package com.loanorigination.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the nominee payload: the entity the POST still returns, the NomineeView GET returns,
+ * and reading the request body POST receives. Mapper is configured like Spring Boot's default one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NomineeJsonBenchmark {
+
+    private ObjectMapper mapper;
+    private NomineeDetails entity;
+    private NomineeView view;
+    private byte[] requestBody;
+
+    @Setup
+    public void setup() {
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        entity = NomineeFixtures.nominee(1);
+        entity.setNomineeId(1L);
+        view = NomineeView.of(entity);
+        requestBody = NomineeFixtures.JSON.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializeEntity() throws IOException {
+        return mapper.writeValueAsBytes(entity);
+    }
+
+    @Benchmark
+    public byte[] serializeView() throws IOException {
+        return mapper.writeValueAsBytes(view);
+    }
+
+    @Benchmark
+    public NomineeDetails deserializeRequest() throws IOException {
+        return mapper.readValue(requestBody, NomineeDetails.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.service.NomineeDetailsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NomineeDetailsService.getByApplicationId against embedded PostgreSQL.
+ *
+ * cacheTtl=PT0S expires every cache entry immediately, so each call pays the DB round trip (projection
+ * query + transaction); PT5M measures the warm read-through cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NomineeReadBenchmark {
+
+    static final int SEEDED = 1_000;
+
+    @Param({"PT0S", "PT5M"})
+    public String cacheTtl;
+
+    private BenchmarkApplication app;
+    private NomineeDetailsService service;
+
+    @Setup(Level.Trial)
+    public void start() {
+        app = BenchmarkApplication.start(Map.of(
+                "nominee.cache.ttl", cacheTtl,
+                "nominee.cache.negative-ttl", cacheTtl
+        ));
+        service = app.bean(NomineeDetailsService.class);
+
+        List<NomineeBatchItem> seed = new ArrayList<>(SEEDED);
+        for (long id = 1; id <= SEEDED; id++) {
+            seed.add(new NomineeBatchItem(id, NomineeFixtures.nominee(id)));
+        }
+        service.upsertNominees(seed);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private long i;
+
+        long next() {
+            return (i++ % SEEDED) + 1;
+        }
+    }
+
+    @Benchmark
+    public Optional<NomineeView> getExisting(Keys keys) {
+        return service.getByApplicationId(keys.next());
+    }
+
+    /**
+     * The 404 path ("no nominee yet"), the most common GET response.
+     */
+    @Benchmark
+    public Optional<NomineeView> getMissing(Keys keys) {
+        return service.getByApplicationId(SEEDED + keys.next());
+    }
+}
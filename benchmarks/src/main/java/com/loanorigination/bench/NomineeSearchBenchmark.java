@@ -0,0 +1,89 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.dto.NomineeSearchFilter;
+import com.loanorigination.dto.NomineeSearchPage;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.repository.NomineeDetailsRepository;
+import com.loanorigination.service.NomineeSearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of 50 nominees at increasing depth: the admin tool's findAll(PageRequest) (OFFSET) against
+ * NomineeSearchService (keyset), unfiltered and filtered by relationship, on 300 000 rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NomineeSearchBenchmark {
+
+    static final int SEEDED = 300_000;
+    static final int PAGE_SIZE = 50;
+
+    @Param({"0", "1000", "5000"})
+    public int page;
+
+    private BenchmarkApplication app;
+    private NomineeDetailsRepository repository;
+    private NomineeSearchService search;
+    private PageRequest offsetPage;
+    private String cursor;
+    private String relationshipCursor;
+
+    @Setup(Level.Trial)
+    public void start() {
+        app = BenchmarkApplication.start(Map.of());
+        repository = app.bean(NomineeDetailsRepository.class);
+        search = app.bean(NomineeSearchService.class);
+
+        JdbcTemplate jdbc = app.bean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO nominee_details (nominee_id, application_id, nominee_name, relationship, nominee_dob) "
+                + "SELECT g, g, 'Nominee ' || g, (ARRAY['Spouse', 'Son', 'Daughter', 'Father', 'Mother'])[1 + g % 5], "
+                + "date '1950-01-01' + (g % 20000) FROM generate_series(1, ?) g", SEEDED);
+        jdbc.execute("ANALYZE nominee_details");
+
+        offsetPage = PageRequest.of(page, PAGE_SIZE, Sort.by("nomineeId"));
+        cursor = cursorAt(new NomineeSearchFilter(null, null, null, null, null), SEEDED);
+        // Spouse is every 5th row, so its deepest page is capped at the last one
+        relationshipCursor = cursorAt(new NomineeSearchFilter("Spouse", null, null, null, null), SEEDED / 5);
+    }
+
+    private String cursorAt(NomineeSearchFilter filter, int matching) {
+        // in steps of 500, stopping short of the last step so there is always a next cursor
+        long skip = Math.min((long) page * PAGE_SIZE, matching - 500);
+        String at = null;
+        for (long skipped = 0; skipped < skip; skipped += 500) {
+            at = search.search(filter, at, 500).nextCursor();
+        }
+        return at;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.stop();
+    }
+
+    @Benchmark
+    public Page<NomineeDetails> offset() {
+        return repository.findAll(offsetPage);
+    }
+
+    @Benchmark
+    public NomineeSearchPage keyset() {
+        return search.search(new NomineeSearchFilter(null, null, null, null, null), cursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public NomineeSearchPage keysetByRelationship() {
+        return search.search(new NomineeSearchFilter("spouse", null, null, null, null), relationshipCursor, PAGE_SIZE);
+    }
+}
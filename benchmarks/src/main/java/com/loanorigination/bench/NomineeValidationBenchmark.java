@@ -0,0 +1,49 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.service.NomineeValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NomineeValidator on a valid payload (should show ~0 B/op with -prof gc) and on one where every checked
+ * field is wrong (the error path, which is allowed to allocate).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NomineeValidationBenchmark {
+
+    private NomineeValidator validator;
+    private NomineeDetails valid;
+    private NomineeDetails invalid;
+
+    @Setup
+    public void setup() {
+        validator = new NomineeValidator();
+        valid = NomineeFixtures.nominee(1);
+        invalid = NomineeFixtures.nominee(2);
+        invalid.setNomineePan("ABCP1234KK");
+        invalid.setNomineeAadhaar("234123412345");
+        invalid.setNomineePhone("12345");
+        invalid.setNomineeEmail("priya.sharma@@example");
+        invalid.setNomineeDob(LocalDate.of(1850, 1, 1));
+    }
+
+    @Benchmark
+    public List<NomineeFieldError> validPayload() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public List<NomineeFieldError> invalidPayload() {
+        return validator.validate(invalid);
+    }
+}
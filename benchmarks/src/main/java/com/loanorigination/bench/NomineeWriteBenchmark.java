@@ -0,0 +1,81 @@
+package com.loanorigination.bench;
+
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.service.NomineeDetailsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NomineeDetailsService write paths against embedded PostgreSQL: upsert that creates, upsert that updates,
+ * and delete of an existing row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NomineeWriteBenchmark {
+
+    static final int HOT_KEYS = 1_000;
+
+    private BenchmarkApplication app;
+    private NomineeDetailsService service;
+    private final AtomicLong nextNewId = new AtomicLong(10_000_000);
+
+    @Setup(Level.Trial)
+    public void start() {
+        app = BenchmarkApplication.start(Map.of());
+        service = app.bean(NomineeDetailsService.class);
+        for (long id = 1; id <= HOT_KEYS; id++) {
+            service.upsertNominee(id, NomineeFixtures.nominee(id));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Payload {
+        final NomineeDetails nominee = NomineeFixtures.nominee(42);
+        private long i;
+
+        long nextHotKey() {
+            return (i++ % HOT_KEYS) + 1;
+        }
+    }
+
+    /**
+     * Row to delete, (re)created outside the measured call.
+     */
+    @State(Scope.Thread)
+    public static class DeleteTarget {
+        long applicationId;
+
+        @Setup(Level.Invocation)
+        public void create(NomineeWriteBenchmark bench) {
+            applicationId = bench.nextNewId.getAndIncrement();
+            bench.service.upsertNominee(applicationId, NomineeFixtures.nominee(applicationId));
+        }
+    }
+
+    @Benchmark
+    public NomineeDetails upsertCreate(Payload payload) {
+        return service.upsertNominee(nextNewId.getAndIncrement(), payload.nominee);
+    }
+
+    @Benchmark
+    public NomineeDetails upsertUpdate(Payload payload) {
+        return service.upsertNominee(payload.nextHotKey(), payload.nominee);
+    }
+
+    @Benchmark
+    public int delete(DeleteTarget target) {
+        return service.deleteByApplicationId(target.applicationId);
+    }
+}
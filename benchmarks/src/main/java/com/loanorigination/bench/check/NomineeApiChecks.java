@@ -0,0 +1,536 @@
+package com.loanorigination.bench.check;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanorigination.bench.BenchmarkApplication;
+import com.loanorigination.bench.NomineeFixtures;
+import com.loanorigination.service.NomineeDetailsService;
+import com.loanorigination.service.NomineeDuplicateCheckService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end checks of what actually reaches PostgreSQL, the part unit tests can't see. Boots the service on
+ * embedded PostgreSQL (BenchmarkApplication.startWeb), talks to it over HTTP and looks at the table over JDBC.
+ *
+ *   checks  comma-separated groups (default: all of them)
+ *             patch   PATCH writes only the changed columns, nothing (not even a row lock) for a no-op, and
+ *                     re-applies itself on top of a write that got in first
+ *             search  walking every page of GET /api/nominees/search gives the rows of the equivalent SQL,
+ *                     for every combination of filters
+ *             roundtrips  database round trips of a POST with only a name, blocking (JPA) path
+ *             attachments  concurrent uploads of the same attachment type all succeed and leave one row
+ *             idempotency  reactive API (nominee.reactive.enabled=true): a POST or DELETE repeated with the same
+ *                     Idempotency-Key is replayed, not executed again, and the replay header is readable cross-origin
+ *
+ * Prints one PASS / FAIL line per check with what was observed, and exits with 1 if any failed.
+ */
+public final class NomineeApiChecks {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration ROUND_TRIP = Duration.ofMillis(100);
+    // 32 bytes of 0x05, base64
+    private static final String DATA_KEY = "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQU=";
+
+    private final BenchmarkApplication app;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private int failures;
+
+    private NomineeApiChecks(BenchmarkApplication app) {
+        this.app = app;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> a = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            a.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        List<String> groups = Arrays.asList(a.getOrDefault("checks", "patch,search,roundtrips,attachments,idempotency").split(","));
+
+        int failures = 0;
+        for (String group : groups) {
+            System.out.println("== " + group);
+            // a fresh service and database per group
+            BenchmarkApplication app = BenchmarkApplication.startWeb(properties(group));
+            try {
+                NomineeApiChecks checks = new NomineeApiChecks(app);
+                switch (group) {
+                    case "patch" -> checks.patch();
+                    case "search" -> checks.search();
+                    case "roundtrips" -> checks.roundTrips();
+                    case "attachments" -> checks.attachments();
+                    case "idempotency" -> checks.idempotency();
+                    default -> throw new IllegalStateException(group);
+                }
+                failures += checks.failures;
+            } finally {
+                app.stop();
+            }
+        }
+        System.out.println(failures == 0 ? "all checks passed" : failures + " check(s) failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Object> properties(String group) {
+        return switch (group) {
+            case "patch" -> Map.of(
+                    "nominee.encryption.enabled", "true",
+                    "nominee.encryption.keys", "k1:" + DATA_KEY,
+                    "nominee.encryption.active-key", "k1");
+            case "search" -> Map.of();
+            case "roundtrips" -> Map.of("bench.db-latency", ROUND_TRIP.toMillis() + "ms");
+            case "attachments" -> Map.of("nominee.attachments.store-dir", tempDir("nominee-attachments-check"));
+            case "idempotency" -> Map.of("nominee.reactive.enabled", "true");
+            default -> throw new IllegalArgumentException("Unknown check group: " + group);
+        };
+    }
+
+    private void patch() throws Exception {
+        long applicationId = 1;
+        app.bean(NomineeDetailsService.class).upsertNominee(applicationId, NomineeFixtures.nominee(applicationId));
+        try (Connection db = DriverManager.getConnection(app.jdbcUrl())) {
+            trackSetColumns(db);
+            Row before = row(db, applicationId);
+
+            HttpResponse<String> noop = patch(applicationId, "{\"nomineePhone\": \"9876543210\"}", null);
+            Row afterNoop = row(db, applicationId);
+            List<String> noopColumns = setColumns(db);
+            // a row lock (SELECT .. FOR UPDATE) would leave its transaction id in xmax
+            check("no-op patch writes and locks nothing",
+                    noop.statusCode() == 200 && afterNoop.xmin().equals(before.xmin())
+                            && afterNoop.xmax().equals(before.xmax())
+                            && afterNoop.version() == before.version() && noopColumns.isEmpty(),
+                    "status " + noop.statusCode() + ", xmin " + before.xmin() + " -> " + afterNoop.xmin()
+                            + ", xmax " + before.xmax() + " -> " + afterNoop.xmax()
+                            + ", version " + before.version() + " -> " + afterNoop.version()
+                            + ", columns set " + noopColumns);
+            String firstETag = noop.headers().firstValue("ETag").orElse(null);
+
+            HttpResponse<String> phone = patch(applicationId, "{\"nomineePhone\": \"9123456780\"}", null);
+            Row afterPhone = row(db, applicationId);
+            List<String> phoneColumns = setColumns(db);
+            check("phone patch sets only nominee_phone",
+                    phone.statusCode() == 200 && phoneColumns.equals(List.of("nominee_phone", "version"))
+                            && afterPhone.phone().equals("9123456780") && afterPhone.name().equals(before.name()),
+                    "status " + phone.statusCode() + ", columns set " + phoneColumns + ", phone " + afterPhone.phone());
+
+            HttpResponse<String> dob = patch(applicationId, "{\"nomineeDob\": null}", null);
+            Row afterDob = row(db, applicationId);
+            List<String> dobColumns = setColumns(db);
+            check("clearing the DOB sets only nominee_dob",
+                    dob.statusCode() == 200 && dobColumns.equals(List.of("nominee_dob", "version")) && afterDob.dob() == null,
+                    "status " + dob.statusCode() + ", columns set " + dobColumns + ", dob " + afterDob.dob());
+
+            HttpResponse<String> pan = patch(applicationId, "{\"nomineePan\": \"BCDPS5678L\"}", null);
+            Row afterPan = row(db, applicationId);
+            List<String> panColumns = setColumns(db);
+            List<Long> found = app.bean(NomineeDuplicateCheckService.class).findApplicationsByPan("BCDPS5678L");
+            check("PAN patch is stored encrypted and found by the duplicate lookup",
+                    pan.statusCode() == 200
+                            && panColumns.equals(List.of("nominee_pan", "nominee_pan_bidx", "version"))
+                            && afterPan.pan().startsWith("enc1:") && !afterPan.pan().contains("BCDPS5678L")
+                            && found.contains(applicationId),
+                    "status " + pan.statusCode() + ", columns set " + panColumns + ", stored "
+                            + afterPan.pan().substring(0, Math.min(12, afterPan.pan().length())) + "..., lookup " + found);
+
+            HttpResponse<String> badType = patch(applicationId, "{\"nomineeName\": {\"first\": \"Priya\"}}", null);
+            check("wrong type is a 400", badType.statusCode() == 400 && setColumns(db).isEmpty(),
+                    "status " + badType.statusCode() + ", body " + badType.body());
+
+            HttpResponse<String> missing = patch(999, "{\"nomineeName\": \"Asha\"}", null);
+            check("no nominee is a 404", missing.statusCode() == 404, "status " + missing.statusCode());
+
+            HttpResponse<String> stale = patch(applicationId, "{\"nomineeName\": \"Asha\"}", firstETag);
+            check("stale If-Match is a 412 and writes nothing", stale.statusCode() == 412 && setColumns(db).isEmpty(),
+                    "status " + stale.statusCode() + " for If-Match " + firstETag);
+
+            patchWaitsForTheRowLock(db, applicationId);
+            concurrentPatchesOfDifferentFieldsBothApply(db, applicationId);
+        }
+    }
+
+    /**
+     * Another transaction changes the phone while holding the row lock; a PATCH to that same phone reads the old
+     * row, so its UPDATE has to wait, then finds the version moved, reads again and has nothing left to change.
+     * Writing the diff against the old row anyway would UPDATE it again.
+     */
+    private void patchWaitsForTheRowLock(Connection db, long applicationId) throws Exception {
+        CompletableFuture<HttpResponse<String>> response;
+        String xminAtCommit;
+        try (Connection other = DriverManager.getConnection(app.jdbcUrl())) {
+            other.setAutoCommit(false);
+            try (PreparedStatement st = other.prepareStatement("UPDATE nominee_details SET nominee_phone = '9000000001', "
+                    + "version = nextval('nominee_details_version_seq') WHERE application_id = ?")) {
+                st.setLong(1, applicationId);
+                st.executeUpdate();
+            }
+            response = patchAsync(applicationId, "{\"nomineePhone\": \"9000000001\"}");
+            Thread.sleep(500);
+            boolean waited = !response.isDone();
+            other.commit();
+            xminAtCommit = row(db, applicationId).xmin();
+            check("patch waits while another transaction holds the row", waited, waited ? "still waiting after 500 ms" : "answered");
+        }
+        HttpResponse<String> r = response.get(10, TimeUnit.SECONDS);
+        Row after = row(db, applicationId);
+        setColumns(db);
+        check("...and then diffs against that transaction's row", r.statusCode() == 200 && after.xmin().equals(xminAtCommit),
+                "status " + r.statusCode() + ", xmin at commit " + xminAtCommit + ", after the patch " + after.xmin());
+    }
+
+    private void concurrentPatchesOfDifferentFieldsBothApply(Connection db, long applicationId) throws Exception {
+        int rounds = 50;
+        int lost = 0;
+        for (int i = 0; i < rounds; i++) {
+            CompletableFuture<HttpResponse<String>> name = patchAsync(applicationId, "{\"nomineeName\": \"Name " + i + "\"}");
+            CompletableFuture<HttpResponse<String>> address = patchAsync(applicationId, "{\"nomineeAddress\": \"Address " + i + "\"}");
+            CompletableFuture.allOf(name, address).get(10, TimeUnit.SECONDS);
+            Row row = row(db, applicationId);
+            if (name.get().statusCode() != 200 || address.get().statusCode() != 200
+                    || !row.name().equals("Name " + i) || !row.address().equals("Address " + i)) {
+                lost++;
+            }
+        }
+        setColumns(db);
+        check("concurrent patches of different fields both apply", lost == 0, lost + " of " + rounds + " rounds lost a field");
+    }
+
+    private void search() throws Exception {
+        try (Connection db = DriverManager.getConnection(app.jdbcUrl());
+             Statement st = db.createStatement()) {
+            // no loan_application rows behind these
+            st.execute("SET session_replication_role = replica");
+            // mixed-case relationships, some missing DOBs, created_at on the hour (so the range ends are hit exactly)
+            st.execute("INSERT INTO nominee_details (nominee_id, application_id, nominee_name, relationship, nominee_dob, created_at) "
+                    + "SELECT g, g, 'Nominee ' || g, (ARRAY['Spouse', 'SPOUSE', 'spouse', 'Son', 'Daughter', 'Mother'])[1 + g % 6], "
+                    + "CASE WHEN g % 11 = 0 THEN NULL ELSE date '1950-01-01' + (g * 7 % 20000) END, "
+                    + "timestamptz '2024-01-01 00:00Z' + (g % 1000) * interval '1 hour' "
+                    + "FROM generate_series(1001, 6000) g");
+        }
+        String[][] filters = {
+                {"relationship", "spouse", "lower(relationship) = 'spouse'"},
+                {"dobFrom", "1970-01-01", "nominee_dob >= date '1970-01-01'"},
+                {"dobTo", "1999-12-31", "nominee_dob <= date '1999-12-31'"},
+                {"createdFrom", "2024-01-10T00:00:00Z", "created_at >= timestamptz '2024-01-10 00:00Z'"},
+                {"createdTo", "2024-02-01T00:00:00Z", "created_at < timestamptz '2024-02-01 00:00Z'"}};
+        for (int combination = 0; combination < 1 << filters.length; combination++) {
+            List<String> names = new ArrayList<>();
+            StringBuilder query = new StringBuilder("limit=137");
+            StringBuilder where = new StringBuilder("TRUE");
+            for (int f = 0; f < filters.length; f++) {
+                if ((combination & 1 << f) != 0) {
+                    names.add(filters[f][0]);
+                    query.append('&').append(filters[f][0]).append('=').append(filters[f][1]);
+                    where.append(" AND ").append(filters[f][2]);
+                }
+            }
+            List<Long> expected = ids("SELECT nominee_id FROM nominee_details WHERE " + where + " ORDER BY nominee_id");
+            List<Long> walked = new ArrayList<>();
+            int pages = 0;
+            boolean increasing = true;
+            boolean sensitiveFields = false;
+            String cursor = null;
+            do {
+                HttpResponse<String> page = get("/api/nominees/search?" + query + (cursor == null ? "" : "&cursor=" + cursor));
+                if (page.statusCode() != 200) {
+                    throw new IllegalStateException("search " + query + ": status " + page.statusCode() + " " + page.body());
+                }
+                pages++;
+                JsonNode body = JSON.readTree(page.body());
+                for (JsonNode item : body.get("items")) {
+                    long id = item.get("nomineeId").asLong();
+                    increasing &= walked.isEmpty() || id > walked.get(walked.size() - 1);
+                    sensitiveFields |= item.has("nomineePan") || item.has("nomineeAadhaar");
+                    walked.add(id);
+                }
+                cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+            } while (cursor != null);
+            check("search by " + (names.isEmpty() ? "nothing" : String.join(", ", names)),
+                    walked.equals(expected) && increasing && !sensitiveFields,
+                    walked.size() + " rows in " + pages + " pages, SQL " + expected.size() + " rows, "
+                            + (walked.equals(expected) ? "same ids" : "different ids")
+                            + (increasing ? ", strictly increasing" : ", NOT increasing")
+                            + (sensitiveFields ? ", PAN / Aadhaar in items" : ""));
+        }
+        HttpResponse<String> badCursor = get("/api/nominees/search?cursor=bm90LWEtY3Vyc29y");
+        HttpResponse<String> badLimit = get("/api/nominees/search?limit=0");
+        check("malformed cursor and out of range limit are 400s",
+                badCursor.statusCode() == 400 && badLimit.statusCode() == 400,
+                "cursor " + badCursor.statusCode() + ", limit " + badLimit.statusCode());
+    }
+
+    /**
+     * With bench.db-latency every exchange with the database takes ROUND_TRIP, which dwarfs everything else the
+     * request does, so latency / ROUND_TRIP (rounded down) is the number of round trips.
+     * Nulls are the interesting case: an untyped null bind makes Hibernate ask the driver for parameter metadata,
+     * one more round trip per null field.
+     */
+    private void roundTrips() throws Exception {
+        String nameOnly = "{\"nomineeName\": \"Priya Sharma\"}";
+        // class loading, first statement preparation, ...
+        for (long id = 900; id < 905; id++) {
+            post(id, nameOnly);
+            post(id, nameOnly);
+        }
+        List<Long> created = new ArrayList<>();
+        List<Long> updated = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            created.add(post(id, nameOnly));
+        }
+        for (long id = 1; id <= 7; id++) {
+            updated.add(post(id, nameOnly));
+        }
+        roundTripCheck("new nominee", created);
+        roundTripCheck("existing nominee", updated);
+    }
+
+    /**
+     * Two uploads of one type both used to find no row and INSERT, and all but one failed on the unique constraint.
+     */
+    private void attachments() throws Exception {
+        int uploads = 8;
+        int rounds = 20;
+        List<Integer> statuses = new ArrayList<>();
+        List<Integer> rowsPerRound = new ArrayList<>();
+        boolean allOk = true;
+        for (long applicationId = 1; applicationId <= rounds; applicationId++) {
+            app.bean(NomineeDetailsService.class).upsertNominee(applicationId, NomineeFixtures.nominee(applicationId));
+            List<CompletableFuture<HttpResponse<String>>> sent = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + app.port()
+                                + "/api/applications/" + applicationId + "/nominee/attachments/nomineeAadhaar"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "application/pdf")
+                        .PUT(HttpRequest.BodyPublishers.ofString("scan " + i))
+                        .build();
+                sent.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : sent) {
+                int status = response.get(30, TimeUnit.SECONDS).statusCode();
+                statuses.add(status);
+                allOk &= status == 200;
+            }
+            List<Long> rows = ids("SELECT attachment_id FROM nominee_attachment WHERE attachment_type = 'NOMINEE_AADHAAR' "
+                    + "AND nominee_id = " + applicationId);
+            rowsPerRound.add(rows.size());
+            allOk &= rows.size() == 1;
+        }
+        check(uploads + " concurrent uploads of one type all succeed, one row remains",
+                allOk, rounds + " rounds, statuses " + statuses.stream().distinct().sorted().toList()
+                        + ", rows per round " + rowsPerRound.stream().distinct().toList());
+    }
+
+    private static String tempDir(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void idempotency() throws Exception {
+        long applicationId = 1;
+        String body = "{\"nomineeName\": \"Priya Sharma\", \"nomineeRelation\": \"Spouse\"}";
+        try (Connection db = DriverManager.getConnection(app.jdbcUrl())) {
+            HttpResponse<String> first = keyed("POST", applicationId, "create-1", body);
+            long version = row(db, applicationId).version();
+            HttpResponse<String> again = keyed("POST", applicationId, "create-1", body);
+            long versionAfter = row(db, applicationId).version();
+            check("repeated keyed POST is replayed",
+                    first.statusCode() == 200 && again.statusCode() == 200 && replayed(again) && !replayed(first)
+                            && versionAfter == version && again.body().equals(first.body()),
+                    "status " + first.statusCode() + " / " + again.statusCode() + ", replayed " + replayed(first)
+                            + " / " + replayed(again) + ", version " + version + " -> " + versionAfter);
+            check("replay header is exposed to the browser",
+                    again.headers().allValues("Access-Control-Expose-Headers").stream()
+                            .anyMatch(h -> h.contains("Idempotent-Replayed")),
+                    "Access-Control-Expose-Headers " + again.headers().allValues("Access-Control-Expose-Headers"));
+
+            HttpResponse<String> reused = keyed("POST", applicationId, "create-1", "{\"nomineeName\": \"Asha\"}");
+            check("key reused for another body is rejected", reused.statusCode() == 422,
+                    "status " + reused.statusCode() + ", name " + row(db, applicationId).name());
+
+            HttpResponse<String> delete = keyed("DELETE", applicationId, "delete-1", null);
+            keyed("POST", applicationId, "create-2", body);
+            HttpResponse<String> deleteAgain = keyed("DELETE", applicationId, "delete-1", null);
+            boolean stillThere = !ids("SELECT application_id FROM nominee_details WHERE application_id = " + applicationId).isEmpty();
+            check("repeated keyed DELETE is replayed",
+                    delete.statusCode() == 204 && deleteAgain.statusCode() == 204 && replayed(deleteAgain) && stillThere,
+                    "status " + delete.statusCode() + " / " + deleteAgain.statusCode() + ", replayed "
+                            + replayed(deleteAgain) + ", nominee created after the first DELETE still there " + stillThere);
+        }
+    }
+
+    private HttpResponse<String> keyed(String method, long applicationId, String key, String body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + app.port() + "/api/applications/" + applicationId + "/nominee"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", key)
+                .header("Origin", "http://localhost:3000")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean replayed(HttpResponse<String> response) {
+        return response.headers().firstValue("Idempotent-Replayed").map("true"::equals).orElse(false);
+    }
+
+    private void roundTripCheck(String what, List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().toList();
+        long median = sorted.get(sorted.size() / 2);
+        long trips = median / ROUND_TRIP.toMillis();
+        check("POST with only a name, " + what + ", takes at most 3 round trips", trips <= 3,
+                "median " + median + " ms at " + ROUND_TRIP.toMillis() + " ms RTT = " + trips + " round trips (all: " + sorted + " ms)");
+    }
+
+    /**
+     * Milliseconds until the 200.
+     */
+    private long post(long applicationId, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + app.port() + "/api/applications/" + applicationId + "/nominee"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + applicationId + ": status " + response.statusCode() + " " + response.body());
+        }
+        return millis;
+    }
+
+    private List<Long> ids(String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Connection db = DriverManager.getConnection(app.jdbcUrl());
+             Statement st = db.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private record Row(String xmin, String xmax, long version, String name, String address, String phone, String dob, String pan) {
+    }
+
+    private static Row row(Connection db, long applicationId) throws SQLException {
+        try (PreparedStatement st = db.prepareStatement("SELECT xmin::text, xmax::text, version, nominee_name, nominee_address, "
+                + "nominee_phone, nominee_dob::text, nominee_pan FROM nominee_details WHERE application_id = ?")) {
+            st.setLong(1, applicationId);
+            try (ResultSet rs = st.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("No nominee for " + applicationId);
+                }
+                return new Row(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getString(4), rs.getString(5),
+                        rs.getString(6), rs.getString(7), rs.getString(8));
+            }
+        }
+    }
+
+    /**
+     * An UPDATE OF trigger per column fires when the column is in the SET list, whether or not its value changes:
+     * exactly "which columns did the statement write". ENABLE ALWAYS, as the service's connections run with
+     * session_replication_role = replica.
+     */
+    private static void trackSetColumns(Connection db) throws SQLException {
+        try (Statement st = db.createStatement()) {
+            st.execute("CREATE TABLE check_set_columns (col text)");
+            st.execute("CREATE FUNCTION check_set_column() RETURNS trigger LANGUAGE plpgsql AS "
+                    + "$$ BEGIN INSERT INTO check_set_columns VALUES (TG_ARGV[0]); RETURN NULL; END $$");
+            List<String> columns = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery("SELECT column_name FROM information_schema.columns "
+                    + "WHERE table_name = 'nominee_details' AND table_schema = 'public'")) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+            for (String column : columns) {
+                String trigger = "check_set_" + column;
+                st.execute("CREATE TRIGGER " + trigger + " AFTER UPDATE OF " + column
+                        + " ON nominee_details FOR EACH ROW EXECUTE FUNCTION check_set_column('" + column + "')");
+                st.execute("ALTER TABLE nominee_details ENABLE ALWAYS TRIGGER " + trigger);
+            }
+        }
+    }
+
+    /**
+     * Columns set since the last call, sorted.
+     */
+    private static List<String> setColumns(Connection db) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (Statement st = db.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT DISTINCT col FROM check_set_columns ORDER BY col")) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+            st.execute("DELETE FROM check_set_columns");
+        }
+        return columns;
+    }
+
+    private HttpRequest patchRequest(long applicationId, String body, String ifMatch) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + app.port() + "/api/applications/" + applicationId + "/nominee"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/merge-patch+json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body));
+        if (ifMatch != null) {
+            request.header("If-Match", ifMatch);
+        }
+        return request.build();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + app.port() + path))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> patch(long applicationId, String body, String ifMatch) throws IOException, InterruptedException {
+        return client.send(patchRequest(applicationId, body, ifMatch), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> patchAsync(long applicationId, String body) {
+        return client.sendAsync(patchRequest(applicationId, body, null), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void check(String name, boolean passed, String observed) {
+        if (!passed) {
+            failures++;
+        }
+        System.out.printf("%s  %s: %s%n", passed ? "PASS" : "FAIL", name, observed);
+    }
+}
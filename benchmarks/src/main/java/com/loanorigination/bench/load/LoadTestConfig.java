@@ -0,0 +1,71 @@
+package com.loanorigination.bench.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * key=value command line of NomineeLoadTest.
+ *
+ *   target    base URL of a running service; empty = boot one on embedded PostgreSQL
+ *   rate      requests per second offered (open model: independent of how fast responses come back)
+ *   duration  measured seconds; warmup seconds run first and are not recorded
+ *   mix       GET:POST:DELETE weights
+ *   keys      number of distinct applicationIds; seed of them get a nominee before the run
+ *   skew      Zipf exponent of the applicationId distribution (0 = uniform)
+ *   maxInFlight  requests allowed outstanding before new arrivals are counted as dropped
+ *   out       directory for the JSON result file
+ *   service.<property>  set on the booted service, e.g. service.nominee.reactive.enabled=true
+ */
+record LoadTestConfig(
+        String target,
+        int rate,
+        int durationSeconds,
+        int warmupSeconds,
+        int getWeight,
+        int postWeight,
+        int deleteWeight,
+        int keys,
+        int seed,
+        double skew,
+        int maxInFlight,
+        int clientThreads,
+        String outDir,
+        String label,
+        Map<String, Object> serviceProperties
+) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> a = new HashMap<>();
+        Map<String, Object> service = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            if (arg.startsWith("service.")) {
+                service.put(arg.substring("service.".length(), eq), arg.substring(eq + 1));
+            } else {
+                a.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        String[] mix = a.getOrDefault("mix", "80:15:5").split(":");
+        int keys = Integer.parseInt(a.getOrDefault("keys", "100000"));
+        return new LoadTestConfig(
+                a.getOrDefault("target", ""),
+                Integer.parseInt(a.getOrDefault("rate", "1000")),
+                Integer.parseInt(a.getOrDefault("duration", "60")),
+                Integer.parseInt(a.getOrDefault("warmup", "15")),
+                Integer.parseInt(mix[0]),
+                Integer.parseInt(mix[1]),
+                Integer.parseInt(mix[2]),
+                keys,
+                Integer.parseInt(a.getOrDefault("seed", Integer.toString(keys / 2))),
+                Double.parseDouble(a.getOrDefault("skew", "1.1")),
+                Integer.parseInt(a.getOrDefault("maxInFlight", "20000")),
+                Integer.parseInt(a.getOrDefault("clientThreads", "8")),
+                a.getOrDefault("out", "target/loadtest"),
+                a.getOrDefault("label", ""),
+                Map.copyOf(service)
+        );
+    }
+}
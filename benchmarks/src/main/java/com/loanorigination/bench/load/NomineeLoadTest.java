@@ -0,0 +1,284 @@
+package com.loanorigination.bench.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.loanorigination.bench.BenchmarkApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load test of /api/applications/{applicationId}/nominee.
+ *
+ * Requests are started on a fixed schedule (rate per second) whether or not earlier ones have finished,
+ * and every latency is measured from the request's scheduled start, not from when it was actually sent.
+ * If the service stalls, the requests that should have gone out during the stall are charged the stall
+ * too — that is the coordinated-omission correction; closed-loop tools hide exactly those.
+ *
+ * Unless target= is given, the service is booted in-process on embedded PostgreSQL (BenchmarkApplication).
+ * Results go to stdout and to a JSON file in out= so runs can be compared over time.
+ *
+ * Also reports the CPU time this JVM used during the measured part, per completed request. With the service
+ * in-process that is service plus load generator (PostgreSQL runs in its own processes and isn't counted); the
+ * generator's share is the same for every service configuration at the same rate and mix, so runs can be compared.
+ */
+public final class NomineeLoadTest {
+
+    enum Op { GET, POST, DELETE }
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ZipfKeys keys;
+    private final Semaphore inFlight;
+
+    private final Map<Op, Histogram> latencies = new EnumMap<>(Op.class);
+    private final Map<Op, Map<Integer, LongAdder>> statuses = new EnumMap<>(Op.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private NomineeLoadTest(LoadTestConfig config, String baseUrl, ExecutorService clientExecutor) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        this.keys = new ZipfKeys(config.keys(), config.skew());
+        this.inFlight = new Semaphore(config.maxInFlight());
+        for (Op op : Op.values()) {
+            latencies.put(op, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            statuses.put(op, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        BenchmarkApplication app = null;
+        String baseUrl = config.target();
+        if (baseUrl.isEmpty()) {
+            app = BenchmarkApplication.startWeb(config.serviceProperties());
+            baseUrl = "http://localhost:" + app.port();
+        }
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(config.clientThreads());
+        try {
+            NomineeLoadTest test = new NomineeLoadTest(config, baseUrl, clientExecutor);
+            test.seed();
+            Map<String, Object> result = test.run();
+            test.write(result);
+        } finally {
+            clientExecutor.shutdownNow();
+            if (app != null) {
+                app.stop();
+            }
+        }
+    }
+
+    /**
+     * Give the first config.seed() applicationIds a nominee through the batch endpoint,
+     * so GETs see a realistic mix of 200s and 404s.
+     */
+    private void seed() throws IOException, InterruptedException {
+        int batch = 1000;
+        for (int from = 1; from <= config.seed(); from += batch) {
+            StringBuilder body = new StringBuilder("[");
+            int to = Math.min(from + batch - 1, config.seed());
+            for (int id = from; id <= to; id++) {
+                if (id > from) {
+                    body.append(',');
+                }
+                body.append("{\"applicationId\":").append(id).append(",\"nominee\":").append(payload(id)).append('}');
+            }
+            body.append(']');
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/nominees/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode());
+            }
+        }
+    }
+
+    private Map<String, Object> run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        int totalWeight = config.getWeight() + config.postWeight() + config.deleteWeight();
+
+        System.out.printf("Offering %d req/s to %s for %ds (+%ds warm-up), mix GET:POST:DELETE=%d:%d:%d, %d keys, skew %.2f%n",
+                config.rate(), baseUrl, config.durationSeconds(), config.warmupSeconds(),
+                config.getWeight(), config.postWeight(), config.deleteWeight(), config.keys(), config.skew());
+
+        long sent = 0;
+        long cpuFrom = -1;
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            if (measured && cpuFrom < 0) {
+                cpuFrom = processCpuNanos();
+            }
+            Op op = pickOp(totalWeight);
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            if (measured) {
+                sent++;
+            }
+            send(op, keys.next(), intended, measured);
+        }
+        // let the stragglers finish (and be charged their full latency)
+        inFlight.tryAcquire(config.maxInFlight(), 60, TimeUnit.SECONDS);
+        long cpuNanos = cpuFrom < 0 ? 0 : processCpuNanos() - cpuFrom;
+
+        return summarize(sent, TimeUnit.NANOSECONDS.toSeconds(end - measureFrom), cpuNanos);
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    private Op pickOp(int totalWeight) {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        if (r < config.getWeight()) {
+            return Op.GET;
+        }
+        return r < config.getWeight() + config.postWeight() ? Op.POST : Op.DELETE;
+    }
+
+    private void send(Op op, long applicationId, long intendedNanos, boolean measured) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/applications/" + applicationId + "/nominee"))
+                .timeout(Duration.ofSeconds(30));
+        switch (op) {
+            case GET -> request.GET();
+            case POST -> request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(payload(applicationId)));
+            case DELETE -> request.DELETE();
+        }
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    try {
+                        if (!measured) {
+                            return;
+                        }
+                        long latency = Math.min(System.nanoTime() - intendedNanos, HIGHEST_TRACKABLE_NANOS);
+                        latencies.get(op).recordValue(latency);
+                        if (failure != null) {
+                            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                            errors.computeIfAbsent(cause.getClass().getSimpleName(), e -> new LongAdder()).increment();
+                        } else {
+                            statuses.get(op).computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private static String payload(long applicationId) {
+        return "{\"nomineeName\":\"Nominee " + applicationId + "\",\"relationship\":\"Spouse\",\"nomineeDob\":\"1991-04-17\","
+                + "\"nomineeAddress\":\"Flat 12B, Green Park Apartments, MG Road, Bengaluru 560001\","
+                + "\"nomineePhone\":\"9876543210\",\"nomineeEmail\":\"nominee" + applicationId + "@example.com\","
+                + "\"nomineeAadhaar\":\"234123412346\",\"nomineePan\":\"ABCPS1234K\"}";
+    }
+
+    private Map<String, Object> summarize(long sent, long measuredSeconds, long cpuNanos) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("label", config.label());
+        result.put("config", config);
+        result.put("target", baseUrl);
+        result.put("offeredRate", config.rate());
+
+        long completed = 0;
+        Map<String, Object> ops = new LinkedHashMap<>();
+        for (Op op : Op.values()) {
+            Histogram h = latencies.get(op);
+            completed += h.getTotalCount();
+            Map<String, Object> o = new LinkedHashMap<>();
+            o.put("count", h.getTotalCount());
+            o.put("throughput", measuredSeconds == 0 ? 0 : (double) h.getTotalCount() / measuredSeconds);
+            o.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            o.put("p90Ms", millis(h.getValueAtPercentile(90)));
+            o.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            o.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            o.put("maxMs", millis(h.getMaxValue()));
+            o.put("meanMs", h.getMean() / 1_000_000.0);
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            statuses.get(op).forEach((status, count) -> byStatus.put(Integer.toString(status), count.sum()));
+            o.put("statuses", byStatus);
+            ops.put(op.name(), o);
+
+            System.out.printf("%-6s %8d req %9.1f req/s   p50 %8.2f ms   p99 %8.2f ms   p99.9 %8.2f ms   max %8.2f ms   %s%n",
+                    op, h.getTotalCount(), (double) o.get("throughput"), o.get("p50Ms"), o.get("p99Ms"),
+                    o.get("p999Ms"), o.get("maxMs"), byStatus);
+        }
+        result.put("operations", ops);
+        result.put("sent", sent);
+        result.put("completed", completed);
+        result.put("achievedThroughput", measuredSeconds == 0 ? 0 : (double) completed / measuredSeconds);
+        long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        Map<String, Long> byError = new LinkedHashMap<>();
+        errors.forEach((type, count) -> byError.put(type, count.sum()));
+        result.put("errors", errorCount);
+        result.put("errorTypes", byError);
+        result.put("dropped", dropped.sum());
+        result.put("cpuMs", cpuNanos / 1_000_000.0);
+        result.put("cpuMsPerRequest", completed == 0 ? 0 : cpuNanos / 1_000_000.0 / completed);
+        System.out.printf("achieved %.1f req/s, %d errors %s, %d dropped (over maxInFlight)%n",
+                (double) result.get("achievedThroughput"), errorCount, byError, dropped.sum());
+        System.out.printf("JVM CPU %.1f s, %.3f ms per completed request%n",
+                cpuNanos / 1e9, (double) result.get("cpuMsPerRequest"));
+        return result;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private void write(Map<String, Object> result) throws IOException {
+        Path dir = Path.of(config.outDir());
+        Files.createDirectories(dir);
+        String stamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now());
+        Path file = dir.resolve("nominee-load-" + stamp + (config.label().isEmpty() ? "" : "-" + config.label()) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), result);
+        System.out.println("Results written to " + file);
+    }
+}
@@ -0,0 +1,32 @@
+package com.loanorigination.bench.load;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * applicationIds 1..n drawn with a Zipf distribution: id k has weight 1 / k^skew.
+ * skew=0 is uniform; around 1.0-1.2 a few hundred hot applications take most of the traffic and the
+ * rest form a long tail, which is what preload/retry bursts look like.
+ */
+final class ZipfKeys {
+
+    private final double[] cdf;
+
+    ZipfKeys(int n, double skew) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, skew);
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    long next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int i = Arrays.binarySearch(cdf, u);
+        return (i >= 0 ? i : -i - 1) + 1L;
+    }
+}
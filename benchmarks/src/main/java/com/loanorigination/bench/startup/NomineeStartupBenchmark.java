@@ -0,0 +1,266 @@
+package com.loanorigination.bench.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.loanorigination.bench.BenchmarkApplication;
+import com.loanorigination.bench.NomineeFixtures;
+import com.loanorigination.service.NomineeDetailsService;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time of the nominee service, default vs fast-startup mode (see the fast-startup profile in
+ * service/pom.xml): wall-clock time from launching the JVM to the first 200 from
+ * GET /api/applications/{applicationId}/nominee. That's what a deploy or scale-out actually waits for; Spring's
+ * own "Started ... in" is printed too, but it ends before the first request has initialized the DispatcherServlet,
+ * opened a DB connection or run a query.
+ *
+ * Every run is a fresh JVM, modes are interleaved so drift (CPU frequency, page cache) hits all of them alike.
+ * They all read one nominee from an embedded PostgreSQL, schema created and row seeded by BenchmarkApplication in
+ * this JVM.
+ *
+ *   service  the service's build directory, after mvn -f service/pom.xml -Pfast-startup package
+ *   modes    comma-separated, any of
+ *              default  java -jar nominee-service-exec.jar
+ *              cds      plain jar + lib/, CDS archive
+ *              lazy     plain jar + lib/, fast-startup Spring profile (lazy beans, JPA in the background)
+ *              aot      lazy + -Dspring.aot.enabled=true
+ *              fast     aot + CDS archive, i.e. the whole fast-startup mode
+ *   runs     launches per mode
+ *   java     java executable for the service (default: the one running this)
+ *   timeout  seconds a launch may take before the run fails
+ *   out      directory for the JSON result file
+ *
+ * The CDS archive (nominee-service.jsa) is trained first when it is missing or older than the jar.
+ */
+public final class NomineeStartupBenchmark {
+
+    private static final long APPLICATION_ID = 1L;
+    private static final String PROFILE = "--spring.profiles.active=fast-startup";
+    private static final Pattern SPRING_STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private final Path serviceDir;
+    private final String java;
+    private final String jdbcUrl;
+    private final Duration timeout;
+
+    private NomineeStartupBenchmark(Path serviceDir, String java, String jdbcUrl, Duration timeout) {
+        this.serviceDir = serviceDir;
+        this.java = java;
+        this.jdbcUrl = jdbcUrl;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> a = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            a.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        Path serviceDir = Path.of(a.getOrDefault("service", "../service/target"));
+        List<String> modes = Arrays.asList(a.getOrDefault("modes", "default,fast").split(","));
+        int runs = Integer.parseInt(a.getOrDefault("runs", "5"));
+        String java = a.getOrDefault("java", ProcessHandle.current().info().command().orElse("java"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(a.getOrDefault("timeout", "120")));
+
+        BenchmarkApplication db = BenchmarkApplication.start(Map.of());
+        try {
+            db.bean(NomineeDetailsService.class).upsertNominee(APPLICATION_ID, NomineeFixtures.nominee(APPLICATION_ID));
+            NomineeStartupBenchmark benchmark = new NomineeStartupBenchmark(serviceDir, java, db.jdbcUrl(), timeout);
+            if (modes.contains("cds") || modes.contains("fast")) {
+                benchmark.trainCdsArchive();
+            }
+            Map<String, List<Launch>> launches = new LinkedHashMap<>();
+            for (int run = 1; run <= runs; run++) {
+                for (String mode : modes) {
+                    Launch launch = benchmark.launch(mode);
+                    System.out.printf("run %d  %-8s first 200 after %6d ms   (Spring: started in %5d ms)%n",
+                            run, mode, launch.firstResponseMillis(), launch.springStartedMillis());
+                    launches.computeIfAbsent(mode, m -> new ArrayList<>()).add(launch);
+                }
+            }
+            write(summarize(launches, runs), Path.of(a.getOrDefault("out", "target/startup")));
+        } finally {
+            db.stop();
+        }
+    }
+
+    /**
+     * One launch: time to the first 200, and what Spring reported as its startup time (-1 if not found in the log).
+     */
+    record Launch(long firstResponseMillis, long springStartedMillis) {
+    }
+
+    private Path plainJar() {
+        return serviceDir.resolve("nominee-service.jar");
+    }
+
+    private Path cdsArchive() {
+        return serviceDir.resolve("nominee-service.jsa");
+    }
+
+    private List<String> command(String mode, int port) {
+        List<String> cmd = new ArrayList<>(List.of(java));
+        if (mode.equals("cds") || mode.equals("fast")) {
+            cmd.add("-XX:SharedArchiveFile=" + cdsArchive());
+        }
+        if (mode.equals("aot") || mode.equals("fast")) {
+            cmd.add("-Dspring.aot.enabled=true");
+        }
+        cmd.add("-jar");
+        switch (mode) {
+            case "default" -> cmd.add(serviceDir.resolve("nominee-service-exec.jar").toString());
+            case "cds", "lazy", "aot", "fast" -> cmd.add(plainJar().toString());
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        if (!mode.equals("default") && !mode.equals("cds")) {
+            cmd.add(PROFILE);
+        }
+        cmd.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres"));
+        return cmd;
+    }
+
+    /**
+     * The training run: starts the context in fast-startup mode, exits as soon as it is refreshed, and the JVM
+     * writes every class it loaded to the archive. The JVM checks the archive against the jars' size and mtime
+     * and silently runs without it on a mismatch, so a stale archive would just measure nothing.
+     */
+    private void trainCdsArchive() throws IOException, InterruptedException {
+        Path archive = cdsArchive();
+        if (Files.exists(archive)
+                && Files.getLastModifiedTime(archive).compareTo(Files.getLastModifiedTime(plainJar())) > 0) {
+            return;
+        }
+        List<String> cmd = command("aot", freePort());
+        cmd.add(1, "-XX:ArchiveClassesAtExit=" + archive);
+        cmd.add(2, "-Dspring.context.exit=onRefresh");
+        Path log = Files.createTempFile("nominee-startup-cds-", ".log");
+        System.out.println("Training CDS archive " + archive + " (log: " + log + ")");
+        Process process = new ProcessBuilder(cmd).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        if (!process.waitFor(timeout.toSeconds(), TimeUnit.SECONDS) || process.exitValue() != 0 || !Files.exists(archive)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("CDS training run failed, see " + log);
+        }
+    }
+
+    private Launch launch(String mode) throws IOException, InterruptedException {
+        int port = freePort();
+        Path log = Files.createTempFile("nominee-startup-" + mode + "-", ".log");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest get = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/applications/" + APPLICATION_ID + "/nominee"))
+                .timeout(timeout)
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command(mode, port)).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + ": service exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode + ": no 200 within " + timeout + ", see " + log);
+                }
+                int status;
+                try {
+                    status = client.send(get, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (IOException e) {
+                    // not listening yet
+                    Thread.sleep(2);
+                    continue;
+                }
+                if (status == 200) {
+                    break;
+                }
+                if (status < 500) {
+                    throw new IllegalStateException(mode + ": got HTTP " + status + ", see " + log);
+                }
+                Thread.sleep(2);
+            }
+            long firstResponse = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Launch(firstResponse, springStartedMillis(log));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static long springStartedMillis(Path log) throws IOException {
+        Matcher m = SPRING_STARTED.matcher(Files.readString(log));
+        return m.find() ? Math.round(Double.parseDouble(m.group(1)) * 1000) : -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, Object> summarize(Map<String, List<Launch>> launches, int runs) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("runs", runs);
+        Map<String, Object> modes = new LinkedHashMap<>();
+        double baseline = launches.containsKey("default") ? median(launches.get("default"), Launch::firstResponseMillis) : 0;
+        launches.forEach((mode, list) -> {
+            Map<String, Object> m = new LinkedHashMap<>();
+            double median = median(list, Launch::firstResponseMillis);
+            m.put("firstResponseMedianMs", median);
+            m.put("firstResponseMinMs", list.stream().mapToLong(Launch::firstResponseMillis).min().orElse(0));
+            m.put("firstResponseMaxMs", list.stream().mapToLong(Launch::firstResponseMillis).max().orElse(0));
+            m.put("springStartedMedianMs", median(list, Launch::springStartedMillis));
+            m.put("launches", list);
+            modes.put(mode, m);
+            System.out.printf("%-8s first 200: median %6.0f ms%s   (Spring: started in %6.0f ms)%n", mode, median,
+                    baseline > 0 && !mode.equals("default") ? String.format("  %.2fx faster than default", baseline / median) : "",
+                    median(list, Launch::springStartedMillis));
+        });
+        result.put("modes", modes);
+        return result;
+    }
+
+    private static double median(List<Launch> launches, ToLongFunction<Launch> value) {
+        long[] sorted = launches.stream().mapToLong(value).sorted().toArray();
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+
+    private static void write(Map<String, Object> result, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        String stamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now());
+        Path file = dir.resolve("nominee-startup-" + stamp + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), result);
+        System.out.println("Results written to " + file);
+    }
+}
@@ -0,0 +1,4 @@
+-- One nominee row per loan application.
+-- Also the conflict target for the single-statement upsert in NomineeDetailsRepository.upsertByApplicationId.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_nominee_details_application_id
+    ON nominee_details (application_id);
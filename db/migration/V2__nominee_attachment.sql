@@ -0,0 +1,12 @@
+-- Metadata of nominee documents; the file bytes are in the content-addressed store, keyed by sha256.
+CREATE TABLE IF NOT EXISTS nominee_attachment (
+    attachment_id     BIGSERIAL    PRIMARY KEY,
+    nominee_id        BIGINT       NOT NULL REFERENCES nominee_details (nominee_id) ON DELETE CASCADE,
+    attachment_type   VARCHAR(32)  NOT NULL,
+    sha256            VARCHAR(64)  NOT NULL,
+    size_bytes        BIGINT       NOT NULL,
+    content_type      VARCHAR(127),
+    original_filename VARCHAR(255),
+    uploaded_at       TIMESTAMPTZ  NOT NULL,
+    CONSTRAINT ux_nominee_attachment_type UNIQUE (nominee_id, attachment_type)
+);
@@ -0,0 +1,18 @@
+-- Field-level encryption of nominee PAN / Aadhaar (NomineeFieldEncryptor).
+-- Duplicate-check lookups use keyed blind indexes (HMAC of the normalized value) that the application writes
+-- alongside the ciphertext; PostgreSQL can't compute lookup keys from values it only holds encrypted.
+-- Existing rows get their blind index (and are encrypted) by NomineeReencryptionService in the background;
+-- duplicate checks don't find a row until it has been through that.
+
+-- ciphertext is "enc1:<keyId>:" + base64, about 60-70 characters for a PAN / Aadhaar
+ALTER TABLE nominee_details
+    ALTER COLUMN nominee_pan TYPE VARCHAR(255),
+    ALTER COLUMN nominee_aadhaar TYPE VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS nominee_pan_bidx BYTEA,
+    ADD COLUMN IF NOT EXISTS nominee_aadhaar_bidx BYTEA;
+
+CREATE INDEX IF NOT EXISTS ix_nominee_details_pan_bidx
+    ON nominee_details (nominee_pan_bidx) WHERE nominee_pan_bidx IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_nominee_details_aadhaar_bidx
+    ON nominee_details (nominee_aadhaar_bidx) WHERE nominee_aadhaar_bidx IS NOT NULL;
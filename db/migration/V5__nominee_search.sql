@@ -0,0 +1,19 @@
+-- Back-office nominee search (NomineeSearchService): keyset pages ordered by nominee_id.
+-- created_at: when the nominee row was first inserted. The upsert never updates it. Rows that existed before
+-- this migration all get the migration's time (now() is evaluated once, so adding the column doesn't rewrite
+-- the table).
+ALTER TABLE nominee_details
+    ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+-- (filter column, nominee_id): the page condition "filter AND nominee_id > cursor" is an index condition, so a page
+-- never reads the rows before the cursor. For relationship (equality, case-insensitive) that's a direct seek in
+-- nominee_id order; for a narrow DOB / creation range it saves walking the primary key past non-matching rows
+-- (the planner picks whichever is cheaper).
+CREATE INDEX IF NOT EXISTS ix_nominee_details_relationship_id
+    ON nominee_details (lower(relationship), nominee_id);
+
+CREATE INDEX IF NOT EXISTS ix_nominee_details_dob_id
+    ON nominee_details (nominee_dob, nominee_id);
+
+CREATE INDEX IF NOT EXISTS ix_nominee_details_created_id
+    ON nominee_details (created_at, nominee_id);
@@ -0,0 +1,28 @@
+-- Transactional outbox of nominee changes (NomineeOutboxRelay). Every nominee write inserts a row here in its own
+-- transaction, so an event exists exactly when the change committed.
+--
+-- event_id can't serve as the consumers' cursor: it's taken at insert, and a transaction holding a lower id may
+-- commit after a higher one has already been read. The relay therefore numbers committed rows with published_seq,
+-- one relay at a time (advisory lock), so published_seq order is publish order and "published_seq > cursor"
+-- never skips a row. No FK to nominee_details: events of deleted nominees stay readable.
+CREATE SEQUENCE IF NOT EXISTS nominee_outbox_published_seq;
+
+CREATE TABLE IF NOT EXISTS nominee_outbox (
+    event_id       BIGSERIAL PRIMARY KEY,
+    application_id BIGINT      NOT NULL,
+    event_type     VARCHAR(16) NOT NULL,
+    created_at     TIMESTAMPTZ NOT NULL DEFAULT now(),
+    published_seq  BIGINT,
+    published_at   TIMESTAMPTZ
+);
+
+-- what the relay drains: small, since rows leave it as soon as they are published
+CREATE INDEX IF NOT EXISTS ix_nominee_outbox_unpublished
+    ON nominee_outbox (event_id) WHERE published_seq IS NULL;
+
+-- replay / fan-out reads: all events after a cursor, or one application's
+CREATE UNIQUE INDEX IF NOT EXISTS ux_nominee_outbox_published_seq
+    ON nominee_outbox (published_seq);
+
+CREATE INDEX IF NOT EXISTS ix_nominee_outbox_application_seq
+    ON nominee_outbox (application_id, published_seq) WHERE published_seq IS NOT NULL;
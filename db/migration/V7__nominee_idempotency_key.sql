@@ -0,0 +1,18 @@
+-- Responses of nominee writes sent with an Idempotency-Key (NomineeIdempotencyService), so a retry that reaches
+-- another instance is answered from here instead of being executed again.
+--
+-- A row is inserted when a keyed request starts and completed in the same transaction as the write itself, so
+-- committed rows always hold a response. A duplicate arriving meanwhile blocks on the uncommitted row (unique key)
+-- until that transaction ends, then reads the response (or, after a rollback, claims the key itself).
+CREATE TABLE IF NOT EXISTS nominee_idempotency_key (
+    scoped_key  VARCHAR(320) PRIMARY KEY,
+    fingerprint VARCHAR(64)  NOT NULL,
+    status      INT,
+    etag        VARCHAR(80),
+    body        TEXT,
+    created_at  TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    expires_at  TIMESTAMPTZ  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_nominee_idempotency_key_expires
+    ON nominee_idempotency_key (expires_at);
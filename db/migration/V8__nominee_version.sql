@@ -0,0 +1,16 @@
+-- Row version of each nominee, used as its ETag (NomineeETags) instead of hashing the representation: a
+-- conditional write only has to read this one column under its row lock.
+--
+-- Every write that changes the row (upsert, patch, batch) sets version = nextval(nominee_details_version_seq),
+-- new rows get the next value by default. Taken from one sequence rather than counted per row, so a nominee that
+-- is deleted and created again never repeats a version (and an ETag) its earlier incarnation had.
+--
+-- Adding the column with a constant default is a catalog-only change (no table rewrite). So existing rows all start
+-- at version 0 (ETag "0") and get a sequence value on their next write, while rows inserted after this migration
+-- draw their first version from the sequence (which starts at 1): the sequence default is set afterwards, and only
+-- applies to new rows. Two rows both at 0 is fine, an ETag is only ever compared against the same row.
+CREATE SEQUENCE IF NOT EXISTS nominee_details_version_seq;
+
+ALTER TABLE nominee_details ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE nominee_details ALTER COLUMN version SET DEFAULT nextval('nominee_details_version_seq');
@@ -99,6 +99,27 @@ const NomineeDetails = () => {
     }));
   };
 
+  // Upload selected documents (raw file body, streamed to disk by the backend). Needs the nominee saved first.
+  const uploadAttachments = async (token) => {
+    for (const [docName, file] of Object.entries(formData.attachments)) {
+      if (!file) continue;
+      const res = await fetch(`${API_BASE}/api/applications/${applicationId}/nominee/attachments/${docName}`, {
+        method: "PUT",
+        headers: {
+          "Content-Type": file.type || "application/octet-stream",
+          "X-File-Name": encodeURIComponent(file.name),
+          ...(token ? { Authorization: `Bearer ${token}` } : {}),
+        },
+        credentials: "include",
+        body: file,
+      });
+      if (!res.ok) {
+        const text = await res.text();
+        throw new Error(text || `Failed to upload ${docName} (${res.status})`);
+      }
+    }
+  };
+
   // Generic save handler. If goNext=true then navigate('/verification') on success.
   const handleSubmit = async (e, goNext = false) => {
     if (e && e.preventDefault) e.preventDefault();
@@ -141,6 +162,7 @@ const NomineeDetails = () => {
       }
 
       const saved = await res.json();
+      await uploadAttachments(token);
       setSuccessMessage("Nominee saved successfully 🎉");
       // update local form with returned values (in case backend filled/normalized anything)
       setFormData((prev) => ({
@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Compare the blocking nominee API (default) with the reactive R2DBC one (nominee.reactive.enabled) under the same load.
+#
+# usage: scripts/compare-reactive.sh [rate] [duration] [extra NomineeLoadTest args...]
+#   e.g. scripts/compare-reactive.sh 150 60 service.bench.db-latency=20ms service.server.tomcat.threads.max=4
+#
+# Runs NomineeLoadTest (benchmarks/) once per mode, each in its own JVM that boots the service on its own
+# embedded PostgreSQL and a free port. Extra args go to both runs: service.bench.db-latency puts a network round
+# trip between the service and the database, which is where the reactive mode is meant to pay off.
+# Besides latencies, each run prints the JVM's CPU time per completed request.
+# Build first: mvn -B package (from the repository root). Results: benchmarks/target/loadtest/*.json.
+# Embedded PostgreSQL refuses to run as root.
+set -euo pipefail
+
+RATE=${1:-150}
+DURATION=${2:-60}
+shift $(( $# < 2 ? $# : 2 ))
+JAR=${JAR:-benchmarks/target/nominee-benchmarks.jar}
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn -B package first" >&2; exit 1; }
+
+for reactive in false true; do
+    mode=$([ "$reactive" = true ] && echo reactive || echo blocking)
+    echo "== $mode"
+    java -cp "$JAR" com.loanorigination.bench.load.NomineeLoadTest \
+        rate="$RATE" duration="$DURATION" warmup=15 label="$mode" out=benchmarks/target/loadtest \
+        service.nominee.reactive.enabled="$reactive" "$@"
+done
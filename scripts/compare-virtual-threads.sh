@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Compare the nominee API on platform threads (default) vs virtual threads under the same load.
+#
+# usage: scripts/compare-virtual-threads.sh [rate] [duration] [extra NomineeLoadTest args...]
+#   e.g. scripts/compare-virtual-threads.sh 3000 60 keys=200000 skew=0.8
+#
+# Runs NomineeLoadTest (benchmarks/) once per mode, each in its own JVM that boots the service on its own
+# embedded PostgreSQL and a free port, and only starts the next mode after that JVM has exited. The load is
+# open-model, spread over `keys` applicationIds (Zipf, so GETs see cache hits, cache misses and 404s; POST and
+# DELETE go to different rows instead of queueing on one row lock).
+# Build first: mvn -B package (from the repository root). Results: benchmarks/target/loadtest/*.json.
+# Embedded PostgreSQL refuses to run as root.
+set -euo pipefail
+
+RATE=${1:-2000}
+DURATION=${2:-60}
+shift $(( $# < 2 ? $# : 2 ))
+JAR=${JAR:-benchmarks/target/nominee-benchmarks.jar}
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn -B package first" >&2; exit 1; }
+
+for virtual in false true; do
+    mode=$([ "$virtual" = true ] && echo virtual || echo platform)
+    echo "== $mode threads"
+    java -cp "$JAR" com.loanorigination.bench.load.NomineeLoadTest \
+        rate="$RATE" duration="$DURATION" warmup=15 label="$mode-threads" out=benchmarks/target/loadtest \
+        service.nominee.virtual-threads.enabled="$virtual" "$@"
+done
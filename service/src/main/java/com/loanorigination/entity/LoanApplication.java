@@ -0,0 +1,25 @@
+package com.loanorigination.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The loan application a nominee belongs to. Owned by the origination flow; the nominee service only needs
+ * its key, to reference it from NomineeDetails.
+ */
+@Entity
+@Table(name = "loan_application")
+public class LoanApplication {
+
+    @Id
+    private Long applicationId;
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+}
@@ -0,0 +1,134 @@
+package com.loanorigination.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+import java.time.LocalDate;
+
+/**
+ * The nominee of a loan application, one row per application (nomineeId = applicationId for new rows).
+ *
+ * Also the request body of POST / batch / import. PAN and Aadhaar are encrypted at rest by the converters in
+ * META-INF/nominee-orm.xml; the columns added by db/migration (blind indexes, created_at, ...) are written by
+ * SQL and not mapped here.
+ */
+@Entity
+@Table(name = "nominee_details")
+public class NomineeDetails {
+
+    @Id
+    private Long nomineeId;
+
+    @JsonIgnore
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "application_id")
+    private LoanApplication loanApplication;
+
+    private String nomineeName;
+    private String relationship;
+    private LocalDate nomineeDob;
+    private String nomineeAddress;
+    private String nomineePhone;
+    private String nomineeEmail;
+    private String nomineeAadhaar;
+    private String nomineePan;
+
+    // written only by the DB (db/migration/V8); not part of a request body
+    @JsonIgnore
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long version;
+
+    public Long getNomineeId() {
+        return nomineeId;
+    }
+
+    public void setNomineeId(Long nomineeId) {
+        this.nomineeId = nomineeId;
+    }
+
+    public LoanApplication getLoanApplication() {
+        return loanApplication;
+    }
+
+    public void setLoanApplication(LoanApplication loanApplication) {
+        this.loanApplication = loanApplication;
+    }
+
+    public String getNomineeName() {
+        return nomineeName;
+    }
+
+    public void setNomineeName(String nomineeName) {
+        this.nomineeName = nomineeName;
+    }
+
+    public String getRelationship() {
+        return relationship;
+    }
+
+    public void setRelationship(String relationship) {
+        this.relationship = relationship;
+    }
+
+    public LocalDate getNomineeDob() {
+        return nomineeDob;
+    }
+
+    public void setNomineeDob(LocalDate nomineeDob) {
+        this.nomineeDob = nomineeDob;
+    }
+
+    public String getNomineeAddress() {
+        return nomineeAddress;
+    }
+
+    public void setNomineeAddress(String nomineeAddress) {
+        this.nomineeAddress = nomineeAddress;
+    }
+
+    public String getNomineePhone() {
+        return nomineePhone;
+    }
+
+    public void setNomineePhone(String nomineePhone) {
+        this.nomineePhone = nomineePhone;
+    }
+
+    public String getNomineeEmail() {
+        return nomineeEmail;
+    }
+
+    public void setNomineeEmail(String nomineeEmail) {
+        this.nomineeEmail = nomineeEmail;
+    }
+
+    public String getNomineeAadhaar() {
+        return nomineeAadhaar;
+    }
+
+    public void setNomineeAadhaar(String nomineeAadhaar) {
+        this.nomineeAadhaar = nomineeAadhaar;
+    }
+
+    public String getNomineePan() {
+        return nomineePan;
+    }
+
+    public void setNomineePan(String nomineePan) {
+        this.nomineePan = nomineePan;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
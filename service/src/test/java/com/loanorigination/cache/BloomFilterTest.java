@@ -0,0 +1,107 @@
+package com.loanorigination.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void everyAddedKeyIsFound() {
+        BloomFilter filter = BloomFilter.create(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put(pan(i));
+        }
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(filter.mightContain(pan(i))).as("PAN %d", i).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredOne() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(blindIndex(i));
+        }
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 100_000; i < 100_000 + probes; i++) {
+            if (filter.mightContain(blindIndex(i))) {
+                falsePositives++;
+            }
+        }
+        // sized for 1%; leave room for randomness, not for a broken hash
+        assertThat((double) falsePositives / probes).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void shortSimilarKeysSpreadAsWellAsHashes() {
+        // PAN-like keys differ in a couple of characters only
+        BloomFilter filter = BloomFilter.create(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(pan(i));
+        }
+        int falsePositives = 0;
+        for (int i = 20_000; i < 60_000; i++) {
+            if (filter.mightContain(pan(i))) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 40_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() throws Exception {
+        BloomFilter filter = BloomFilter.create(80_000, 0.01);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int from = t * 10_000;
+                writers.add(pool.submit(() -> {
+                    for (int i = from; i < from + 10_000; i++) {
+                        filter.put(blindIndex(i));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int i = 0; i < 80_000; i++) {
+            assertThat(filter.mightContain(blindIndex(i))).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsNonsenseSizing() {
+        assertThatThrownBy(() -> BloomFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(1000, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(1000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] pan(int i) {
+        return String.format("ABCPS%04dK", i % 10_000).concat(Integer.toString(i / 10_000)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // what the filter holds in production: 32-byte HMACs
+    private static byte[] blindIndex(int i) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(ByteBuffer.allocate(4).putInt(i).array());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
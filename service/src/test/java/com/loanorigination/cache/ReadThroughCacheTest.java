@@ -0,0 +1,163 @@
+package com.loanorigination.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadThroughCacheTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<Optional<String>> first = pool.submit(() -> cache.get(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return Optional.of("nominee-1");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<Optional<String>>> waiters = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            waiters.add(pool.submit(() -> cache.get(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of("second load");
+            })));
+        }
+        waitUntil(() -> cache.stats().coalescedCount() == 7);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).contains("nominee-1");
+        for (Future<Optional<String>> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).contains("nominee-1");
+        }
+        assertThat(loads).hasValue(1);
+
+        ReadThroughCache.CacheStats stats = cache.stats();
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.coalescedCount()).isEqualTo(7);
+        // waiting on someone else's load is not a hit
+        assertThat(stats.hitCount()).isZero();
+        assertThat(stats.hitRate()).isZero();
+
+        cache.get(1L, id -> Optional.of("unused"));
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyResultsExpireAfterTheNegativeTtl() throws Exception {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(100, Duration.ofMinutes(5), Duration.ofMillis(50));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        })).isEmpty();
+        assertThat(cache.get(2L, id -> {
+            loads.incrementAndGet();
+            return Optional.of("present");
+        })).contains("present");
+        assertThat(cache.get(1L, id -> Optional.of("not yet"))).isEmpty();
+
+        Thread.sleep(100);
+
+        // the negative entry is gone, the positive one (5 min TTL) is not
+        assertThat(cache.get(1L, id -> Optional.of("created"))).contains("created");
+        assertThat(cache.get(2L, id -> Optional.of("reloaded"))).contains("present");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidationDuringALoadDoesNotKeepTheOldValue() throws Exception {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // a load that read the row before a write committed
+        Future<Optional<String>> staleLoad = pool.submit(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return Optional.of("old");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Optional<String>> waiter = pool.submit(() -> cache.get(1L, id -> Optional.of("unused")));
+        waitUntil(() -> cache.stats().coalescedCount() == 1);
+
+        // the write's invalidation lands while that load is still running
+        cache.invalidate(1L);
+        release.countDown();
+
+        // those already waiting get the load they waited for
+        assertThat(staleLoad.get(5, TimeUnit.SECONDS)).contains("old");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).contains("old");
+        // but it wasn't kept: the next get loads again
+        assertThat(cache.get(1L, id -> Optional.of("new"))).contains("new");
+        assertThat(cache.get(1L, id -> Optional.of("unused"))).contains("new");
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+        assertThatThrownBy(() -> cache.get(1L, id -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(1L, id -> Optional.of("loaded"))).contains("loaded");
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(1);
+        assertThat(cache.stats().loadSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsOldestEntriesPastMaxSize() {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(2, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        cache.get(1L, id -> Optional.of("1"));
+        cache.get(2L, id -> Optional.of("2"));
+        cache.get(3L, id -> Optional.of("3"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+        assertThat(cache.get(1L, id -> Optional.of("reloaded"))).contains("reloaded");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
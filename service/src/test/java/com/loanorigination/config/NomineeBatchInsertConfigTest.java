@@ -0,0 +1,32 @@
+package com.loanorigination.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NomineeBatchInsertConfigTest {
+
+    @Test
+    void turnsRewriteOnUnlessConfigured() {
+        BeanPostProcessor processor = NomineeBatchInsertConfig.rewriteBatchedInserts(true);
+
+        HikariDataSource plain = new HikariDataSource();
+        processor.postProcessAfterInitialization(plain, "dataSource");
+        assertThat(plain.getDataSourceProperties()).containsEntry("reWriteBatchedInserts", "true");
+
+        HikariDataSource configured = new HikariDataSource();
+        configured.addDataSourceProperty("reWriteBatchedInserts", "false");
+        processor.postProcessAfterInitialization(configured, "dataSource");
+        assertThat(configured.getDataSourceProperties()).containsEntry("reWriteBatchedInserts", "false");
+    }
+
+    @Test
+    void leavesPoolsAloneWhenDisabled() {
+        HikariDataSource plain = new HikariDataSource();
+        NomineeBatchInsertConfig.rewriteBatchedInserts(false).postProcessAfterInitialization(plain, "dataSource");
+
+        assertThat(plain.getDataSourceProperties()).doesNotContainKey("reWriteBatchedInserts");
+    }
+}
@@ -0,0 +1,81 @@
+package com.loanorigination.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NomineeConcurrencyLimitFilterTest {
+
+    @Test
+    void requestsOverTheCapGet503AfterTheTimeout() throws Exception {
+        NomineeConcurrencyLimitFilter filter = new NomineeConcurrencyLimitFilter(1, Duration.ofMillis(50));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain holding = (req, res) -> {
+            inside.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread first = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(request("PATCH", "/api/applications/1/nominee"), new MockHttpServletResponse(), holding);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/applications/2/nominee"), rejected, new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+        release.countDown();
+        first.join(5000);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheReadsBulkTransfersAndStreamsAreNotLimited() throws Exception {
+        NomineeConcurrencyLimitFilter filter = new NomineeConcurrencyLimitFilter(0, Duration.ZERO);
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+                request("GET", "/api/applications/1/nominee"),
+                request("POST", "/api/nominees/import"),
+                request("GET", "/api/nominees/import/42"),
+                request("GET", "/api/nominees/export"),
+                request("PUT", "/api/applications/1/nominee/attachments/pan"),
+                request("GET", "/api/applications/1/nominee/events"),
+                request("GET", "/api/nominees/events")}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, response, chain);
+            assertThat(chain.getRequest()).as(request.getMethod() + " " + request.getRequestURI()).isNotNull();
+        }
+
+        // no permits at all: everything else is turned away
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+                request("POST", "/api/applications/1/nominee"),
+                request("GET", "/api/nominees/search"),
+                request("POST", "/api/nominees/batch")}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).as(request.getMethod() + " " + request.getRequestURI()).isEqualTo(503);
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,49 @@
+package com.loanorigination.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NomineeAttachmentControllerTest {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    void parsesASingleRange() {
+        assertThat(NomineeAttachmentController.parseRange("bytes=0-499", SIZE)).containsExactly(0, 499);
+        assertThat(NomineeAttachmentController.parseRange("bytes=500-", SIZE)).containsExactly(500, 999);
+        assertThat(NomineeAttachmentController.parseRange("bytes= 10 - 19 ", SIZE)).containsExactly(10, 19);
+    }
+
+    @Test
+    void clampsTheEndToTheSize() {
+        assertThat(NomineeAttachmentController.parseRange("bytes=900-5000", SIZE)).containsExactly(900, 999);
+        assertThat(NomineeAttachmentController.parseRange("bytes=999-999", SIZE)).containsExactly(999, 999);
+    }
+
+    @Test
+    void suffixRangeIsTheLastNBytes() {
+        assertThat(NomineeAttachmentController.parseRange("bytes=-100", SIZE)).containsExactly(900, 999);
+        // longer than the file: all of it
+        assertThat(NomineeAttachmentController.parseRange("bytes=-5000", SIZE)).containsExactly(0, 999);
+    }
+
+    @Test
+    void unsatisfiableRangesAreNull() {
+        assertThat(NomineeAttachmentController.parseRange("bytes=1000-", SIZE)).isNull();
+        assertThat(NomineeAttachmentController.parseRange("bytes=1000-1200", SIZE)).isNull();
+        assertThat(NomineeAttachmentController.parseRange("bytes=-0", SIZE)).isNull();
+        assertThat(NomineeAttachmentController.parseRange("bytes=0-", 0)).isNull();
+    }
+
+    @Test
+    void headersToIgnoreGiveAnEmptyArray() {
+        // not bytes, several ranges, or malformed: the whole file is sent with 200
+        assertThat(NomineeAttachmentController.parseRange("items=0-1", SIZE)).isEmpty();
+        assertThat(NomineeAttachmentController.parseRange("bytes=0-1,5-6", SIZE)).isEmpty();
+        assertThat(NomineeAttachmentController.parseRange("bytes=abc", SIZE)).isEmpty();
+        assertThat(NomineeAttachmentController.parseRange("bytes=a-b", SIZE)).isEmpty();
+        assertThat(NomineeAttachmentController.parseRange("bytes=-", SIZE)).isEmpty();
+        assertThat(NomineeAttachmentController.parseRange("bytes=500-100", SIZE)).isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+package com.loanorigination.crypto;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NomineeFieldEncryptorTest {
+
+    private static final String K1 = key(1);
+    private static final String K2 = key(2);
+    private static final String INDEX_KEY = key(3);
+
+    @Test
+    void roundTripsUnderTheActiveKey() {
+        NomineeFieldEncryptor encryptor = encryptor("k1:" + K1, "k1", INDEX_KEY);
+
+        String stored = encryptor.encrypt(Field.PAN, "ABCPS1234K");
+        assertThat(stored).startsWith("enc1:k1:").doesNotContain("ABCPS1234K");
+        assertThat(encryptor.decrypt(Field.PAN, stored)).isEqualTo("ABCPS1234K");
+        assertThat(encryptor.isCurrent(stored)).isTrue();
+        // fresh IV every time
+        assertThat(encryptor.encrypt(Field.PAN, "ABCPS1234K")).isNotEqualTo(stored);
+        assertThat(encryptor.encrypt(Field.PAN, null)).isNull();
+        // written before encryption was switched on
+        assertThat(encryptor.decrypt(Field.PAN, "ABCPS1234K")).isEqualTo("ABCPS1234K");
+        assertThat(encryptor.isCurrent("ABCPS1234K")).isFalse();
+    }
+
+    @Test
+    void rotationKeepsOldValuesReadable() {
+        NomineeFieldEncryptor before = encryptor("k1:" + K1, "k1", INDEX_KEY);
+        String underK1 = before.encrypt(Field.AADHAAR, "234123412346");
+
+        NomineeFieldEncryptor rotated = encryptor("k1:" + K1 + ",k2:" + K2, "k2", INDEX_KEY);
+        assertThat(rotated.decrypt(Field.AADHAAR, underK1)).isEqualTo("234123412346");
+        assertThat(rotated.isCurrent(underK1)).isFalse();
+        String underK2 = rotated.encrypt(Field.AADHAAR, "234123412346");
+        assertThat(underK2).startsWith("enc1:k2:");
+        assertThat(rotated.isCurrent(underK2)).isTrue();
+
+        // k1 dropped from the list too early
+        NomineeFieldEncryptor k2Only = encryptor("k2:" + K2, "k2", INDEX_KEY);
+        assertThatThrownBy(() -> k2Only.decrypt(Field.AADHAAR, underK1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("unknown key id 'k1'")
+                .hasMessageNotContaining("234123412346");
+    }
+
+    @Test
+    void ciphertextOfOneColumnDoesNotDecryptAsAnother() {
+        NomineeFieldEncryptor encryptor = encryptor("k1:" + K1, "k1", INDEX_KEY);
+        String pan = encryptor.encrypt(Field.PAN, "ABCPS1234K");
+
+        assertThatThrownBy(() -> encryptor.decrypt(Field.AADHAAR, pan))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("authentication failed");
+    }
+
+    @Test
+    void tamperedOrTruncatedValuesAreRejected() {
+        NomineeFieldEncryptor encryptor = encryptor("k1:" + K1, "k1", INDEX_KEY);
+        String stored = encryptor.encrypt(Field.PAN, "ABCPS1234K");
+        byte[] raw = Base64.getDecoder().decode(stored.substring("enc1:k1:".length()));
+        raw[raw.length - 1] ^= 1;
+        String tampered = "enc1:k1:" + Base64.getEncoder().encodeToString(raw);
+
+        assertThatThrownBy(() -> encryptor.decrypt(Field.PAN, tampered)).hasMessageContaining("authentication failed");
+        assertThatThrownBy(() -> encryptor.decrypt(Field.PAN, "enc1:k1:AAAA")).hasMessageContaining("truncated");
+    }
+
+    @Test
+    void blindIndexIgnoresFormattingAndDependsOnTheKey() {
+        NomineeFieldEncryptor encryptor = encryptor("k1:" + K1, "k1", INDEX_KEY);
+
+        assertThat(encryptor.blindIndex(Field.PAN, "abcps 1234k")).hasSize(16)
+                .isEqualTo(encryptor.blindIndex(Field.PAN, "ABCPS1234K"));
+        assertThat(encryptor.blindIndex(Field.AADHAAR, "2341-2341-2346"))
+                .isEqualTo(encryptor.blindIndex(Field.AADHAAR, "234123412346"));
+        // same value, other column: other index
+        assertThat(encryptor.blindIndex(Field.AADHAAR, "234123412346"))
+                .isNotEqualTo(encryptor.blindIndex(Field.PAN, "234123412346"));
+        assertThat(encryptor.blindIndex(Field.PAN, "  ")).isNull();
+
+        // the data keys rotate, the blind index key doesn't
+        NomineeFieldEncryptor rotated = encryptor("k2:" + K2, "k2", INDEX_KEY);
+        assertThat(rotated.blindIndex(Field.PAN, "ABCPS1234K")).isEqualTo(encryptor.blindIndex(Field.PAN, "ABCPS1234K"));
+        NomineeFieldEncryptor otherIndexKey = encryptor("k1:" + K1, "k1", key(4));
+        assertThat(otherIndexKey.blindIndex(Field.PAN, "ABCPS1234K")).isNotEqualTo(encryptor.blindIndex(Field.PAN, "ABCPS1234K"));
+    }
+
+    @Test
+    void encryptionNeedsAnActiveKeyAndABlindIndexKey() {
+        assertThatThrownBy(() -> encryptor("k1:" + K1, "k9", INDEX_KEY))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("active-key 'k9'");
+        assertThatThrownBy(() -> encryptor("k1:" + K1, "k1", ""))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("blind-index-key is required");
+        assertThatThrownBy(() -> encryptor("k1:" + Base64.getEncoder().encodeToString(new byte[16]), "k1", INDEX_KEY))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("must be 32 bytes");
+    }
+
+    @Test
+    void withoutABlindIndexKeyNoIndexIsStored() {
+        NomineeFieldEncryptor off = new NomineeFieldEncryptor(false, "", "", "", 0);
+
+        assertThat(off.hasBlindIndexKey()).isFalse();
+        assertThat(off.blindIndex(Field.PAN, "ABCPS1234K")).isNull();
+        assertThat(off.encrypt(Field.PAN, "ABCPS1234K")).isEqualTo("ABCPS1234K");
+        assertThat(off.isCurrent("ABCPS1234K")).isTrue();
+    }
+
+    private static NomineeFieldEncryptor encryptor(String keys, String active, String indexKey) {
+        return new NomineeFieldEncryptor(true, keys, active, indexKey, 2);
+    }
+
+    private static String key(int fill) {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) fill);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
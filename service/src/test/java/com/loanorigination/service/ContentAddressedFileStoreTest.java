@@ -0,0 +1,143 @@
+package com.loanorigination.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentAddressedFileStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void storesIdenticalContentOnce() throws IOException {
+        ContentAddressedFileStore store = new ContentAddressedFileStore(root);
+
+        ContentAddressedFileStore.StoredBlob first = store.store(stream("aadhaar scan"), 1000);
+        ContentAddressedFileStore.StoredBlob second = store.store(stream("aadhaar scan"), 1000);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first.sizeBytes()).isEqualTo(12);
+        assertThat(Files.readString(store.pathOf(first.sha256()))).isEqualTo("aadhaar scan");
+        assertThat(Files.list(root.resolve("tmp"))).isEmpty();
+    }
+
+    @Test
+    void keepsNothingOfATooLargeUpload() throws IOException {
+        ContentAddressedFileStore store = new ContentAddressedFileStore(root);
+
+        assertThatThrownBy(() -> store.store(stream("0123456789"), 5))
+                .isInstanceOf(ContentAddressedFileStore.BlobTooLargeException.class);
+        assertThat(Files.list(root.resolve("tmp"))).isEmpty();
+    }
+
+    @Test
+    void deletesOnlyOldUnreferencedBlobs() throws IOException {
+        ContentAddressedFileStore store = new ContentAddressedFileStore(root);
+        String kept = store.store(stream("still attached"), 1000).sha256();
+        String orphan = store.store(stream("replaced"), 1000).sha256();
+        String fresh = store.store(stream("metadata not committed yet"), 1000).sha256();
+        age(store.pathOf(kept), Duration.ofHours(2));
+        age(store.pathOf(orphan), Duration.ofHours(2));
+        Path crashedUpload = Files.createFile(root.resolve("tmp").resolve("upload-1.part"));
+        age(crashedUpload, Duration.ofHours(2));
+
+        Set<String> asked = new HashSet<>();
+        int deleted = store.deleteUnreferenced(Duration.ofHours(1), 10, hashes -> {
+            asked.addAll(hashes);
+            return hashes.contains(kept) ? Set.of(kept) : Set.of();
+        });
+
+        assertThat(deleted).isEqualTo(1);
+        // the fresh blob is within the grace period, it isn't even looked up
+        assertThat(asked).containsExactlyInAnyOrder(kept, orphan);
+        assertThat(store.pathOf(kept)).exists();
+        assertThat(store.pathOf(orphan)).doesNotExist();
+        assertThat(store.pathOf(fresh)).exists();
+        assertThat(crashedUpload).doesNotExist();
+    }
+
+    @Test
+    void storingExistingContentAgainRestartsTheGracePeriod() throws IOException {
+        ContentAddressedFileStore store = new ContentAddressedFileStore(root);
+        String sha256 = store.store(stream("uploaded twice"), 1000).sha256();
+        age(store.pathOf(sha256), Duration.ofHours(2));
+
+        store.store(stream("uploaded twice"), 1000);
+
+        assertThat(store.deleteUnreferenced(Duration.ofHours(1), 10, hashes -> Set.of())).isZero();
+        assertThat(store.pathOf(sha256)).exists();
+    }
+
+    @Test
+    void collectorDoesNotDeleteABlobAnUploadIsTouching() throws Exception {
+        ContentAddressedFileStore store = new ContentAddressedFileStore(root);
+        String sha256 = store.store(stream("uploaded again"), 1000).sha256();
+        age(store.pathOf(sha256), Duration.ofHours(2));
+
+        // as store() holds it around the touch
+        Lock lock = store.lockFor(sha256);
+        lock.lock();
+        CompletableFuture<Integer> collected;
+        try {
+            collected = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return store.deleteUnreferenced(Duration.ofHours(1), 10, hashes -> Set.of());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            Thread.sleep(200);
+            assertThat(collected).as("waiting for the lock before its last mtime check").isNotDone();
+            store.store(stream("uploaded again"), 1000);
+        } finally {
+            lock.unlock();
+        }
+
+        assertThat(collected.get(5, TimeUnit.SECONDS)).isZero();
+        assertThat(store.pathOf(sha256)).exists();
+    }
+
+    @Test
+    void queriesReferencesInBatches() throws IOException {
+        ContentAddressedFileStore store = new ContentAddressedFileStore(root);
+        for (int i = 0; i < 5; i++) {
+            age(store.pathOf(store.store(stream("blob " + i), 1000).sha256()), Duration.ofHours(2));
+        }
+        int[] calls = {0};
+
+        int deleted = store.deleteUnreferenced(Duration.ofHours(1), 2, hashes -> {
+            calls[0]++;
+            assertThat(hashes).hasSizeLessThanOrEqualTo(2);
+            return Set.of();
+        });
+
+        assertThat(deleted).isEqualTo(5);
+        assertThat(calls[0]).isEqualTo(3);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void age(Path file, Duration age) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.loanorigination.service;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeBatchResult.ItemResult;
+import com.loanorigination.entity.NomineeDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NomineeBatchWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final NomineeBatchWriter writer = new NomineeBatchWriter(jdbcTemplate, mock(PlatformTransactionManager.class),
+            new NomineeMetrics(new SimpleMeterRegistry()), new NomineeValidator(),
+            new NomineeFieldEncryptor(false, "", "", "", 0), mock(NomineeOutboxRelay.class));
+
+    @Test
+    void sendsOnlyTheLastItemPerApplicationIdInApplicationIdOrder() throws SQLException {
+        List<NomineeBatchItem> chunk = List.of(item(2, "Asha"), item(1, "Priya"), item(2, "Asha Rao"), item(3, "Ravi"));
+
+        List<ItemResult> results = writer.writeChunk(chunk, 0);
+
+        assertThat(results).extracting(ItemResult::success).containsOnly(true);
+        ArgumentCaptor<BatchPreparedStatementSetter> batch = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq(NomineeBatchWriter.UPSERT_SQL), batch.capture());
+        // a multi-row INSERT .. ON CONFLICT (reWriteBatchedInserts) can't touch application 2 twice
+        assertThat(sent(batch.getValue())).containsExactly("1 Priya", "2 Asha Rao", "3 Ravi");
+    }
+
+    private static List<String> sent(BatchPreparedStatementSetter batch) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < batch.getBatchSize(); i++) {
+            PreparedStatement ps = mock(PreparedStatement.class);
+            long[] applicationId = new long[1];
+            String[] name = new String[1];
+            doAnswer(inv -> applicationId[0] = inv.getArgument(1)).when(ps).setLong(eq(2), anyLong());
+            doAnswer(inv -> name[0] = inv.getArgument(1)).when(ps).setString(eq(3), any());
+            batch.setValues(ps, i);
+            rows.add(applicationId[0] + " " + name[0]);
+        }
+        return rows;
+    }
+
+    private static NomineeBatchItem item(long applicationId, String name) {
+        NomineeDetails nominee = new NomineeDetails();
+        nominee.setNomineeName(name);
+        nominee.setRelationship("Spouse");
+        return new NomineeBatchItem(applicationId, nominee);
+    }
+}
@@ -0,0 +1,92 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeExportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NomineeCsvTest {
+
+    @Test
+    void quotesOnlyFieldsThatNeedIt() throws IOException {
+        StringWriter out = new StringWriter();
+        NomineeCsv.writeRow(out, new NomineeExportRow(1L, 1L, "Asha \"Ashu\" Rao", "SPOUSE", LocalDate.of(1990, 1, 2),
+                "12, MG Road\nBengaluru", null, "asha@example.com", null, "ABCDE1234F"));
+
+        assertThat(out.toString()).isEqualTo(
+                "1,1,\"Asha \"\"Ashu\"\" Rao\",SPOUSE,1990-01-02,\"12, MG Road\nBengaluru\",,asha@example.com,,ABCDE1234F\r\n");
+    }
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        NomineeExportRow row = new NomineeExportRow(42L, 42L, "a,b", "\"", null, "line 1\r\nline 2", "", "x\"\"y", null, ",");
+        StringWriter out = new StringWriter();
+        NomineeCsv.writeHeader(out);
+        NomineeCsv.writeRow(out, row);
+
+        NomineeCsv.RecordReader reader = new NomineeCsv.RecordReader(new StringReader(out.toString()));
+        assertThat(reader.next()).isEqualTo(NomineeCsv.COLUMNS);
+        assertThat(reader.next()).containsExactly("42", "42", "a,b", "\"", "", "line 1\r\nline 2", "", "x\"\"y", "", ",");
+        assertThat(reader.recordNumber()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void acceptsLfAndCrlfAndSkipsBlankLines() throws IOException {
+        NomineeCsv.RecordReader reader = new NomineeCsv.RecordReader(new StringReader("a,b\r\n\r\nc,d\n\ne,\"\"\nf"));
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).containsExactly("c", "d");
+        assertThat(reader.next()).containsExactly("e", "");
+        // last record without a line break
+        assertThat(reader.next()).containsExactly("f");
+        assertThat(reader.recordNumber()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void keepsEmptyTrailingFields() throws IOException {
+        NomineeCsv.RecordReader reader = new NomineeCsv.RecordReader(new StringReader("1,,\n"));
+
+        assertThat(reader.next()).isEqualTo(List.of("1", "", ""));
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuote() throws IOException {
+        NomineeCsv.RecordReader reader = new NomineeCsv.RecordReader(new StringReader("ok\n\"never closed,\n"));
+
+        assertThat(reader.next()).containsExactly("ok");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("record 2");
+    }
+
+    @Test
+    void rejectsAFieldOverTheLimit() throws IOException {
+        String longField = "x".repeat(NomineeCsv.RecordReader.MAX_FIELD_CHARS + 1);
+        NomineeCsv.RecordReader reader = new NomineeCsv.RecordReader(new StringReader("ok\n1,\"" + longField + "\"\n"));
+
+        assertThat(reader.next()).containsExactly("ok");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Field longer than 65536 characters in record 2");
+    }
+
+    @Test
+    void rejectsARecordOverTheLimitEvenWithShortFields() throws IOException {
+        NomineeCsv.RecordReader reader = new NomineeCsv.RecordReader(new StringReader("a,b,c\n\n\n\n1,2,3,4,5\n"), 4, 8);
+
+        // blank lines in between don't count towards the record
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Record 2 is longer than 8 characters");
+    }
+}
@@ -0,0 +1,60 @@
+package com.loanorigination.service;
+
+import com.loanorigination.crypto.NomineeFieldEncryptor;
+import com.loanorigination.crypto.NomineeFieldEncryptor.Field;
+import com.loanorigination.exception.NomineeDuplicateCheckUnavailableException;
+import com.loanorigination.repository.NomineeDetailsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NomineeDuplicateCheckServiceTest {
+
+    private final NomineeDetailsRepository nomineeRepo = mock(NomineeDetailsRepository.class);
+
+    @Test
+    void withoutABlindIndexKeyLookupsAreRefusedNotEmpty() {
+        NomineeDuplicateCheckService service = service(new NomineeFieldEncryptor(false, "", "", "", 0));
+
+        assertThatThrownBy(() -> service.findDuplicates("ABCPS1234K", "234123412346"))
+                .isInstanceOf(NomineeDuplicateCheckUnavailableException.class)
+                .hasMessageContaining("blind-index-key");
+        verifyNoInteractions(nomineeRepo);
+    }
+
+    @Test
+    void withABlindIndexKeyLookupsGoToTheIndex() {
+        NomineeFieldEncryptor encryptor = new NomineeFieldEncryptor(false, "", "",
+                Base64.getEncoder().encodeToString(new byte[32]), 0);
+        byte[] pan = encryptor.blindIndex(Field.PAN, "ABCPS1234K");
+        when(nomineeRepo.findApplicationIdsByNomineePanIndex(any())).thenAnswer(inv ->
+                Arrays.equals(inv.getArgument(0), pan) ? List.of(7L) : List.of());
+
+        // no filters built yet: every lookup is a query
+        NomineeDuplicateCheckService.DuplicateMatches matches = service(encryptor).findDuplicates("abcps 1234k", null);
+        assertThat(matches.panMatches()).containsExactly(7L);
+        assertThat(matches.aadhaarMatches()).isEmpty();
+    }
+
+    private NomineeDuplicateCheckService service(NomineeFieldEncryptor encryptor) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(mock(DataSource.class));
+        return new NomineeDuplicateCheckService(nomineeRepo, jdbcTemplate, mock(PlatformTransactionManager.class),
+                new NomineeMetrics(new SimpleMeterRegistry()), encryptor, 1000, 0.01, Duration.ofHours(1), 10_000,
+                Duration.ofSeconds(10));
+    }
+}
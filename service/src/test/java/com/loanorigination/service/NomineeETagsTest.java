@@ -0,0 +1,51 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NomineeETagsTest {
+
+    @Test
+    void tagIsTheQuotedVersion() {
+        NomineeView v = new NomineeView(7L, "Asha", "SPOUSE", LocalDate.of(1990, 1, 1), null, null, null, null, null, 42L);
+
+        assertThat(NomineeETags.of(v)).isEqualTo("\"42\"");
+        assertThat(NomineeETags.of(v)).isEqualTo(NomineeETags.of(42L));
+    }
+
+    @Test
+    void ifMatchComparesStrongly() {
+        assertThat(NomineeETags.matchesIfMatch("\"42\"", "\"42\"")).isTrue();
+        assertThat(NomineeETags.matchesIfMatch("\"41\"", "\"42\"")).isFalse();
+        // a weak tag never matches for If-Match
+        assertThat(NomineeETags.matchesIfMatch("W/\"42\"", "\"42\"")).isFalse();
+        // unquoted isn't the same tag
+        assertThat(NomineeETags.matchesIfMatch("42", "\"42\"")).isFalse();
+    }
+
+    @Test
+    void ifMatchAcceptsAnyTagOfAList() {
+        assertThat(NomineeETags.matchesIfMatch("\"40\", \"42\"", "\"42\"")).isTrue();
+        assertThat(NomineeETags.matchesIfMatch("\"40\",\"41\"", "\"42\"")).isFalse();
+        assertThat(NomineeETags.matchesIfMatch("W/\"42\", \"42\"", "\"42\"")).isTrue();
+    }
+
+    @Test
+    void ifMatchStarNeedsAnExistingNominee() {
+        assertThat(NomineeETags.matchesIfMatch("*", "\"42\"")).isTrue();
+        assertThat(NomineeETags.matchesIfMatch("*", null)).isFalse();
+        assertThat(NomineeETags.matchesIfMatch("\"42\"", null)).isFalse();
+    }
+
+    @Test
+    void ifNoneMatchComparesWeakly() {
+        assertThat(NomineeETags.matchesIfNoneMatch("W/\"42\"", "\"42\"")).isTrue();
+        assertThat(NomineeETags.matchesIfNoneMatch("\"41\", W/\"42\"", "\"42\"")).isTrue();
+        assertThat(NomineeETags.matchesIfNoneMatch("*", "\"42\"")).isTrue();
+        assertThat(NomineeETags.matchesIfNoneMatch("\"41\"", "\"42\"")).isFalse();
+    }
+}
@@ -0,0 +1,120 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeBatchItem;
+import com.loanorigination.dto.NomineeBatchResult;
+import com.loanorigination.service.NomineeImportService.ImportProgress;
+import com.loanorigination.service.NomineeImportService.State;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checkpoints of NomineeImportService: written per chunk, tied to the file, gone once the import completes.
+ */
+class NomineeImportServiceTest {
+
+    private static final String FILE = """
+            applicationId,nomineeName
+            1,Priya Sharma
+            2,Asha
+            3,Ravi
+            """;
+
+    @TempDir
+    Path checkpointDir;
+
+    private final NomineeDetailsService nomineeService = mock(NomineeDetailsService.class);
+    private final List<Long> written = new ArrayList<>();
+
+    NomineeImportServiceTest() {
+        writeAll();
+    }
+
+    @Test
+    void completedImportDeletesItsCheckpoint() throws IOException {
+        ImportProgress progress = importFile("full", FILE);
+
+        assertThat(progress.state()).isEqualTo(State.COMPLETED);
+        assertThat(written).containsExactly(1L, 2L, 3L);
+        assertThat(checkpointDir.resolve("full.checkpoint")).doesNotExist();
+        // and the id can be used again, from the start
+        assertThat(importFile("full", FILE).resumedAfterRecord()).isZero();
+    }
+
+    @Test
+    void failedImportResumesOnlyForTheSameFile() throws IOException {
+        failAfter(1);
+        assertThat(importFile("partial", FILE).state()).isEqualTo(State.FAILED);
+        assertThat(checkpointDir.resolve("partial.checkpoint")).exists();
+
+        writeAll();
+        written.clear();
+        // same size, one row differs
+        assertThatThrownBy(() -> importFile("partial", FILE.replace("Asha", "Usha")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("different file");
+        assertThatThrownBy(() -> service().importCsv("partial", stream(FILE), -1))
+                .as("same bytes, posted without a Content-Length")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(written).isEmpty();
+
+        ImportProgress resumed = importFile("partial", FILE);
+        assertThat(resumed.state()).isEqualTo(State.COMPLETED);
+        // record 1 is the header
+        assertThat(resumed.resumedAfterRecord()).isEqualTo(2);
+        assertThat(written).containsExactly(2L, 3L);
+    }
+
+    private ImportProgress importFile(String importId, String csv) throws IOException {
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        return service().importCsv(importId, new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    /**
+     * Chunks of one row: a checkpoint after every record.
+     */
+    private NomineeImportService service() {
+        return new NomineeImportService(nomineeService, checkpointDir, 1, 10, 1, Duration.ofHours(1), 10);
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeAll() {
+        doAnswer(inv -> {
+            List<NomineeBatchItem> chunk = inv.getArgument(0);
+            List<NomineeBatchResult.ItemResult> items = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                written.add(chunk.get(i).applicationId());
+                items.add(NomineeBatchResult.ItemResult.ok(i, chunk.get(i).applicationId()));
+            }
+            return new NomineeBatchResult(items.size(), items.size(), 0, items);
+        }).when(nomineeService).upsertNominees(any());
+    }
+
+    private void failAfter(int chunks) {
+        int[] calls = {0};
+        doAnswer(inv -> {
+            if (++calls[0] > chunks) {
+                throw new IllegalStateException("database went away");
+            }
+            List<NomineeBatchItem> chunk = inv.getArgument(0);
+            written.add(chunk.get(0).applicationId());
+            return new NomineeBatchResult(1, 1, 0, List.of(NomineeBatchResult.ItemResult.ok(0, chunk.get(0).applicationId())));
+        }).when(nomineeService).upsertNominees(any());
+    }
+}
@@ -0,0 +1,124 @@
+package com.loanorigination.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineeValidationException;
+import com.loanorigination.repository.NomineeColumn;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class NomineeMergePatchTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final NomineeView CURRENT = new NomineeView(42L, "Priya Sharma", "Spouse", LocalDate.of(1991, 4, 17),
+            "MG Road, Bengaluru", "9876543210", "priya.sharma@example.com", "234123412346", "ABCPS1234K", 3L);
+
+    @Test
+    void presentFieldsAreSetAndAbsentOnesKept() {
+        NomineeMergePatch patch = parse("{\"nomineePhone\": \"9123456780\", \"nomineeDob\": \"1990-01-02\"}");
+
+        NomineeDetails merged = patch.applyTo(CURRENT);
+        assertThat(merged.getNomineePhone()).isEqualTo("9123456780");
+        assertThat(merged.getNomineeDob()).isEqualTo(LocalDate.of(1990, 1, 2));
+        assertThat(merged.getNomineeName()).isEqualTo("Priya Sharma");
+        assertThat(merged.getNomineePan()).isEqualTo("ABCPS1234K");
+        assertThat(merged.getNomineeId()).isEqualTo(42L);
+        assertThat(merged.getVersion()).isEqualTo(3L);
+        assertThat(patch.changedFrom(CURRENT)).containsExactlyInAnyOrder(NomineeColumn.PHONE, NomineeColumn.DOB);
+    }
+
+    @Test
+    void explicitNullClearsButAbsentDoesNot() {
+        NomineeMergePatch clear = parse("{\"nomineeEmail\": null, \"nomineeDob\": null}");
+        NomineeDetails merged = clear.applyTo(CURRENT);
+        assertThat(merged.getNomineeEmail()).isNull();
+        assertThat(merged.getNomineeDob()).isNull();
+        assertThat(clear.changedFrom(CURRENT)).containsExactlyInAnyOrder(NomineeColumn.EMAIL, NomineeColumn.DOB);
+
+        NomineeMergePatch empty = parse("{}");
+        assertThat(empty.applyTo(CURRENT).getNomineeEmail()).isEqualTo("priya.sharma@example.com");
+        assertThat(empty.changedFrom(CURRENT)).isEmpty();
+
+        // clearing what is already empty changes nothing
+        NomineeView noEmail = new NomineeView(42L, "Priya Sharma", null, null, null, null, null, null, null, 3L);
+        assertThat(clear.changedFrom(noEmail)).isEmpty();
+    }
+
+    @Test
+    void valuesEqualToTheCurrentOnesAreNotChanges() {
+        NomineeMergePatch patch = parse("{\"nomineeName\": \"Priya Sharma\", \"relationship\": \"Mother\"}");
+
+        assertThat(patch.changedFrom(CURRENT)).containsExactly(NomineeColumn.RELATIONSHIP);
+        assertThat(patch.applyTo(CURRENT).getRelationship()).isEqualTo("Mother");
+    }
+
+    @Test
+    void applyToLeavesTheCurrentRowAlone() {
+        NomineeDetails entity = new NomineeDetails();
+        entity.setNomineeName("Priya Sharma");
+        NomineeView current = NomineeView.of(entity);
+
+        NomineeDetails merged = parse("{\"nomineeName\": \"Asha\"}").applyTo(current);
+        assertThat(merged.getNomineeName()).isEqualTo("Asha");
+        assertThat(current.nomineeName()).isEqualTo("Priya Sharma");
+        assertThat(entity.getNomineeName()).isEqualTo("Priya Sharma");
+    }
+
+    @Test
+    void valuesHoldOnlyThePatchedFields() {
+        NomineeDetails values = parse("{\"nomineePan\": \"abcps1234k\"}").values();
+
+        assertThat(values.getNomineePan()).isEqualTo("abcps1234k");
+        assertThat(values.getNomineeName()).isNull();
+        assertThat(values.getNomineeAadhaar()).isNull();
+    }
+
+    @Test
+    void nonNomineeMembersAreIgnored() {
+        NomineeMergePatch patch = parse("{\"nomineeId\": 7, \"version\": 99, \"loanApplication\": {\"id\": 1}}");
+
+        assertThat(patch.changedFrom(CURRENT)).isEmpty();
+        assertThat(patch.applyTo(CURRENT).getNomineeId()).isEqualTo(42L);
+    }
+
+    @Test
+    void wrongTypesAreReportedPerField() {
+        assertThatThrownBy(() -> parse("{\"nomineeName\": {\"first\": \"Priya\"}, \"nomineePhone\": [1], \"nomineeDob\": \"17/04/1991\"}"))
+                .isInstanceOfSatisfying(NomineeValidationException.class, e -> assertThat(e.getErrors())
+                        .extracting(NomineeFieldError::field, NomineeFieldError::code)
+                        .containsExactly(
+                                tuple("nomineeName", "invalid_type"),
+                                tuple("nomineePhone", "invalid_type"),
+                                tuple("nomineeDob", "invalid_format")));
+
+        // numbers and booleans aren't coerced to strings
+        assertThatThrownBy(() -> parse("{\"nomineePhone\": 98765, \"nomineeName\": true, \"nomineeDob\": 19910417}"))
+                .isInstanceOfSatisfying(NomineeValidationException.class, e -> assertThat(e.getErrors())
+                        .extracting(NomineeFieldError::field, NomineeFieldError::code)
+                        .containsExactly(
+                                tuple("nomineePhone", "invalid_type"),
+                                tuple("nomineeName", "invalid_type"),
+                                tuple("nomineeDob", "invalid_type")));
+
+        for (String body : new String[]{"[]", "\"x\"", "null"}) {
+            assertThatThrownBy(() -> parse(body)).as(body).isInstanceOf(NomineeValidationException.class);
+        }
+    }
+
+    private static NomineeMergePatch parse(String body) {
+        try {
+            return NomineeMergePatch.parse(JSON.readTree(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
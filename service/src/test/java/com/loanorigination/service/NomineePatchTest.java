@@ -0,0 +1,119 @@
+package com.loanorigination.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanorigination.dto.NomineeChangeEvent;
+import com.loanorigination.dto.NomineeView;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineePreconditionFailedException;
+import com.loanorigination.repository.NomineeColumn;
+import com.loanorigination.repository.NomineeDetailsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * NomineeDetailsService.patchNominee against a mocked repository: which statements a PATCH issues.
+ */
+class NomineePatchTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final NomineeDetailsRepository nomineeRepo = mock(NomineeDetailsRepository.class);
+    private final NomineeOutboxRelay outbox = mock(NomineeOutboxRelay.class);
+    private final NomineeDetailsService service = new NomineeDetailsService(nomineeRepo, mock(NomineeBatchWriter.class),
+            new NomineeMetrics(new SimpleMeterRegistry()), mock(NomineeDuplicateCheckService.class),
+            mock(NomineeReadRouting.class), outbox, 500, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+    @Test
+    void noOpPatchTakesNoLockAndWritesNothing() {
+        when(nomineeRepo.findViewByApplicationId(1L)).thenReturn(Optional.of(view("Priya Sharma", 3L)));
+
+        Optional<NomineeDetails> result = service.patchNominee(1L, patch("{\"nomineeName\": \"Priya Sharma\"}"), null);
+        assertThat(result).get().extracting(NomineeDetails::getVersion).isEqualTo(3L);
+        // conditional and still a no-op: compared against the version read, no lock either
+        service.patchNominee(1L, patch("{\"nomineeName\": \"Priya Sharma\"}"), "\"3\"");
+
+        verify(nomineeRepo, never()).lockByApplicationId(any());
+        verify(nomineeRepo, never()).updateColumns(any(), any(), any(), anyLong());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void changesAreWrittenOnlyAtTheVersionThatWasRead() {
+        when(nomineeRepo.findViewByApplicationId(1L)).thenReturn(Optional.of(view("Priya Sharma", 3L)));
+        when(nomineeRepo.updateColumns(eq(1L), any(), eq(Set.of(NomineeColumn.PHONE)), eq(3L)))
+                .thenAnswer(inv -> Optional.of(inv.getArgument(1)));
+
+        Optional<NomineeDetails> saved = service.patchNominee(1L, patch("{\"nomineePhone\": \"9123456780\"}"), null);
+        assertThat(saved).get().extracting(NomineeDetails::getNomineePhone).isEqualTo("9123456780");
+        verify(nomineeRepo, never()).lockByApplicationId(any());
+        verify(outbox).record(1L, NomineeChangeEvent.Type.UPSERTED);
+    }
+
+    @Test
+    void aWriteInBetweenIsReReadAndPatchedOnTop() {
+        when(nomineeRepo.findViewByApplicationId(1L))
+                .thenReturn(Optional.of(view("Priya Sharma", 3L)))
+                .thenReturn(Optional.of(view("Asha", 4L)));
+        // version 3 is gone by the time the UPDATE runs
+        when(nomineeRepo.updateColumns(eq(1L), any(), any(), eq(3L))).thenReturn(Optional.empty());
+        when(nomineeRepo.updateColumns(eq(1L), any(), any(), eq(4L))).thenAnswer(inv -> Optional.of(inv.getArgument(1)));
+
+        Optional<NomineeDetails> saved = service.patchNominee(1L, patch("{\"nomineePhone\": \"9123456780\"}"), null);
+        assertThat(saved).get().extracting(NomineeDetails::getNomineeName, NomineeDetails::getNomineePhone)
+                .containsExactly("Asha", "9123456780");
+        verify(nomineeRepo).updateColumns(eq(1L), argThat(n -> n.getNomineeName().equals("Asha")),
+                eq(Set.of(NomineeColumn.PHONE)), eq(4L));
+    }
+
+    @Test
+    void ifMatchIsCheckedAgainstEveryRead() {
+        when(nomineeRepo.findViewByApplicationId(1L))
+                .thenReturn(Optional.of(view("Priya Sharma", 3L)))
+                .thenReturn(Optional.of(view("Asha", 4L)));
+        when(nomineeRepo.updateColumns(eq(1L), any(), any(), eq(3L))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.patchNominee(1L, patch("{\"nomineePhone\": \"9123456780\"}"), "\"3\""))
+                .isInstanceOf(NomineePreconditionFailedException.class);
+        verify(nomineeRepo, never()).updateColumns(any(), any(), any(), eq(4L));
+    }
+
+    @Test
+    void noNomineeIsEmptyOrAFailedPrecondition() {
+        when(nomineeRepo.findViewByApplicationId(1L)).thenReturn(Optional.empty());
+
+        assertThat(service.patchNominee(1L, patch("{\"nomineeName\": \"Asha\"}"), null)).isEmpty();
+        assertThatThrownBy(() -> service.patchNominee(1L, patch("{\"nomineeName\": \"Asha\"}"), "*"))
+                .isInstanceOf(NomineePreconditionFailedException.class);
+    }
+
+    private static NomineeView view(String name, long version) {
+        return new NomineeView(1L, name, "Spouse", LocalDate.of(1991, 4, 17), "MG Road, Bengaluru", "9876543210",
+                "priya.sharma@example.com", "234123412346", "ABCPS1234K", version);
+    }
+
+    private static NomineeMergePatch patch(String body) {
+        try {
+            return NomineeMergePatch.parse(JSON.readTree(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
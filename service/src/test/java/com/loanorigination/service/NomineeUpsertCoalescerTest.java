@@ -0,0 +1,162 @@
+package com.loanorigination.service;
+
+import com.loanorigination.entity.NomineeDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NomineeUpsertCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final NomineeMetrics metrics = new NomineeMetrics(registry);
+    private final NomineeDetailsService nomineeService = mock(NomineeDetailsService.class);
+    // payload names in the order they reached the database
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    NomineeUpsertCoalescerTest() {
+        when(nomineeService.upsertNominee(any(), any(), any())).thenAnswer(inv -> {
+            NomineeDetails req = inv.getArgument(1);
+            written.add(req.getNomineeName());
+            return saved(inv.getArgument(0), req);
+        });
+    }
+
+    @AfterEach
+    void stopCallers() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void disabledOrConditionalSavesGoStraightThrough() {
+        NomineeUpsertCoalescer off = coalescer(false, Duration.ofSeconds(10));
+        off.upsert(1L, payload("a"), null);
+        off.upsert(1L, payload("b"), null);
+        assertThat(written).containsExactly("a", "b");
+
+        NomineeUpsertCoalescer on = coalescer(true, Duration.ofSeconds(10));
+        assertThat(on.upsert(1L, payload("c"), "\"3\"").getNomineeName()).isEqualTo("c");
+        verify(nomineeService).upsertNominee(eq(1L), any(), eq("\"3\""));
+    }
+
+    @Test
+    void savesWithinTheWindowAreWrittenOnceWithTheLastPayload() throws Exception {
+        NomineeUpsertCoalescer coalescer = coalescer(true, Duration.ofMillis(500));
+
+        List<Future<NomineeDetails>> results = new ArrayList<>();
+        for (String name : List.of("a", "b", "c", "d", "e")) {
+            results.add(callers.submit(() -> coalescer.upsert(7L, payload(name), null)));
+            Thread.sleep(40);
+        }
+        for (Future<NomineeDetails> result : results) {
+            NomineeDetails row = result.get(5, TimeUnit.SECONDS);
+            assertThat(row.getNomineeId()).isEqualTo(7L);
+            assertThat(row.getNomineeName()).isEqualTo("e");
+        }
+        assertThat(written).containsExactly("e");
+        verify(nomineeService, times(1)).upsertNominee(eq(7L), any(), isNull());
+        assertThat(registry.get(NomineeMetrics.UPSERTS_COALESCED).counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void differentApplicationsAreNotMerged() throws Exception {
+        NomineeUpsertCoalescer coalescer = coalescer(true, Duration.ofMillis(200));
+
+        Future<NomineeDetails> one = callers.submit(() -> coalescer.upsert(1L, payload("a"), null));
+        Future<NomineeDetails> two = callers.submit(() -> coalescer.upsert(2L, payload("b"), null));
+
+        assertThat(one.get(5, TimeUnit.SECONDS).getNomineeName()).isEqualTo("a");
+        assertThat(two.get(5, TimeUnit.SECONDS).getNomineeName()).isEqualTo("b");
+        assertThat(written).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void everyCallerOfTheSlotGetsTheWriteFailure() throws Exception {
+        doThrow(new IllegalStateException("db down")).when(nomineeService).upsertNominee(eq(3L), any(), any());
+        NomineeUpsertCoalescer coalescer = coalescer(true, Duration.ofMillis(300));
+
+        Future<NomineeDetails> first = callers.submit(() -> coalescer.upsert(3L, payload("a"), null));
+        Thread.sleep(50);
+        Future<NomineeDetails> second = callers.submit(() -> coalescer.upsert(3L, payload("b"), null));
+
+        for (Future<NomineeDetails> result : List.of(first, second)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("db down");
+        }
+        verify(nomineeService, times(1)).upsertNominee(eq(3L), any(), isNull());
+
+        // the failed slot is gone, the next save gets a write of its own
+        doAnswer(inv -> saved(3L, inv.getArgument(1))).when(nomineeService).upsertNominee(eq(3L), any(), any());
+        assertThat(coalescer.upsert(3L, payload("c"), null).getNomineeName()).isEqualTo("c");
+    }
+
+    @Test
+    void aSaveDuringAWriteIsWrittenAfterIt() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            NomineeDetails req = inv.getArgument(1);
+            written.add(req.getNomineeName());
+            if (req.getNomineeName().equals("a")) {
+                inside.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return saved(5L, req);
+        }).when(nomineeService).upsertNominee(eq(5L), any(), any());
+        NomineeUpsertCoalescer coalescer = coalescer(true, Duration.ofMillis(50));
+
+        Future<NomineeDetails> first = callers.submit(() -> coalescer.upsert(5L, payload("a"), null));
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<NomineeDetails> second = callers.submit(() -> coalescer.upsert(5L, payload("b"), null));
+
+        // well past b's window: still waiting for a's write
+        Thread.sleep(300);
+        assertThat(written).containsExactly("a");
+        assertThat(second.isDone()).isFalse();
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getNomineeName()).isEqualTo("a");
+        assertThat(second.get(5, TimeUnit.SECONDS).getNomineeName()).isEqualTo("b");
+        assertThat(written).containsExactly("a", "b");
+    }
+
+    private NomineeUpsertCoalescer coalescer(boolean enabled, Duration window) {
+        return new NomineeUpsertCoalescer(nomineeService, metrics, enabled, window);
+    }
+
+    private static NomineeDetails payload(String name) {
+        NomineeDetails n = new NomineeDetails();
+        n.setNomineeName(name);
+        return n;
+    }
+
+    private static NomineeDetails saved(Long applicationId, NomineeDetails req) {
+        NomineeDetails row = new NomineeDetails();
+        row.setNomineeId(applicationId);
+        row.setNomineeName(req.getNomineeName());
+        return row;
+    }
+}
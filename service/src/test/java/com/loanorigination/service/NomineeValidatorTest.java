@@ -0,0 +1,164 @@
+package com.loanorigination.service;
+
+import com.loanorigination.dto.NomineeFieldError;
+import com.loanorigination.entity.NomineeDetails;
+import com.loanorigination.exception.NomineeValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class NomineeValidatorTest {
+
+    // 2024-06-15T20:00Z: already the 16th in IST
+    private final NomineeValidator validator =
+            new NomineeValidator(Clock.fixed(Instant.parse("2024-06-15T20:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void validAndEmptyPayloadsHaveNoErrors() {
+        assertThat(validator.validate(valid())).isEmpty();
+        // drafts: every field is optional
+        assertThat(validator.validate(new NomineeDetails())).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ABCPS1234K", "abcps1234k"})
+    void acceptsPan(String pan) {
+        assertThat(errors(n -> n.setNomineePan(pan))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ABCP1234KK", "ABCPS1234", "ABCPS12345", "ABCPS1234KK", "1BCPS1234K", "ABCPS12A4K", "ABCPS 1234K"})
+    void rejectsPan(String pan) {
+        assertThat(errors(n -> n.setNomineePan(pan)))
+                .containsExactly(new NomineeFieldError("nomineePan", "invalid_format",
+                        "must be 5 letters, 4 digits and a letter (e.g. ABCPE1234F)"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"234123412346", "2341 2341 2346", "2341-2341-2346", " 234123412346"})
+    void acceptsAadhaarWithAValidCheckDigit(String aadhaar) {
+        assertThat(errors(n -> n.setNomineeAadhaar(aadhaar))).isEmpty();
+    }
+
+    @Test
+    void verhoeffCatchesEveryWrongCheckDigitAndAdjacentSwap() {
+        for (char d = '0'; d <= '9'; d++) {
+            String aadhaar = "23412341234" + d;
+            String code = d == '6' ? null : "invalid_checksum";
+            assertThat(codes(n -> n.setNomineeAadhaar(aadhaar))).as(aadhaar)
+                    .isEqualTo(code == null ? List.of() : List.of(code));
+        }
+        // the typo Verhoeff is chosen for: two neighbouring digits swapped
+        assertThat(codes(n -> n.setNomineeAadhaar("243123412346"))).containsExactly("invalid_checksum");
+        assertThat(codes(n -> n.setNomineeAadhaar("234123412364"))).containsExactly("invalid_checksum");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "23412341234", "2341234123467", "134123412346", "034123412346", "23412341234X", "2341_2341_2346"})
+    void rejectsMalformedAadhaar(String aadhaar) {
+        assertThat(codes(n -> n.setNomineeAadhaar(aadhaar))).containsExactly("invalid_format");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"9876543210", "6000000000", "+919876543210", "+91 98765 43210", "919876543210", "09876543210", "98765-43210"})
+    void acceptsIndianMobile(String phone) {
+        assertThat(errors(n -> n.setNomineePhone(phone))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "5876543210", "987654321", "98765432100", "+9876543210", "+09876543210", "+915876543210", "(98765) 43210", "+"})
+    void rejectsOtherPhoneNumbers(String phone) {
+        assertThat(codes(n -> n.setNomineePhone(phone))).containsExactly("invalid_format");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"priya.sharma@example.com", "p+tag@mail.example.co.in", "o'neil@example.org", "x@a-b.in", "a@b.co"})
+    void acceptsEmail(String email) {
+        assertThat(errors(n -> n.setNomineeEmail(email))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "priya", "@example.com", "priya@", "priya@@example.com", "priya@example", ".priya@example.com",
+            "priya.@example.com", "pri..ya@example.com", "priya@example..com", "priya@-example.com", "priya@example-.com",
+            "priya@example.c", "priya@example.c0m", "priya sharma@example.com", "priya@exa_mple.com"})
+    void rejectsMalformedEmail(String email) {
+        assertThat(codes(n -> n.setNomineeEmail(email))).containsExactly("invalid_format");
+    }
+
+    @Test
+    void rejectsOverlongEmailParts() {
+        assertThat(codes(n -> n.setNomineeEmail("a".repeat(65) + "@example.com"))).containsExactly("invalid_format");
+        assertThat(codes(n -> n.setNomineeEmail("a@" + "b".repeat(64) + ".com"))).containsExactly("invalid_format");
+        assertThat(codes(n -> n.setNomineeEmail("a".repeat(64) + "@example.com"))).isEmpty();
+    }
+
+    @Test
+    void dobMustBeBetween1900AndToday() {
+        assertThat(codes(n -> n.setNomineeDob(LocalDate.of(1900, 1, 1)))).isEmpty();
+        assertThat(codes(n -> n.setNomineeDob(LocalDate.of(1899, 12, 31)))).containsExactly("out_of_range");
+        // today in IST while it is still the 15th in UTC
+        assertThat(codes(n -> n.setNomineeDob(LocalDate.of(2024, 6, 16)))).isEmpty();
+        assertThat(codes(n -> n.setNomineeDob(LocalDate.of(2024, 6, 17)))).containsExactly("out_of_range");
+    }
+
+    @Test
+    void textFieldsAreLimitedToTheColumnSize() {
+        assertThat(codes(n -> n.setNomineeName("x".repeat(255)))).isEmpty();
+        assertThat(errors(n -> {
+            n.setNomineeName("x".repeat(256));
+            n.setNomineeAddress("x".repeat(1000));
+        })).extracting(NomineeFieldError::field, NomineeFieldError::code)
+                .containsExactly(
+                        tuple("nomineeName", "too_long"),
+                        tuple("nomineeAddress", "too_long"));
+    }
+
+    @Test
+    void reportsEveryBadFieldAndRequireValidThrowsWithAllOfThem() {
+        NomineeDetails n = valid();
+        n.setNomineePan("ABCP1234KK");
+        n.setNomineeAadhaar("234123412345");
+        n.setNomineePhone("12345");
+        n.setNomineeEmail("priya.sharma@@example");
+        n.setNomineeDob(LocalDate.of(1850, 1, 1));
+
+        assertThat(validator.validate(n)).extracting(NomineeFieldError::field)
+                .containsExactly("nomineePan", "nomineeAadhaar", "nomineePhone", "nomineeEmail", "nomineeDob");
+        assertThatThrownBy(() -> validator.requireValid(n))
+                .isInstanceOfSatisfying(NomineeValidationException.class, e -> assertThat(e.getErrors()).hasSize(5));
+    }
+
+    private List<NomineeFieldError> errors(Consumer<NomineeDetails> change) {
+        NomineeDetails n = valid();
+        change.accept(n);
+        return validator.validate(n);
+    }
+
+    private List<String> codes(Consumer<NomineeDetails> change) {
+        return errors(change).stream().map(NomineeFieldError::code).toList();
+    }
+
+    private static NomineeDetails valid() {
+        NomineeDetails n = new NomineeDetails();
+        n.setNomineeName("Priya Sharma");
+        n.setRelationship("Spouse");
+        n.setNomineeDob(LocalDate.of(1991, 4, 17));
+        n.setNomineeAddress("Flat 12B, Green Park Apartments, MG Road, Bengaluru 560001");
+        n.setNomineePhone("9876543210");
+        n.setNomineeEmail("priya.sharma@example.com");
+        n.setNomineeAadhaar("234123412346");
+        n.setNomineePan("ABCPS1234K");
+        return n;
+    }
+}